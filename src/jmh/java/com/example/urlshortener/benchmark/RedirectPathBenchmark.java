@@ -0,0 +1,156 @@
+package com.example.urlshortener.benchmark;
+
+import com.example.urlshortener.benchmark.support.CountingAnalyticsPort;
+import com.example.urlshortener.benchmark.support.InMemoryNegativeUrlCache;
+import com.example.urlshortener.benchmark.support.InMemoryUrlRepository;
+import com.example.urlshortener.benchmark.support.NoOpMetricsPort;
+import com.example.urlshortener.benchmark.support.TieredUrlCache;
+import com.example.urlshortener.core.exception.UrlNotFoundException;
+import com.example.urlshortener.core.model.ShortUrl;
+import com.example.urlshortener.core.service.UrlShortenerService;
+import com.example.urlshortener.core.validation.ReservedWordsValidator;
+import com.example.urlshortener.infra.adapter.input.rest.UrlController;
+import com.example.urlshortener.infra.observability.MetricsService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reference benchmark for the redirect hot path:
+ * {@code UrlController.redirect} → {@code UrlShortenerService.getOriginalUrl}
+ * → {@code UrlCachePort.get}.
+ *
+ * Every scenario runs against in-memory stand-ins so the numbers reflect our
+ * own code (allocation, hashing, exceptions) rather than network latency.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}; the default options
+ * attach the GC profiler, so {@code gc.alloc.rate.norm} gives bytes per
+ * operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-XX:+UseG1GC", "-Xms1g", "-Xmx1g" })
+public class RedirectPathBenchmark {
+
+    private static final int KEY_COUNT = 1 << 12;
+    private static final String URL_PREFIX = "https://www.example.com/campaigns/2024/landing?utm_source=bench&id=";
+
+    public enum Scenario {
+        /** Served by the Caffeine L1. */
+        L1_HIT,
+        /** L1 miss, Bloom filter passes, served by the Redis (L2) stand-in. */
+        L2_HIT,
+        /** Unknown code rejected by the Bloom filter, confirmed by the repository, ends in a 404. */
+        BLOOM_REJECTED,
+        /** Unknown code already remembered by the negative cache, ends in a 404. */
+        NEGATIVE_HIT,
+        /** Known code missing from every cache tier, served by the repository. */
+        DB_FALLBACK
+    }
+
+    @Param
+    public Scenario scenario;
+
+    private UrlShortenerService service;
+    private UrlController controller;
+    private MockHttpServletRequest request;
+    private String[] ids;
+
+    @Setup
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME))
+                .setLevel(ch.qos.logback.classic.Level.WARN);
+
+        TieredUrlCache cache = new TieredUrlCache(
+                Caffeine.newBuilder()
+                        .maximumSize(KEY_COUNT * 2L)
+                        .expireAfterWrite(Duration.ofMinutes(10))
+                        .build(),
+                scenario != Scenario.L2_HIT,
+                scenario != Scenario.DB_FALLBACK);
+        InMemoryUrlRepository repository = new InMemoryUrlRepository();
+        InMemoryNegativeUrlCache negativeCache = new InMemoryNegativeUrlCache(scenario == Scenario.NEGATIVE_HIT);
+
+        ids = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            String id = String.format("b%06d", i);
+            String url = URL_PREFIX + i;
+            boolean unknown = scenario == Scenario.BLOOM_REJECTED || scenario == Scenario.NEGATIVE_HIT;
+            ids[i] = unknown ? "z" + id : id;
+
+            repository.save(new ShortUrl(id, url, LocalDateTime.now()));
+            switch (scenario) {
+                case L1_HIT -> cache.seedL1(id, url);
+                case L2_HIT -> cache.seedL2(id, url);
+                case DB_FALLBACK -> cache.seedBloom(id);
+                case BLOOM_REJECTED -> {
+                    // Only the repository knows the real ids; lookups use unknown ones
+                }
+                case NEGATIVE_HIT -> negativeCache.seed(ids[i]);
+            }
+        }
+
+        service = new UrlShortenerService(repository, cache, negativeCache, new NoOpMetricsPort(), null, null, null,
+                new ReservedWordsValidator());
+        controller = new UrlController(service, service, new CountingAnalyticsPort(), null, null,
+                new MetricsService(new SimpleMeterRegistry()), null);
+
+        request = new MockHttpServletRequest("GET", "/");
+        request.setRemoteAddr("203.0.113.42");
+        request.addHeader("User-Agent",
+                "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36");
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            next = 0;
+        }
+
+        int nextIndex() {
+            return next++ & (KEY_COUNT - 1);
+        }
+    }
+
+    @Benchmark
+    public void getOriginalUrl(Cursor cursor, Blackhole bh) {
+        try {
+            bh.consume(service.getOriginalUrl(ids[cursor.nextIndex()]));
+        } catch (UrlNotFoundException e) {
+            bh.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void redirect(Cursor cursor, Blackhole bh) {
+        try {
+            bh.consume(controller.redirect(ids[cursor.nextIndex()], request));
+        } catch (UrlNotFoundException e) {
+            bh.consume(e);
+        }
+    }
+}
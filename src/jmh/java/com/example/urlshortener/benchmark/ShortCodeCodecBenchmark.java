@@ -0,0 +1,72 @@
+package com.example.urlshortener.benchmark;
+
+import com.example.urlshortener.core.ports.outgoing.ShortCodeCodec;
+import com.example.urlshortener.infra.adapter.output.shortcode.Base62FeistelCodec;
+import com.example.urlshortener.infra.adapter.output.shortcode.HashidsShortCodeCodec;
+import org.hashids.Hashids;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-code encode/decode cost: the Hashids path wired today against the
+ * Base62 Feistel codec. IDs start around one billion, where a production
+ * sequence would be. Read {@code gc.alloc.rate.norm} next to the timings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-XX:+UseG1GC", "-Xms1g", "-Xmx1g" })
+public class ShortCodeCodecBenchmark {
+
+    private static final String SALT = "my-secret-salt-change-me-in-prod";
+    private static final int CODE_COUNT = 1 << 10;
+
+    public enum Codec {
+        HASHIDS,
+        BASE62
+    }
+
+    @Param
+    public Codec codec;
+
+    private ShortCodeCodec shortCodeCodec;
+    private String[] codes;
+    private long nextId;
+    private int nextCode;
+
+    @Setup
+    public void setUp() {
+        shortCodeCodec = switch (codec) {
+            case HASHIDS -> new HashidsShortCodeCodec(new Hashids(SALT, 7));
+            case BASE62 -> new Base62FeistelCodec(SALT);
+        };
+        nextId = 1_000_000_000L;
+        codes = new String[CODE_COUNT];
+        for (int i = 0; i < CODE_COUNT; i++) {
+            codes[i] = shortCodeCodec.encode(nextId + i * 7919L);
+        }
+    }
+
+    @Benchmark
+    public String encode() {
+        return shortCodeCodec.encode(nextId++);
+    }
+
+    @Benchmark
+    public long decode() {
+        return shortCodeCodec.decode(codes[nextCode++ & (CODE_COUNT - 1)]);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.urlshortener.benchmark.support;
+
+import com.example.urlshortener.core.model.ClickEvent;
+import com.example.urlshortener.core.ports.outgoing.AnalyticsPort;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AnalyticsPort} stand-in that only counts events, so benchmarks see the
+ * cost of handing off the click without any queueing behind it.
+ */
+public class CountingAnalyticsPort implements AnalyticsPort {
+
+    private final LongAdder tracked = new LongAdder();
+
+    @Override
+    public void track(ClickEvent event) {
+        tracked.increment();
+    }
+
+    @Override
+    public void track(String shortCode, long timestampMillis, String userAgent, String ip) {
+        tracked.increment();
+    }
+
+    public long tracked() {
+        return tracked.sum();
+    }
+}
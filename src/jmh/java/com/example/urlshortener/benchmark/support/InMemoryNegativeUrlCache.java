@@ -0,0 +1,44 @@
+package com.example.urlshortener.benchmark.support;
+
+import com.example.urlshortener.core.ports.outgoing.NegativeUrlCachePort;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory stand-in for {@link NegativeUrlCachePort}.
+ *
+ * With {@code remember} off, {@link #markMissing} is ignored so a scenario
+ * that measures the database 404 path does not turn into a negative-cache hit
+ * after the first invocation.
+ */
+public class InMemoryNegativeUrlCache implements NegativeUrlCachePort {
+
+    private final Set<String> missing = ConcurrentHashMap.newKeySet();
+    private final boolean remember;
+
+    public InMemoryNegativeUrlCache(boolean remember) {
+        this.remember = remember;
+    }
+
+    public void seed(String id) {
+        missing.add(id);
+    }
+
+    @Override
+    public boolean isKnownMissing(String id) {
+        return missing.contains(id);
+    }
+
+    @Override
+    public void markMissing(String id) {
+        if (remember) {
+            missing.add(id);
+        }
+    }
+
+    @Override
+    public void invalidate(String id) {
+        missing.remove(id);
+    }
+}
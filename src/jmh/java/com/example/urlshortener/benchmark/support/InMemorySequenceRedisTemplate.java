@@ -0,0 +1,41 @@
+package com.example.urlshortener.benchmark.support;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link StringRedisTemplate} whose {@code opsForValue().increment(key, delta)}
+ * is backed by an in-process counter, so ID block reservation costs no network
+ * round-trip. Any other operation fails.
+ */
+public class InMemorySequenceRedisTemplate extends StringRedisTemplate {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ValueOperations<String, String> valueOperations;
+
+    @SuppressWarnings("unchecked")
+    public InMemorySequenceRedisTemplate() {
+        this.valueOperations = (ValueOperations<String, String>) Proxy.newProxyInstance(
+                ValueOperations.class.getClassLoader(),
+                new Class<?>[] { ValueOperations.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("increment") && args != null && args.length == 2
+                            && args[1] instanceof Long delta) {
+                        return sequence.addAndGet(delta);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    @Override
+    public ValueOperations<String, String> opsForValue() {
+        return valueOperations;
+    }
+
+    public long current() {
+        return sequence.get();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.urlshortener.benchmark.support;
+
+import com.example.urlshortener.core.exception.AliasAlreadyExistsException;
+import com.example.urlshortener.core.model.ShortUrl;
+import com.example.urlshortener.core.model.Url;
+import com.example.urlshortener.core.ports.outgoing.UrlRepositoryPort;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory stand-in for {@link UrlRepositoryPort} so the redirect path can be
+ * measured without MongoDB latency dominating the numbers.
+ */
+public class InMemoryUrlRepository implements UrlRepositoryPort {
+
+    private final Map<String, ShortUrl> store = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(ShortUrl shortUrl) {
+        if (store.putIfAbsent(shortUrl.id(), shortUrl) != null) {
+            throw new AliasAlreadyExistsException(shortUrl.id());
+        }
+    }
+
+    @Override
+    public Optional<ShortUrl> findById(String id) {
+        return Optional.ofNullable(store.get(id));
+    }
+
+    @Override
+    public Optional<String> findOriginalUrlById(String id) {
+        ShortUrl shortUrl = store.get(id);
+        return shortUrl == null ? Optional.empty() : Optional.of(shortUrl.originalUrl());
+    }
+
+    @Override
+    public Optional<ShortUrl> findByOwnerAndUrl(String userId, String originalUrl) {
+        String normalized = new Url(originalUrl).normalized();
+        return store.values().stream()
+                .filter(shortUrl -> !shortUrl.isCustomAlias())
+                .filter(shortUrl -> Objects.equals(shortUrl.userId(), userId))
+                .filter(shortUrl -> new Url(shortUrl.originalUrl()).normalized().equals(normalized))
+                .findFirst();
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return store.containsKey(id);
+    }
+
+    @Override
+    public void forEachId(Consumer<String> action) {
+        store.keySet().forEach(action);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.urlshortener.benchmark.support;
+
+import com.example.urlshortener.core.ports.outgoing.MetricsPort;
+
+/**
+ * {@link MetricsPort} that records nothing.
+ */
+public class NoOpMetricsPort implements MetricsPort {
+
+    @Override
+    public void recordUrlShortened() {
+    }
+
+    @Override
+    public void recordCacheHit() {
+    }
+
+    @Override
+    public void recordCacheMiss() {
+    }
+
+    @Override
+    public void recordBloomFilterRejection() {
+    }
+
+    @Override
+    public void recordCoalescedLoad() {
+    }
+
+    @Override
+    public void recordNegativeCacheHit() {
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.urlshortener.benchmark.support;
+
+import com.example.urlshortener.core.ports.outgoing.UrlCachePort;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory stand-in for {@link UrlCachePort} that mirrors the tiering of
+ * {@code RedisUrlCache}: local Caffeine L1, Bloom filter guard and an L2 map
+ * in place of Redis.
+ *
+ * The {@code promote} and {@code writable} switches keep a scenario stable
+ * across iterations (e.g. an L2 hit must not turn into an L1 hit after the
+ * first invocation).
+ */
+public class TieredUrlCache implements UrlCachePort {
+
+    private final Cache<String, String> l1;
+    private final Map<String, String> l2 = new ConcurrentHashMap<>();
+    private final Set<String> bloom = ConcurrentHashMap.newKeySet();
+    private final boolean promote;
+    private final boolean writable;
+
+    public TieredUrlCache(Cache<String, String> l1, boolean promote, boolean writable) {
+        this.l1 = l1;
+        this.promote = promote;
+        this.writable = writable;
+    }
+
+    public void seedL1(String id, String originalUrl) {
+        l1.put(id, originalUrl);
+        bloom.add(id);
+    }
+
+    public void seedL2(String id, String originalUrl) {
+        l2.put(id, originalUrl);
+        bloom.add(id);
+    }
+
+    public void seedBloom(String id) {
+        bloom.add(id);
+    }
+
+    @Override
+    public String get(String id) {
+        String localValue = l1.getIfPresent(id);
+        if (localValue != null) {
+            return localValue;
+        }
+
+        if (!bloom.contains(id)) {
+            return null;
+        }
+
+        String remoteValue = l2.get(id);
+        if (remoteValue != null && promote) {
+            l1.put(id, remoteValue);
+        }
+        return remoteValue;
+    }
+
+    @Override
+    public String getIfPresentLocally(String id) {
+        return l1.getIfPresent(id);
+    }
+
+    @Override
+    public void put(String id, String originalUrl) {
+        if (!writable) {
+            return;
+        }
+        bloom.add(id);
+        l2.put(id, originalUrl);
+        l1.put(id, originalUrl);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.urlshortener.infra.adapter.output.redis;
+
+import com.example.urlshortener.benchmark.support.InMemorySequenceRedisTemplate;
+import com.example.urlshortener.infra.adapter.output.shortcode.Base62FeistelCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Raw ID issuance throughput of {@link RangeAwareIdGenerator} versus thread
+ * count, shared counter against per-stripe sub-blocks. Short-code encoding is
+ * left out so contention on the counter is what gets measured.
+ *
+ * Lives in the generator's package to reach the package-private
+ * {@code nextUniqueId()}. Compare the {@code threadsN} results across
+ * {@code stripes}: with a single stripe throughput flattens (or drops) as
+ * threads are added.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-XX:+UseG1GC", "-Xms1g", "-Xmx1g" })
+public class IdIssuanceBenchmark {
+
+    /** 1 = shared counter (default mode), 0 = one stripe per available processor. */
+    @Param({ "1", "0" })
+    public int stripes;
+
+    private RangeAwareIdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new RangeAwareIdGenerator(new InMemorySequenceRedisTemplate(), new Base62FeistelCodec("benchmark"),
+                1000, 100_000, 0.7, Duration.ofSeconds(10), stripes, 64);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long threads1() {
+        return generator.nextUniqueId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long threads4() {
+        return generator.nextUniqueId();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long threads16() {
+        return generator.nextUniqueId();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public long threadsMax() {
+        return generator.nextUniqueId();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.urlshortener.core.exception;
+
+public class LinkAccessDeniedException extends RuntimeException {
+    public LinkAccessDeniedException(String id) {
+        super("Access denied to short URL: " + id);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.urlshortener.core.exception;
+
+import com.example.urlshortener.core.model.ClickCount;
+
+import java.util.List;
+
+/**
+ * A rollup write that applied only part of its counts. The counts not listed
+ * in {@link #unwritten()} are already stored and must not be sent again.
+ */
+public class PartialRollupWriteException extends RuntimeException {
+
+    private final List<ClickCount> unwritten;
+
+    public PartialRollupWriteException(List<ClickCount> unwritten, Throwable cause) {
+        super(unwritten.size() + " click rollup counts were not written", cause);
+        this.unwritten = List.copyOf(unwritten);
+    }
+
+    public List<ClickCount> unwritten() {
+        return unwritten;
+    }
+}
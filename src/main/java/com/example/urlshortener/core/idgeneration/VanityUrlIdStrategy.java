@@ -1,17 +1,24 @@
 package com.example.urlshortener.core.idgeneration;
 
 import com.example.urlshortener.core.model.User;
-import com.example.urlshortener.core.ports.outgoing.UrlRepositoryPort;
+import com.example.urlshortener.core.ports.outgoing.ShortCodeCodec;
 import com.example.urlshortener.core.ports.outgoing.UserRepositoryPort;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
-@RequiredArgsConstructor
 public class VanityUrlIdStrategy implements UrlIdGenerationStrategy {
 
     private final UserRepositoryPort userRepository;
-    private final UrlRepositoryPort urlRepository;
+    private final ShortCodeCodec shortCodeCodec;
+    private final boolean numericIds;
+
+    public VanityUrlIdStrategy(UserRepositoryPort userRepository, ShortCodeCodec shortCodeCodec,
+            @Value("${app.persistence.numeric-ids.enabled:false}") boolean numericIds) {
+        this.userRepository = userRepository;
+        this.shortCodeCodec = shortCodeCodec;
+        this.numericIds = numericIds;
+    }
 
     @Override
     public boolean supports(String customAlias) {
@@ -38,11 +45,15 @@ public class VanityUrlIdStrategy implements UrlIdGenerationStrategy {
             throw new IllegalArgumentException("Invalid custom alias format");
         }
 
-        // Validate Alias Availability
-        if (urlRepository.existsById(customAlias)) {
-            throw new IllegalArgumentException("Custom alias already in use");
+        // Numeric mode stores generated codes in another collection, where a later
+        // code equal to this alias would shadow it. With string ids both share one
+        // _id index, so the insert-only save keeps them apart instead
+        if (numericIds && shortCodeCodec.isCanonical(customAlias)) {
+            throw new IllegalArgumentException("Custom alias conflicts with generated short codes");
         }
 
+        // Availability is not checked here: the insert-only save rejects a taken
+        // alias atomically (AliasAlreadyExistsException), even under races
         return customAlias;
     }
 }
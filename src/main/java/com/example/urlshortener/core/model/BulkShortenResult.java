@@ -0,0 +1,20 @@
+package com.example.urlshortener.core.model;
+
+/**
+ * Outcome of one URL of a bulk shorten: either the created short URL or the
+ * reason it was not created.
+ */
+public record BulkShortenResult(String originalUrl, ShortUrl shortUrl, String error) {
+
+    public static BulkShortenResult created(ShortUrl shortUrl) {
+        return new BulkShortenResult(shortUrl.originalUrl(), shortUrl, null);
+    }
+
+    public static BulkShortenResult failed(String originalUrl, String error) {
+        return new BulkShortenResult(originalUrl, null, error);
+    }
+
+    public boolean isCreated() {
+        return shortUrl != null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.urlshortener.core.model;
+
+import com.example.urlshortener.core.model.UserAgentInfo.Browser;
+import com.example.urlshortener.core.model.UserAgentInfo.Device;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Clicks of a link over some period, with how many came from bots and the
+ * split by device type and browser family. Classes without clicks are left
+ * out of the maps.
+ */
+public record ClickBreakdown(
+        long clicks,
+        long bots,
+        Map<Device, Long> devices,
+        Map<Browser, Long> browsers) {
+
+    public static final ClickBreakdown EMPTY = new ClickBreakdown(0, 0, Map.of(), Map.of());
+
+    public ClickBreakdown {
+        devices = Collections.unmodifiableMap(copy(devices, Device.class));
+        browsers = Collections.unmodifiableMap(copy(browsers, Browser.class));
+    }
+
+    /**
+     * @return {@code clicks} clicks, all from clients of the given class
+     */
+    public static ClickBreakdown of(UserAgentInfo userAgent, long clicks) {
+        return new ClickBreakdown(clicks, userAgent.bot() ? clicks : 0,
+                Map.of(userAgent.device(), clicks), Map.of(userAgent.browser(), clicks));
+    }
+
+    public ClickBreakdown plus(ClickBreakdown other) {
+        EnumMap<Device, Long> mergedDevices = copy(devices, Device.class);
+        other.devices.forEach((device, count) -> mergedDevices.merge(device, count, Long::sum));
+        EnumMap<Browser, Long> mergedBrowsers = copy(browsers, Browser.class);
+        other.browsers.forEach((browser, count) -> mergedBrowsers.merge(browser, count, Long::sum));
+        return new ClickBreakdown(clicks + other.clicks, bots + other.bots, mergedDevices, mergedBrowsers);
+    }
+
+    private static <K extends Enum<K>> EnumMap<K, Long> copy(Map<K, Long> source, Class<K> type) {
+        EnumMap<K, Long> copy = new EnumMap<>(type);
+        copy.putAll(source);
+        return copy;
+    }
+}
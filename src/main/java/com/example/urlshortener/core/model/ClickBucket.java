@@ -0,0 +1,12 @@
+package com.example.urlshortener.core.model;
+
+import java.time.Instant;
+
+/**
+ * Clicks of a link within one time bucket (an hour or a day, see
+ * {@link StatsGranularity}) starting at {@code start}.
+ */
+public record ClickBucket(
+        Instant start,
+        ClickBreakdown counts) {
+}
@@ -0,0 +1,13 @@
+package com.example.urlshortener.core.model;
+
+/**
+ * Clicks counted for one short code within one hour ({@code epochHour} is
+ * the number of whole hours since the epoch, UTC), from clients of one
+ * {@link UserAgentInfo} class.
+ */
+public record ClickCount(
+        String shortCode,
+        long epochHour,
+        UserAgentInfo userAgent,
+        long clicks) {
+}
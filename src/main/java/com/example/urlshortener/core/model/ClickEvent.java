@@ -1,10 +1,13 @@
 package com.example.urlshortener.core.model;
 
-import java.time.LocalDateTime;
-
+/**
+ * One click as it travels through the click pipeline. The timestamp is epoch
+ * millis rather than a {@code LocalDateTime}, so a queued click carries one
+ * primitive instead of a date-time object graph.
+ */
 public record ClickEvent(
         String shortCode,
-        LocalDateTime timestamp,
+        long timestampMillis,
         String userAgent,
         String ip) {
 }
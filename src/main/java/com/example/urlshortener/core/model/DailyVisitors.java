@@ -0,0 +1,12 @@
+package com.example.urlshortener.core.model;
+
+/**
+ * Distinct visitors of a short code seen within one UTC day
+ * ({@code epochDay} days since the epoch), identified by a 64-bit hash of
+ * their IP address and User-Agent.
+ */
+public record DailyVisitors(
+        String shortCode,
+        long epochDay,
+        long[] visitorHashes) {
+}
@@ -0,0 +1,10 @@
+package com.example.urlshortener.core.model;
+
+/**
+ * A short code among the most clicked in a recent window, with its
+ * estimated click count (an upper bound, see {@link HotLinkWindow}).
+ */
+public record HotLink(
+        String shortCode,
+        long clicks) {
+}
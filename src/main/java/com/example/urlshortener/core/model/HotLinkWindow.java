@@ -0,0 +1,24 @@
+package com.example.urlshortener.core.model;
+
+import java.time.Duration;
+
+/**
+ * Sliding windows over which hot links are ranked. Windows slide one slice
+ * at a time, so they span slightly less than their length: the last minute
+ * covers 50 to 60 seconds, the last hour 55 to 60 minutes.
+ */
+public enum HotLinkWindow {
+
+    LAST_MINUTE(Duration.ofMinutes(1)),
+    LAST_HOUR(Duration.ofHours(1));
+
+    private final Duration length;
+
+    HotLinkWindow(Duration length) {
+        this.length = length;
+    }
+
+    public Duration length() {
+        return length;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.urlshortener.core.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Click statistics of a short code over {@code [from, to)}: the totals and a
+ * time series holding only the buckets that got clicks, oldest first.
+ */
+public record LinkStats(
+        String shortCode,
+        StatsGranularity granularity,
+        Instant from,
+        Instant to,
+        ClickBreakdown totals,
+        List<ClickBucket> series) {
+}
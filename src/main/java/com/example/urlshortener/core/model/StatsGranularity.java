@@ -0,0 +1,48 @@
+package com.example.urlshortener.core.model;
+
+import java.time.Duration;
+
+/**
+ * Bucket size of a link statistics time series. Buckets are aligned on UTC
+ * hour and day boundaries, like the click rollups they are read from.
+ */
+public enum StatsGranularity {
+
+    HOUR(Duration.ofHours(1), 24, 24 * 31),
+    DAY(Duration.ofDays(1), 30, 366);
+
+    private final long bucketMillis;
+    private final int defaultBuckets;
+    private final int maxBuckets;
+
+    StatsGranularity(Duration bucket, int defaultBuckets, int maxBuckets) {
+        this.bucketMillis = bucket.toMillis();
+        this.defaultBuckets = defaultBuckets;
+        this.maxBuckets = maxBuckets;
+    }
+
+    public long bucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * @return buckets covered when the caller gives no start
+     */
+    public int defaultBuckets() {
+        return defaultBuckets;
+    }
+
+    /**
+     * @return the widest range, in buckets, a single request may ask for
+     */
+    public int maxBuckets() {
+        return maxBuckets;
+    }
+
+    /**
+     * @return start of the bucket holding {@code epochMillis}
+     */
+    public long bucketStart(long epochMillis) {
+        return Math.floorDiv(epochMillis, bucketMillis) * bucketMillis;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.urlshortener.core.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Approximate unique visitors of a short code over {@code [from, to)} (whole
+ * UTC days): the count over the whole range, which is not the sum of the
+ * daily counts, and the days that had visitors, oldest first.
+ */
+public record UniqueVisitors(
+        String shortCode,
+        Instant from,
+        Instant to,
+        long uniqueVisitors,
+        List<DailyCount> daily) {
+
+    public record DailyCount(Instant day, long uniqueVisitors) {
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.urlshortener.core.model;
 
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -26,6 +29,47 @@ public record Url(String value) {
         }
     }
 
+    /**
+     * Canonical form used to recognise the same target: scheme and host in
+     * lower case, default port dropped and an empty path written as "/".
+     * Path, query and fragment are case-sensitive and kept as they are. URLs
+     * that do not parse as a hierarchical URI are returned unchanged.
+     */
+    public String normalized() {
+        URI uri;
+        try {
+            uri = new URI(value);
+        } catch (URISyntaxException e) {
+            return value;
+        }
+        if (uri.getHost() == null) {
+            return value;
+        }
+
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        int port = uri.getPort();
+        if ((port == 80 && scheme.equals("http")) || (port == 443 && scheme.equals("https"))) {
+            port = -1;
+        }
+        StringBuilder normalized = new StringBuilder(value.length()).append(scheme).append("://");
+        if (uri.getRawUserInfo() != null) {
+            normalized.append(uri.getRawUserInfo()).append('@');
+        }
+        normalized.append(uri.getHost().toLowerCase(Locale.ROOT));
+        if (port != -1) {
+            normalized.append(':').append(port);
+        }
+        String path = uri.getRawPath();
+        normalized.append(path == null || path.isEmpty() ? "/" : path);
+        if (uri.getRawQuery() != null) {
+            normalized.append('?').append(uri.getRawQuery());
+        }
+        if (uri.getRawFragment() != null) {
+            normalized.append('#').append(uri.getRawFragment());
+        }
+        return normalized.toString();
+    }
+
     @Override
     public String toString() {
         return value;
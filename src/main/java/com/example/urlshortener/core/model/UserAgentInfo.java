@@ -0,0 +1,21 @@
+package com.example.urlshortener.core.model;
+
+/**
+ * What a click's User-Agent says about the client, at the granularity the
+ * per-link breakdowns report.
+ */
+public record UserAgentInfo(
+        Browser browser,
+        Device device,
+        boolean bot) {
+
+    public static final UserAgentInfo UNKNOWN = new UserAgentInfo(Browser.OTHER, Device.OTHER, false);
+
+    public enum Browser {
+        CHROME, FIREFOX, SAFARI, EDGE, OPERA, OTHER
+    }
+
+    public enum Device {
+        DESKTOP, MOBILE, TABLET, OTHER
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.urlshortener.core.ports.incoming;
+
+import com.example.urlshortener.core.model.BulkShortenResult;
+
+import java.util.List;
+
+public interface BulkShortenUrlUseCase {
+
+    /**
+     * Shortens many URLs at once with generated IDs (no custom aliases).
+     * Invalid or rejected URLs do not fail the others: each one gets its own
+     * result, in the order of {@code originalUrls}.
+     *
+     * @throws IllegalArgumentException if the batch is larger than the configured maximum
+     */
+    List<BulkShortenResult> shortenAll(List<String> originalUrls, String userId);
+
+    /**
+     * Maximum number of URLs accepted by {@link #shortenAll}.
+     */
+    int maxBatchSize();
+}
@@ -0,0 +1,21 @@
+package com.example.urlshortener.core.ports.incoming;
+
+import com.example.urlshortener.core.model.LinkStats;
+import com.example.urlshortener.core.model.StatsGranularity;
+
+import java.time.Instant;
+
+public interface GetLinkStatsUseCase {
+
+    /**
+     * Returns the click statistics of a short URL owned by {@code userId}.
+     * The range is widened to whole buckets; without {@code to} it ends with
+     * the current bucket, without {@code from} it covers the granularity's
+     * default number of buckets.
+     *
+     * @throws com.example.urlshortener.core.exception.UrlNotFoundException       if the short URL does not exist
+     * @throws com.example.urlshortener.core.exception.LinkAccessDeniedException if it is not owned by {@code userId}
+     * @throws IllegalArgumentException                                           if the range is empty or too wide
+     */
+    LinkStats getStats(String id, StatsGranularity granularity, Instant from, Instant to, String userId);
+}
@@ -0,0 +1,19 @@
+package com.example.urlshortener.core.ports.incoming;
+
+import com.example.urlshortener.core.model.UniqueVisitors;
+
+import java.time.Instant;
+
+public interface GetUniqueVisitorsUseCase {
+
+    /**
+     * Returns the approximate unique visitors of a short URL owned by
+     * {@code userId}. The range is widened to whole UTC days and defaults
+     * like the daily statistics of {@link GetLinkStatsUseCase}.
+     *
+     * @throws com.example.urlshortener.core.exception.UrlNotFoundException       if the short URL does not exist
+     * @throws com.example.urlshortener.core.exception.LinkAccessDeniedException if it is not owned by {@code userId}
+     * @throws IllegalArgumentException                                           if the range is empty or too wide
+     */
+    UniqueVisitors getUniqueVisitors(String id, Instant from, Instant to, String userId);
+}
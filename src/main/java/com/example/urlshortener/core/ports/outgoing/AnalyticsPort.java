@@ -4,4 +4,13 @@ import com.example.urlshortener.core.model.ClickEvent;
 
 public interface AnalyticsPort {
     void track(ClickEvent event);
+
+    /**
+     * Tracks a click from its parts, so adapters that can record it without
+     * building a {@link ClickEvent} (e.g. into pre-allocated slots) keep the
+     * redirect path allocation-free.
+     */
+    default void track(String shortCode, long timestampMillis, String userAgent, String ip) {
+        track(new ClickEvent(shortCode, timestampMillis, userAgent, ip));
+    }
 }
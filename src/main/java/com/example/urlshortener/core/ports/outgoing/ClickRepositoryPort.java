@@ -0,0 +1,27 @@
+package com.example.urlshortener.core.ports.outgoing;
+
+import com.example.urlshortener.core.model.ClickEvent;
+
+import java.util.List;
+
+/**
+ * Porto de saída para persistência de eventos de clique (analytics).
+ *
+ * Recebe lotes já agrupados pelo pipeline assíncrono de cliques; a
+ * implementação deve gravar o lote inteiro de uma vez (ex: insert em lote),
+ * nunca evento a evento.
+ */
+public interface ClickRepositoryPort {
+
+    /**
+     * Persiste um lote de cliques.
+     *
+     * A entrega é "at least once": se a chamada falhar, o chamador tenta
+     * novamente com o mesmo lote, e eventos já gravados podem ser duplicados.
+     *
+     * @param events lote de cliques (não vazio)
+     * @throws RuntimeException (ou subclasses específicas) em caso de erro de
+     *                          persistência
+     */
+    void saveAll(List<ClickEvent> events);
+}
@@ -0,0 +1,54 @@
+package com.example.urlshortener.core.ports.outgoing;
+
+import com.example.urlshortener.core.exception.PartialRollupWriteException;
+import com.example.urlshortener.core.model.ClickBucket;
+import com.example.urlshortener.core.model.ClickCount;
+import com.example.urlshortener.core.model.StatsGranularity;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Porto de saída para os contadores agregados de cliques (rollups por hora e
+ * por dia).
+ *
+ * Recebe contagens já pré-agregadas em memória pelo pipeline de cliques: uma
+ * chamada por granularidade e intervalo de flush, que soma (nunca substitui)
+ * os contadores existentes.
+ */
+public interface ClickRollupRepositoryPort {
+
+    /**
+     * Soma as contagens por hora aos rollups de uma granularidade (por dia,
+     * agrupadas pelo dia de cada hora).
+     *
+     * Cada granularidade é gravada em uma chamada própria, para que o
+     * chamador repita apenas a que falhou. Se só parte das contagens for
+     * aplicada, lança {@link PartialRollupWriteException} com as que faltam,
+     * e só elas devem ser reenviadas. Qualquer outra falha deixa o resultado
+     * indefinido: o chamador reenvia tudo e, como em
+     * {@link ClickRepositoryPort}, a entrega é "at least once".
+     *
+     * @param granularity rollups por hora ou por dia
+     * @param counts      contagens por código curto e hora (não vazio, sem
+     *                    pares repetidos)
+     * @throws PartialRollupWriteException se parte das contagens foi gravada
+     * @throws RuntimeException            (ou subclasses específicas) em caso
+     *                                     de erro de persistência
+     */
+    void incrementAll(StatsGranularity granularity, List<ClickCount> counts);
+
+    /**
+     * Lê os contadores de um código curto no intervalo {@code [from, to)},
+     * um por período com cliques, do mais antigo ao mais recente.
+     *
+     * @param shortCode   código curto
+     * @param granularity rollups por hora ou por dia
+     * @param from        início do intervalo (alinhado ao período)
+     * @param to          fim do intervalo, exclusivo (alinhado ao período)
+     * @return contadores encontrados (vazia se não houver cliques)
+     * @throws RuntimeException (ou subclasses específicas) em caso de erro de
+     *                          persistência
+     */
+    List<ClickBucket> findBuckets(String shortCode, StatsGranularity granularity, Instant from, Instant to);
+}
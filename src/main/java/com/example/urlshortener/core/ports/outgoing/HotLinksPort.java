@@ -0,0 +1,19 @@
+package com.example.urlshortener.core.ports.outgoing;
+
+import com.example.urlshortener.core.model.HotLink;
+import com.example.urlshortener.core.model.HotLinkWindow;
+
+import java.util.List;
+
+/**
+ * Port for the most clicked short codes in recent sliding windows, as
+ * tracked from the click stream. Counts are approximate and the ranking is
+ * refreshed periodically; reads must be cheap and never block.
+ */
+public interface HotLinksPort {
+
+    /**
+     * @return the hottest links of the window, hottest first
+     */
+    List<HotLink> topLinks(HotLinkWindow window);
+}
@@ -1,5 +1,21 @@
 package com.example.urlshortener.core.ports.outgoing;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface IdGeneratorPort {
     String generateId();
+
+    /**
+     * Generates {@code count} unique IDs at once, e.g. for a bulk shorten.
+     * Implementations backed by a shared counter should reserve them in a
+     * single round-trip.
+     */
+    default List<String> generateIds(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(generateId());
+        }
+        return ids;
+    }
 }
@@ -0,0 +1,19 @@
+package com.example.urlshortener.core.ports.outgoing;
+
+import com.example.urlshortener.core.model.LinkStats;
+import com.example.urlshortener.core.model.StatsGranularity;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Port for briefly caching link statistics already served to a user, so
+ * dashboards polling the same link do not query the rollups every time.
+ * Entries are short-lived; implementations must be bounded.
+ */
+public interface LinkStatsCachePort {
+
+    Optional<LinkStats> get(String userId, String id, StatsGranularity granularity, Instant from, Instant to);
+
+    void put(String userId, LinkStats stats);
+}
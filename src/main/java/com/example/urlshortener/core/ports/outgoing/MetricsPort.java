@@ -14,4 +14,16 @@ public interface MetricsPort {
     void recordCacheMiss();
 
     void recordBloomFilterRejection();
+
+    /**
+     * A cache-miss lookup joined a load already in flight for the same id
+     * instead of hitting Redis/MongoDB itself.
+     */
+    void recordCoalescedLoad();
+
+    /**
+     * A lookup was answered as not found by the negative cache, without
+     * reaching the database.
+     */
+    void recordNegativeCacheHit();
 }
@@ -0,0 +1,36 @@
+package com.example.urlshortener.core.ports.outgoing;
+
+import java.util.Collection;
+
+/**
+ * Port for remembering short IDs that are known not to exist, so repeated
+ * lookups of unknown codes (e.g. bot scans) stop reaching the database.
+ * Entries are short-lived; implementations must be bounded.
+ */
+public interface NegativeUrlCachePort {
+
+    boolean isKnownMissing(String id);
+
+    /**
+     * Checks the in-process tier only, without any I/O, so a known-missing
+     * ID can be answered before the remote URL cache is queried.
+     * Implementations without a local tier return {@code false}.
+     */
+    default boolean isKnownMissingLocally(String id) {
+        return false;
+    }
+
+    void markMissing(String id);
+
+    /**
+     * Forgets a negative entry. Called when the ID is created.
+     */
+    void invalidate(String id);
+
+    /**
+     * Forgets the negative entries of many IDs created at once.
+     */
+    default void invalidateAll(Collection<String> ids) {
+        ids.forEach(this::invalidate);
+    }
+}
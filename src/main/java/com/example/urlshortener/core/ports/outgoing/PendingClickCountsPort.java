@@ -0,0 +1,24 @@
+package com.example.urlshortener.core.ports.outgoing;
+
+import com.example.urlshortener.core.model.ClickCount;
+
+import java.util.List;
+
+/**
+ * Porto de saída para as contagens de cliques já processadas pelo pipeline
+ * mas ainda não gravadas nos rollups ({@link ClickRollupRepositoryPort}).
+ *
+ * Somadas aos rollups, dão contagens atualizadas sem esperar o próximo
+ * flush.
+ */
+public interface PendingClickCountsPort {
+
+    /**
+     * Lista as contagens pendentes de um código curto. Pode ser chamado de
+     * qualquer thread, sem I/O.
+     *
+     * @param shortCode código curto
+     * @return contagens por hora e classe de cliente (vazia se não houver)
+     */
+    List<ClickCount> pendingCounts(String shortCode);
+}
@@ -0,0 +1,26 @@
+package com.example.urlshortener.core.ports.outgoing;
+
+/**
+ * Port for turning numeric sequence IDs into short codes and back.
+ * Implementations must be reversible: {@code decode(encode(id)) == id} for
+ * every {@code id >= 0}.
+ */
+public interface ShortCodeCodec {
+
+    String encode(long id);
+
+    /**
+     * @return the numeric ID, or {@code -1} if the code was not produced by
+     *         this codec (e.g. a vanity alias)
+     */
+    long decode(String code);
+
+    /**
+     * @return true if {@code code} is exactly what {@link #encode} returns for
+     *         some ID, i.e. a generated code may take this value
+     */
+    default boolean isCanonical(String code) {
+        long id = decode(code);
+        return id >= 0 && encode(id).equals(code);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.urlshortener.core.ports.outgoing;
+
+import com.example.urlshortener.core.model.DailyVisitors;
+import com.example.urlshortener.core.model.UniqueVisitors;
+
+import java.util.List;
+
+/**
+ * Porto de saída para a contagem aproximada de visitantes únicos por código
+ * curto e dia.
+ *
+ * As implementações guardam um sketch de cardinalidade (HyperLogLog) por
+ * código e dia, de tamanho limitado a poucos KB independentemente do número
+ * de visitantes; as contagens têm erro relativo de cerca de 1%.
+ */
+public interface UniqueVisitorRepositoryPort {
+
+    /**
+     * Adiciona visitantes aos sketches diários. Adicionar o mesmo visitante
+     * de novo não altera a contagem, então repetir uma chamada que falhou é
+     * seguro.
+     *
+     * @param visitors visitantes por código curto e dia (não vazio)
+     * @throws RuntimeException (ou subclasses específicas) em caso de erro de
+     *                          persistência
+     */
+    void addAll(List<DailyVisitors> visitors);
+
+    /**
+     * Conta os visitantes únicos de um código nos dias
+     * {@code [fromEpochDay, toEpochDay)}, no total e por dia.
+     *
+     * @param shortCode    código curto
+     * @param fromEpochDay primeiro dia (dias desde a época, UTC)
+     * @param toEpochDay   dia seguinte ao último
+     * @return contagem total e dias com visitantes
+     * @throws RuntimeException (ou subclasses específicas) em caso de erro de
+     *                          persistência
+     */
+    UniqueVisitors count(String shortCode, long fromEpochDay, long toEpochDay);
+}
@@ -1,7 +1,26 @@
 package com.example.urlshortener.core.ports.outgoing;
 
+import java.util.Map;
+
 public interface UrlCachePort {
     String get(String id);
 
     void put(String id, String originalUrl);
+
+    /**
+     * Looks the id up in the in-process tier only, without any I/O.
+     * Implementations without a local tier return {@code null}.
+     */
+    default String getIfPresentLocally(String id) {
+        return null;
+    }
+
+    /**
+     * Populates the cache with many entries at once (id to original URL),
+     * e.g. right after a bulk shorten. Implementations may skip tiers that
+     * only pay off for entries that have actually been requested.
+     */
+    default void putAll(Map<String, String> entries) {
+        entries.forEach(this::put);
+    }
 }
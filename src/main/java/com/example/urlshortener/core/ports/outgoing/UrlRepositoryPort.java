@@ -1,8 +1,13 @@
 package com.example.urlshortener.core.ports.outgoing;
 
+import com.example.urlshortener.core.exception.AliasAlreadyExistsException;
 import com.example.urlshortener.core.model.ShortUrl;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Porto de saída que define o contrato para persistência de URLs encurtadas.
@@ -25,15 +30,45 @@ import java.util.Optional;
 public interface UrlRepositoryPort {
 
     /**
-     * Persiste uma URL encurtada.
+     * Persiste uma nova URL encurtada.
+     *
+     * Apenas insere: um ID já existente nunca é sobrescrito. É esta gravação
+     * que garante a disponibilidade de aliases customizados, de forma
+     * atômica, sem verificação prévia com {@link #existsById}.
      *
      * @param shortUrl a URL encurtada a ser salva
+     * @throws AliasAlreadyExistsException se o ID já existir
      * @throws IllegalArgumentException se os dados forem inválidos
      * @throws RuntimeException         (ou subclasses específicas) em caso de erro
      *                                  de persistência
      */
     void save(ShortUrl shortUrl);
 
+    /**
+     * Persiste várias URLs encurtadas de uma vez (encurtamento em lote).
+     *
+     * A rejeição de um documento (ex.: chave duplicada) não interrompe o
+     * lote: os demais são gravados e as posições rejeitadas são devolvidas.
+     * A implementação padrão grava uma a uma; adaptadores devem usar uma
+     * única escrita em lote.
+     *
+     * @param shortUrls as URLs encurtadas a serem salvas
+     * @return posições (em {@code shortUrls}) das URLs que não foram gravadas
+     * @throws RuntimeException (ou subclasses específicas) em caso de erro de
+     *                          persistência que afete o lote inteiro
+     */
+    default Set<Integer> saveAll(List<ShortUrl> shortUrls) {
+        Set<Integer> rejected = new HashSet<>();
+        for (int i = 0; i < shortUrls.size(); i++) {
+            try {
+                save(shortUrls.get(i));
+            } catch (AliasAlreadyExistsException e) {
+                rejected.add(i);
+            }
+        }
+        return rejected;
+    }
+
     /**
      * Recupera uma URL encurtada por seu identificador único.
      *
@@ -44,6 +79,37 @@ public interface UrlRepositoryPort {
      */
     Optional<ShortUrl> findById(String id);
 
+    /**
+     * Recupera apenas a URL original de uma URL encurtada, para o
+     * redirecionamento em cache miss.
+     *
+     * A implementação padrão delega a {@link #findById}; adaptadores devem
+     * ler somente o campo necessário, sem carregar nem mapear o documento
+     * inteiro.
+     *
+     * @param id o identificador único da URL encurtada
+     * @return Optional contendo a URL original se encontrada, ou empty se não
+     *         existir
+     * @throws RuntimeException (ou subclasses específicas) em caso de erro ao
+     *                          consultar
+     */
+    default Optional<String> findOriginalUrlById(String id) {
+        return findById(id).map(ShortUrl::originalUrl);
+    }
+
+    /**
+     * Busca uma URL encurtada com ID gerado (não alias) de um dono para a
+     * mesma URL original, comparando as formas normalizadas
+     * ({@link com.example.urlshortener.core.model.Url#normalized()}).
+     *
+     * @param userId      o dono, ou null para URLs anônimas
+     * @param originalUrl a URL original
+     * @return Optional contendo uma URL encurtada existente, ou empty
+     * @throws RuntimeException (ou subclasses específicas) em caso de erro ao
+     *                          consultar
+     */
+    Optional<ShortUrl> findByOwnerAndUrl(String userId, String originalUrl);
+
     /**
      * Verifica se uma URL encurtada existe por seu identificador.
      *
@@ -51,4 +117,16 @@ public interface UrlRepositoryPort {
      * @return true se existir, false caso contrário
      */
     boolean existsById(String id);
+
+    /**
+     * Percorre os identificadores de todas as URLs encurtadas persistidas.
+     *
+     * Usado para reconstruir estruturas derivadas (ex: Bloom filter local)
+     * sem carregar os documentos completos.
+     *
+     * @param action ação executada para cada identificador
+     * @throws RuntimeException (ou subclasses específicas) em caso de erro ao
+     *                          consultar
+     */
+    void forEachId(Consumer<String> action);
 }
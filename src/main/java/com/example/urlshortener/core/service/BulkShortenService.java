@@ -0,0 +1,120 @@
+package com.example.urlshortener.core.service;
+
+import com.example.urlshortener.core.model.BulkShortenResult;
+import com.example.urlshortener.core.model.ShortUrl;
+import com.example.urlshortener.core.model.Url;
+import com.example.urlshortener.core.ports.incoming.BulkShortenUrlUseCase;
+import com.example.urlshortener.core.ports.outgoing.IdGeneratorPort;
+import com.example.urlshortener.core.ports.outgoing.MetricsPort;
+import com.example.urlshortener.core.ports.outgoing.NegativeUrlCachePort;
+import com.example.urlshortener.core.ports.outgoing.UrlCachePort;
+import com.example.urlshortener.core.ports.outgoing.UrlRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Shortens a batch of URLs with a fixed number of round-trips whatever its
+ * size: one ID range reservation for all valid URLs, one bulk insert, one
+ * multi-key invalidation of the negative cache and one cache population
+ * pipeline. Only generated IDs are supported, so there is no alias check or
+ * vanity quota to apply per URL.
+ */
+public class BulkShortenService implements BulkShortenUrlUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkShortenService.class);
+
+    static final String REJECTED_ERROR = "Short URL could not be saved";
+
+    private final IdGeneratorPort idGenerator;
+    private final UrlRepositoryPort urlRepository;
+    private final UrlCachePort urlCache;
+    private final NegativeUrlCachePort negativeCache;
+    private final MetricsPort metrics;
+    private final int maxBatchSize;
+
+    public BulkShortenService(IdGeneratorPort idGenerator,
+            UrlRepositoryPort urlRepository,
+            UrlCachePort urlCache,
+            NegativeUrlCachePort negativeCache,
+            MetricsPort metrics,
+            int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive: " + maxBatchSize);
+        }
+        this.idGenerator = idGenerator;
+        this.urlRepository = urlRepository;
+        this.urlCache = urlCache;
+        this.negativeCache = negativeCache;
+        this.metrics = metrics;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public List<BulkShortenResult> shortenAll(List<String> originalUrls, String userId) {
+        Objects.requireNonNull(originalUrls, "URLs cannot be null");
+        if (originalUrls.size() > maxBatchSize) {
+            throw new IllegalArgumentException(
+                    "Too many URLs in one batch: " + originalUrls.size() + " (max " + maxBatchSize + ")");
+        }
+
+        // 1. Validate everything first, so invalid URLs consume no ID
+        BulkShortenResult[] results = new BulkShortenResult[originalUrls.size()];
+        List<Integer> validPositions = new ArrayList<>(originalUrls.size());
+        List<Url> validUrls = new ArrayList<>(originalUrls.size());
+        for (int i = 0; i < originalUrls.size(); i++) {
+            String originalUrl = originalUrls.get(i);
+            try {
+                validUrls.add(new Url(originalUrl));
+                validPositions.add(i);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                results[i] = BulkShortenResult.failed(originalUrl, e.getMessage());
+            }
+        }
+        if (validUrls.isEmpty()) {
+            return Arrays.asList(results);
+        }
+
+        // 2. One ID range and one bulk insert for the whole batch
+        List<String> ids = idGenerator.generateIds(validUrls.size());
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<ShortUrl> shortUrls = new ArrayList<>(validUrls.size());
+        for (int j = 0; j < validUrls.size(); j++) {
+            shortUrls.add(new ShortUrl(ids.get(j), validUrls.get(j).value(), createdAt, userId, false));
+        }
+        Set<Integer> rejected = urlRepository.saveAll(shortUrls);
+
+        Map<String, String> created = new HashMap<>();
+        for (int j = 0; j < shortUrls.size(); j++) {
+            int position = validPositions.get(j);
+            if (rejected.contains(j)) {
+                results[position] = BulkShortenResult.failed(originalUrls.get(position), REJECTED_ERROR);
+            } else {
+                ShortUrl shortUrl = shortUrls.get(j);
+                results[position] = BulkShortenResult.created(shortUrl);
+                created.put(shortUrl.id(), shortUrl.originalUrl());
+                metrics.recordUrlShortened();
+            }
+        }
+
+        // 3. The IDs may have been probed before they existed; then warm the cache
+        negativeCache.invalidateAll(created.keySet());
+        urlCache.putAll(created);
+
+        log.info("Bulk shorten: {} created, {} failed", created.size(), originalUrls.size() - created.size());
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.urlshortener.core.service;
+
+import com.example.urlshortener.core.exception.LinkAccessDeniedException;
+import com.example.urlshortener.core.exception.UrlNotFoundException;
+import com.example.urlshortener.core.model.ClickBreakdown;
+import com.example.urlshortener.core.model.ClickBucket;
+import com.example.urlshortener.core.model.ClickCount;
+import com.example.urlshortener.core.model.LinkStats;
+import com.example.urlshortener.core.model.ShortUrl;
+import com.example.urlshortener.core.model.StatsGranularity;
+import com.example.urlshortener.core.model.UniqueVisitors;
+import com.example.urlshortener.core.ports.incoming.GetLinkStatsUseCase;
+import com.example.urlshortener.core.ports.incoming.GetUniqueVisitorsUseCase;
+import com.example.urlshortener.core.ports.outgoing.ClickRollupRepositoryPort;
+import com.example.urlshortener.core.ports.outgoing.LinkStatsCachePort;
+import com.example.urlshortener.core.ports.outgoing.PendingClickCountsPort;
+import com.example.urlshortener.core.ports.outgoing.UniqueVisitorRepositoryPort;
+import com.example.urlshortener.core.ports.outgoing.UrlRepositoryPort;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Serves link statistics from the click rollups plus the clicks counted
+ * since their last flush, so a request costs one range read of at most
+ * {@link StatsGranularity#maxBuckets()} counters however many clicks the link
+ * got.
+ *
+ * Responses are cached per user, link and range for a few seconds. Only
+ * responses that passed the ownership check are cached, under the owner's
+ * id, so a cache hit needs no check of its own.
+ *
+ * Unique visitors come from per-day cardinality sketches
+ * ({@link UniqueVisitorRepositoryPort}), flushed by the click pipeline at
+ * the same interval as the rollups.
+ */
+public class LinkStatsService implements GetLinkStatsUseCase, GetUniqueVisitorsUseCase {
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    private final UrlRepositoryPort urlRepository;
+    private final ClickRollupRepositoryPort rollupRepository;
+    private final PendingClickCountsPort pendingCounts;
+    private final LinkStatsCachePort statsCache;
+    private final UniqueVisitorRepositoryPort visitorRepository;
+    private final Clock clock;
+
+    public LinkStatsService(UrlRepositoryPort urlRepository,
+            ClickRollupRepositoryPort rollupRepository,
+            PendingClickCountsPort pendingCounts,
+            LinkStatsCachePort statsCache,
+            UniqueVisitorRepositoryPort visitorRepository,
+            Clock clock) {
+        this.urlRepository = urlRepository;
+        this.rollupRepository = rollupRepository;
+        this.pendingCounts = pendingCounts;
+        this.statsCache = statsCache;
+        this.visitorRepository = visitorRepository;
+        this.clock = clock;
+    }
+
+    @Override
+    public LinkStats getStats(String id, StatsGranularity granularity, Instant from, Instant to, String userId) {
+        Objects.requireNonNull(granularity, "Granularity cannot be null");
+
+        // Whole buckets only, so ranges requested within the same bucket share a cache entry
+        long[] range = bucketRange(granularity, from, to);
+        long start = range[0];
+        long end = range[1];
+        Instant rangeFrom = Instant.ofEpochMilli(start);
+        Instant rangeTo = Instant.ofEpochMilli(end);
+
+        if (userId != null) {
+            Optional<LinkStats> cached = statsCache.get(userId, id, granularity, rangeFrom, rangeTo);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+
+        checkOwner(id, userId);
+        LinkStats stats = load(id, granularity, start, end);
+        statsCache.put(userId, stats);
+        return stats;
+    }
+
+    @Override
+    public UniqueVisitors getUniqueVisitors(String id, Instant from, Instant to, String userId) {
+        long[] range = bucketRange(StatsGranularity.DAY, from, to);
+        checkOwner(id, userId);
+        long millisPerDay = StatsGranularity.DAY.bucketMillis();
+        return visitorRepository.count(id, range[0] / millisPerDay, range[1] / millisPerDay);
+    }
+
+    /**
+     * Widens the requested range to whole buckets, filling in the defaults.
+     *
+     * @return bucket-aligned {@code [start, end)} in epoch millis
+     */
+    private long[] bucketRange(StatsGranularity granularity, Instant from, Instant to) {
+        long bucketMillis = granularity.bucketMillis();
+        long end = to != null
+                ? -Math.floorDiv(-to.toEpochMilli(), bucketMillis) * bucketMillis
+                : granularity.bucketStart(clock.millis()) + bucketMillis;
+        long start = from != null
+                ? granularity.bucketStart(from.toEpochMilli())
+                : end - granularity.defaultBuckets() * bucketMillis;
+        if (start >= end) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if ((end - start) / bucketMillis > granularity.maxBuckets()) {
+            throw new IllegalArgumentException("Range too wide: at most " + granularity.maxBuckets() + " "
+                    + granularity.name().toLowerCase(Locale.ROOT) + " buckets per request");
+        }
+        return new long[] { start, end };
+    }
+
+    private void checkOwner(String id, String userId) {
+        ShortUrl shortUrl = urlRepository.findById(id).orElseThrow(() -> new UrlNotFoundException(id));
+        if (userId == null || !userId.equals(shortUrl.userId())) {
+            throw new LinkAccessDeniedException(id);
+        }
+    }
+
+    private LinkStats load(String id, StatsGranularity granularity, long start, long end) {
+        Instant rangeFrom = Instant.ofEpochMilli(start);
+        Instant rangeTo = Instant.ofEpochMilli(end);
+
+        // Live tail: clicks counted by the pipeline but not flushed to the rollups yet.
+        // Read before the rollups: a flush writes the rollups first and only then
+        // drops the tail, so a flush landing between the two reads is counted
+        // twice at worst; in the other order it would go missing from both
+        List<ClickCount> pending = pendingCounts.pendingCounts(id);
+
+        TreeMap<Long, ClickBreakdown> buckets = new TreeMap<>();
+        for (ClickBucket bucket : rollupRepository.findBuckets(id, granularity, rangeFrom, rangeTo)) {
+            buckets.merge(bucket.start().toEpochMilli(), bucket.counts(), ClickBreakdown::plus);
+        }
+        for (ClickCount count : pending) {
+            long bucketStart = granularity.bucketStart(count.epochHour() * MILLIS_PER_HOUR);
+            if (bucketStart >= start && bucketStart < end) {
+                buckets.merge(bucketStart, ClickBreakdown.of(count.userAgent(), count.clicks()),
+                        ClickBreakdown::plus);
+            }
+        }
+
+        List<ClickBucket> series = new ArrayList<>(buckets.size());
+        ClickBreakdown totals = ClickBreakdown.EMPTY;
+        for (var bucket : buckets.entrySet()) {
+            series.add(new ClickBucket(Instant.ofEpochMilli(bucket.getKey()), bucket.getValue()));
+            totals = totals.plus(bucket.getValue());
+        }
+        return new LinkStats(id, granularity, rangeFrom, rangeTo, totals, List.copyOf(series));
+    }
+}
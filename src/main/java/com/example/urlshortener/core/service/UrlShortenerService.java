@@ -1,11 +1,13 @@
 package com.example.urlshortener.core.service;
 
+import com.example.urlshortener.core.exception.AliasAlreadyExistsException;
 import com.example.urlshortener.core.idgeneration.UrlIdGenerator;
 import com.example.urlshortener.core.model.ShortUrl;
 import com.example.urlshortener.core.model.Url;
 import com.example.urlshortener.core.ports.incoming.GetUrlUseCase;
 import com.example.urlshortener.core.ports.incoming.ShortenUrlUseCase;
 import com.example.urlshortener.core.ports.outgoing.MetricsPort;
+import com.example.urlshortener.core.ports.outgoing.NegativeUrlCachePort;
 import com.example.urlshortener.core.ports.outgoing.UrlCachePort;
 import com.example.urlshortener.core.ports.outgoing.UrlRepositoryPort;
 import com.example.urlshortener.core.ports.outgoing.UserRepositoryPort;
@@ -14,6 +16,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
+import java.util.Optional;
 
 public class UrlShortenerService implements ShortenUrlUseCase, GetUrlUseCase {
 
@@ -22,29 +25,56 @@ public class UrlShortenerService implements ShortenUrlUseCase, GetUrlUseCase {
     // Log message constants
     private static final String LOG_CACHE_HIT = "Cache Hit for ID: {}";
     private static final String LOG_CACHE_MISS = "Cache Miss for ID: {}. Fetching from DB...";
+    private static final int MAX_GENERATED_ID_ATTEMPTS = 3;
 
     private final UrlRepositoryPort urlRepository;
     private final UrlCachePort urlCache;
+    private final NegativeUrlCachePort negativeCache;
     private final MetricsPort metrics;
     private final UrlIdGenerator urlIdGenerator;
     private final QuotaService quotaService;
     private final UserRepositoryPort userRepository;
     private final com.example.urlshortener.core.validation.ReservedWordsValidator reservedWordsValidator;
+    private final SingleFlight<String, String> inFlightLoads;
+    private final boolean dedupByUrl;
 
     public UrlShortenerService(UrlRepositoryPort urlRepository,
             UrlCachePort urlCache,
+            NegativeUrlCachePort negativeCache,
             MetricsPort metrics,
             UrlIdGenerator urlIdGenerator,
             QuotaService quotaService,
             UserRepositoryPort userRepository,
             com.example.urlshortener.core.validation.ReservedWordsValidator reservedWordsValidator) {
+        this(urlRepository, urlCache, negativeCache, metrics, urlIdGenerator, quotaService, userRepository,
+                reservedWordsValidator, false);
+    }
+
+    /**
+     * @param dedupByUrl when shortening without a custom alias, return the
+     *                   existing generated code of the same owner for the
+     *                   same (normalized) URL instead of creating a new one.
+     *                   Costs one indexed lookup per shorten.
+     */
+    public UrlShortenerService(UrlRepositoryPort urlRepository,
+            UrlCachePort urlCache,
+            NegativeUrlCachePort negativeCache,
+            MetricsPort metrics,
+            UrlIdGenerator urlIdGenerator,
+            QuotaService quotaService,
+            UserRepositoryPort userRepository,
+            com.example.urlshortener.core.validation.ReservedWordsValidator reservedWordsValidator,
+            boolean dedupByUrl) {
+        this.dedupByUrl = dedupByUrl;
         this.urlRepository = urlRepository;
         this.urlCache = urlCache;
+        this.negativeCache = negativeCache;
         this.metrics = metrics;
         this.urlIdGenerator = urlIdGenerator;
         this.quotaService = quotaService;
         this.userRepository = userRepository;
         this.reservedWordsValidator = reservedWordsValidator;
+        this.inFlightLoads = new SingleFlight<>(metrics::recordCoalescedLoad);
     }
 
     @Override
@@ -73,11 +103,35 @@ public class UrlShortenerService implements ShortenUrlUseCase, GetUrlUseCase {
             }
         }
 
+        // Same owner, same URL: hand back the code it already has
+        if (dedupByUrl && !isCustomAlias) {
+            Optional<ShortUrl> existing = urlRepository.findByOwnerAndUrl(userId, validatedUrl.value());
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+        }
+
         // Delegate ID generation to the decoupled module
-        String id = urlIdGenerator.generateId(customAlias, userId);
+        ShortUrl shortUrl = null;
+        for (int attempt = 1; shortUrl == null; attempt++) {
+            String candidateId = urlIdGenerator.generateId(customAlias, userId);
+            ShortUrl candidate = new ShortUrl(candidateId, validatedUrl.value(), LocalDateTime.now(), userId,
+                    isCustomAlias);
+            try {
+                urlRepository.save(candidate);
+                shortUrl = candidate;
+            } catch (AliasAlreadyExistsException e) {
+                // A generated code can equal an alias created earlier; the next ID is free
+                if (isCustomAlias || attempt == MAX_GENERATED_ID_ATTEMPTS) {
+                    throw e;
+                }
+                log.warn("Generated ID {} is taken by a custom alias, retrying", candidateId);
+            }
+        }
+        String id = shortUrl.id();
 
-        ShortUrl shortUrl = new ShortUrl(id, validatedUrl.value(), LocalDateTime.now(), userId, isCustomAlias);
-        urlRepository.save(shortUrl);
+        // The ID may have been probed before it existed
+        negativeCache.invalidate(id);
 
         // Increment usage if user is authenticated and custom alias was used
         if (userId != null && customAlias != null && !customAlias.isBlank()) {
@@ -98,7 +152,25 @@ public class UrlShortenerService implements ShortenUrlUseCase, GetUrlUseCase {
             throw new IllegalArgumentException("ID cannot be empty");
         }
 
-        // 1. Check Cache
+        // 1. Check local cache tier (no I/O, no coordination needed)
+        String localUrl = urlCache.getIfPresentLocally(id);
+        if (localUrl != null) {
+            log.info(LOG_CACHE_HIT, id);
+            metrics.recordCacheHit();
+            return localUrl;
+        }
+
+        // Recently confirmed missing on this instance: answer without a Redis round-trip
+        if (negativeCache.isKnownMissingLocally(id)) {
+            metrics.recordNegativeCacheHit();
+            throw new com.example.urlshortener.core.exception.UrlNotFoundException(id);
+        }
+
+        // 2. Remote cache and database: concurrent misses for the same ID share one load
+        return inFlightLoads.execute(id, () -> loadOriginalUrl(id));
+    }
+
+    private String loadOriginalUrl(String id) {
         String cachedUrl = urlCache.get(id);
         if (cachedUrl != null) {
             log.info(LOG_CACHE_HIT, id);
@@ -106,16 +178,26 @@ public class UrlShortenerService implements ShortenUrlUseCase, GetUrlUseCase {
             return cachedUrl;
         }
 
-        // 2. Check Database
+        // 3. Check negative cache (IDs other instances recently confirmed not to exist)
+        if (negativeCache.isKnownMissing(id)) {
+            metrics.recordNegativeCacheHit();
+            throw new com.example.urlshortener.core.exception.UrlNotFoundException(id);
+        }
+
+        // 4. Check Database
         log.info(LOG_CACHE_MISS, id);
         metrics.recordCacheMiss();
 
-        return urlRepository.findById(id)
-                .map(shortUrl -> {
-                    // 3. Populate Cache
-                    urlCache.put(id, shortUrl.originalUrl());
-                    return shortUrl.originalUrl();
+        // Only the target URL is needed here, not the whole document
+        return urlRepository.findOriginalUrlById(id)
+                .map(originalUrl -> {
+                    // 5. Populate Cache
+                    urlCache.put(id, originalUrl);
+                    return originalUrl;
                 })
-                .orElseThrow(() -> new com.example.urlshortener.core.exception.UrlNotFoundException(id));
+                .orElseThrow(() -> {
+                    negativeCache.markMissing(id);
+                    return new com.example.urlshortener.core.exception.UrlNotFoundException(id);
+                });
     }
 }
@@ -0,0 +1,40 @@
+package com.example.urlshortener.infra.adapter.input.actuator;
+
+import com.example.urlshortener.infra.adapter.output.redis.BloomFilterMirror;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint for the local Bloom filter replica.
+ *
+ * GET /actuator/bloomfilter returns its status; POST /actuator/bloomfilter
+ * rebuilds it from MongoDB in the background while the current filter keeps
+ * serving lookups.
+ */
+@Component
+@Endpoint(id = "bloomfilter")
+public class BloomFilterEndpoint {
+
+    private final BloomFilterMirror bloomFilterMirror;
+
+    public BloomFilterEndpoint(BloomFilterMirror bloomFilterMirror) {
+        this.bloomFilterMirror = bloomFilterMirror;
+    }
+
+    @ReadOperation
+    public BloomFilterMirror.Status status() {
+        return bloomFilterMirror.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        boolean started = bloomFilterMirror.rebuildAsync();
+        return Map.of(
+                "rebuildStarted", started,
+                "status", bloomFilterMirror.status());
+    }
+}
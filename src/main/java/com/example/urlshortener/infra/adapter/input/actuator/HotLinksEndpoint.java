@@ -0,0 +1,45 @@
+package com.example.urlshortener.infra.adapter.input.actuator;
+
+import com.example.urlshortener.core.model.HotLink;
+import com.example.urlshortener.core.model.HotLinkWindow;
+import com.example.urlshortener.core.ports.outgoing.HotLinksPort;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for the hottest short codes.
+ *
+ * GET /actuator/hotlinks returns the top links of every window with their
+ * approximate click counts; GET /actuator/hotlinks/{window} (e.g.
+ * {@code LAST_MINUTE}) returns a single window.
+ */
+@Component
+@Endpoint(id = "hotlinks")
+public class HotLinksEndpoint {
+
+    private final HotLinksPort hotLinks;
+
+    public HotLinksEndpoint(HotLinksPort hotLinks) {
+        this.hotLinks = hotLinks;
+    }
+
+    @ReadOperation
+    public Map<HotLinkWindow, List<HotLink>> all() {
+        Map<HotLinkWindow, List<HotLink>> all = new EnumMap<>(HotLinkWindow.class);
+        for (HotLinkWindow window : HotLinkWindow.values()) {
+            all.put(window, hotLinks.topLinks(window));
+        }
+        return all;
+    }
+
+    @ReadOperation
+    public List<HotLink> window(@Selector HotLinkWindow window) {
+        return hotLinks.topLinks(window);
+    }
+}
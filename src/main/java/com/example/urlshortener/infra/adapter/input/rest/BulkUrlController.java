@@ -0,0 +1,240 @@
+package com.example.urlshortener.infra.adapter.input.rest;
+
+import com.example.urlshortener.core.model.BulkShortenResult;
+import com.example.urlshortener.core.model.User;
+import com.example.urlshortener.core.ports.incoming.BulkShortenUrlUseCase;
+import com.example.urlshortener.core.ports.outgoing.RateLimiterPort;
+import com.example.urlshortener.core.ports.outgoing.UserRepositoryPort;
+import com.example.urlshortener.infra.adapter.input.rest.dto.BulkShortenRequest;
+import com.example.urlshortener.infra.adapter.input.rest.dto.BulkShortenResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk shortening for authenticated callers. A request costs one rate limit
+ * permit and a handful of round-trips per batch (see
+ * {@link BulkShortenUrlUseCase}) instead of one request per URL.
+ *
+ * The NDJSON variant reads one {@code {"originalUrl": ...}} object per line
+ * and writes one result per line, processing and flushing
+ * {@code stream-chunk-size} lines at a time, so neither side has to hold the
+ * whole batch and results arrive while the upload is still going. A stream
+ * is still one permit, so it stops after {@code stream-max-size} URLs with
+ * an error line in place of the rest. The status is committed with the first
+ * chunk, so a failure later on also ends the stream with an error line,
+ * indexed at the first URL without a result, rather than cutting it short.
+ */
+@RestController
+@Tag(name = "Bulk URL Shortener", description = "Shortening of many URLs in one request")
+public class BulkUrlController {
+
+        private static final Logger log = LoggerFactory.getLogger(BulkUrlController.class);
+
+        static final String MALFORMED_LINE_ERROR = "Malformed NDJSON line";
+        static final String STREAM_TOO_LARGE_ERROR = "Stream larger than the configured maximum; remaining lines were not read";
+        static final String STREAM_FAILED_ERROR = "Stream aborted by an internal error; remaining lines were not processed";
+
+        private final BulkShortenUrlUseCase bulkShortenUrlUseCase;
+        private final RateLimiterPort rateLimiter;
+        private final UserRepositoryPort userRepository;
+        private final ObjectMapper objectMapper;
+        private final int streamChunkSize;
+        private final int streamMaxSize;
+
+        public BulkUrlController(BulkShortenUrlUseCase bulkShortenUrlUseCase,
+                        RateLimiterPort rateLimiter,
+                        UserRepositoryPort userRepository,
+                        ObjectMapper objectMapper,
+                        @Value("${app.shortener.bulk.stream-chunk-size:1000}") int streamChunkSize,
+                        @Value("${app.shortener.bulk.stream-max-size:100000}") int streamMaxSize) {
+                this.bulkShortenUrlUseCase = bulkShortenUrlUseCase;
+                this.rateLimiter = rateLimiter;
+                this.userRepository = userRepository;
+                this.objectMapper = objectMapper;
+                this.streamChunkSize = streamChunkSize;
+                this.streamMaxSize = streamMaxSize;
+        }
+
+        @PostMapping(value = "/api/v1/urls/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+        @Operation(summary = "Shorten many URLs", description = "Shortens a JSON array of URLs with generated codes and returns one result per URL, in request order. Invalid URLs get an error without failing the others.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "One result per URL", content = @Content(array = @ArraySchema(schema = @Schema(implementation = BulkShortenResponse.class)))),
+                        @ApiResponse(responseCode = "400", description = "Batch larger than the configured maximum", content = @Content),
+                        @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content),
+                        @ApiResponse(responseCode = "429", description = "Rate limit exceeded", content = @Content)
+        })
+        public ResponseEntity<List<BulkShortenResponse>> shortenAll(
+                        @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "URLs to be shortened", required = true) @RequestBody List<BulkShortenRequest> requests,
+                        HttpServletRequest request) {
+                if (!rateLimiter.isAllowed(request.getRemoteAddr())) {
+                        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+                }
+                String userId = currentUserId();
+                if (userId == null) {
+                        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+                }
+
+                List<String> originalUrls = new ArrayList<>(requests.size());
+                requests.forEach(item -> originalUrls.add(item == null ? null : item.originalUrl()));
+                List<BulkShortenResult> results = bulkShortenUrlUseCase.shortenAll(originalUrls, userId);
+
+                String baseUrl = baseUrl();
+                List<BulkShortenResponse> body = new ArrayList<>(results.size());
+                for (int i = 0; i < results.size(); i++) {
+                        body.add(BulkShortenResponse.from(i, results.get(i), baseUrl));
+                }
+                return ResponseEntity.ok(body);
+        }
+
+        @PostMapping(value = "/api/v1/urls/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+        @Operation(summary = "Shorten a stream of URLs", description = "Reads one {\"originalUrl\": ...} object per line (NDJSON) and streams one result per line, in request order, as each chunk is shortened. Blank lines are skipped. Past the configured maximum number of URLs, or if processing fails after results were sent, the stream ends with an error line and the remaining lines are not read.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "One NDJSON result line per input line", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = BulkShortenResponse.class))),
+                        @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content),
+                        @ApiResponse(responseCode = "429", description = "Rate limit exceeded", content = @Content)
+        })
+        public void shortenStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                if (!rateLimiter.isAllowed(request.getRemoteAddr())) {
+                        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                        return;
+                }
+                String userId = currentUserId();
+                if (userId == null) {
+                        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+                        return;
+                }
+
+                response.setStatus(HttpStatus.OK.value());
+                response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                String baseUrl = baseUrl();
+                int chunkSize = Math.max(1, Math.min(streamChunkSize, bulkShortenUrlUseCase.maxBatchSize()));
+                OutputStream out = response.getOutputStream();
+                BufferedReader reader = new BufferedReader(
+                                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+
+                List<String> chunk = new ArrayList<>(chunkSize);
+                Set<Integer> malformed = new HashSet<>();
+                int firstIndex = 0;
+                int count = 0;
+                boolean tooLarge = false;
+                try {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                                if (line.isBlank()) {
+                                        continue;
+                                }
+                                if (count == streamMaxSize) {
+                                        tooLarge = true;
+                                        break;
+                                }
+                                count++;
+                                BulkShortenRequest item = parseLine(line);
+                                if (item == null) {
+                                        malformed.add(chunk.size());
+                                }
+                                chunk.add(item == null ? null : item.originalUrl());
+                                if (chunk.size() == chunkSize) {
+                                        writeChunk(out, chunk, malformed, firstIndex, userId, baseUrl);
+                                        firstIndex += chunk.size();
+                                        chunk = new ArrayList<>(chunkSize);
+                                        malformed = new HashSet<>();
+                                }
+                        }
+                        if (!chunk.isEmpty()) {
+                                writeChunk(out, chunk, malformed, firstIndex, userId, baseUrl);
+                        }
+                } catch (IOException | RuntimeException e) {
+                        if (!response.isCommitted()) {
+                                throw e;
+                        }
+                        // Too late for an error status: end the stream with an error line instead
+                        log.error("Bulk NDJSON stream failed after {} results", firstIndex, e);
+                        try {
+                                writeError(out, firstIndex, STREAM_FAILED_ERROR, baseUrl);
+                        } catch (IOException writeFailure) {
+                                e.addSuppressed(writeFailure);
+                                throw e;
+                        }
+                        return;
+                }
+                if (tooLarge) {
+                        writeError(out, count, STREAM_TOO_LARGE_ERROR, baseUrl);
+                }
+        }
+
+        private BulkShortenRequest parseLine(String line) {
+                try {
+                        return objectMapper.readValue(line, BulkShortenRequest.class);
+                } catch (JsonProcessingException e) {
+                        return null;
+                }
+        }
+
+        private void writeChunk(OutputStream out, List<String> originalUrls, Set<Integer> malformed, int firstIndex,
+                        String userId, String baseUrl) throws IOException {
+                List<BulkShortenResult> results = bulkShortenUrlUseCase.shortenAll(originalUrls, userId);
+                for (int i = 0; i < results.size(); i++) {
+                        BulkShortenResult result = malformed.contains(i)
+                                        ? BulkShortenResult.failed(null, MALFORMED_LINE_ERROR)
+                                        : results.get(i);
+                        out.write(objectMapper.writeValueAsBytes(
+                                        BulkShortenResponse.from(firstIndex + i, result, baseUrl)));
+                        out.write('\n');
+                }
+                out.flush();
+        }
+
+        private void writeError(OutputStream out, int index, String error, String baseUrl) throws IOException {
+                out.write(objectMapper.writeValueAsBytes(
+                                BulkShortenResponse.from(index, BulkShortenResult.failed(null, error), baseUrl)));
+                out.write('\n');
+                out.flush();
+        }
+
+        private String baseUrl() {
+                return ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString();
+        }
+
+        private String currentUserId() {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                if (authentication == null || !authentication.isAuthenticated()
+                                || authentication instanceof AnonymousAuthenticationToken) {
+                        return null;
+                }
+                return userRepository.findByEmail(authentication.getName())
+                                .map(User::id)
+                                .orElse(null);
+        }
+}
@@ -0,0 +1,90 @@
+package com.example.urlshortener.infra.adapter.input.rest;
+
+import com.example.urlshortener.core.model.StatsGranularity;
+import com.example.urlshortener.core.model.User;
+import com.example.urlshortener.core.ports.incoming.GetLinkStatsUseCase;
+import com.example.urlshortener.core.ports.incoming.GetUniqueVisitorsUseCase;
+import com.example.urlshortener.core.ports.outgoing.UserRepositoryPort;
+import com.example.urlshortener.infra.adapter.input.rest.dto.LinkStatsResponse;
+import com.example.urlshortener.infra.adapter.input.rest.dto.UniqueVisitorsResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+@RestController
+@Tag(name = "Link Statistics", description = "Click statistics of the authenticated user's short URLs")
+public class LinkStatsController {
+
+        private final GetLinkStatsUseCase getLinkStatsUseCase;
+        private final GetUniqueVisitorsUseCase getUniqueVisitorsUseCase;
+        private final UserRepositoryPort userRepository;
+
+        public LinkStatsController(GetLinkStatsUseCase getLinkStatsUseCase,
+                        GetUniqueVisitorsUseCase getUniqueVisitorsUseCase,
+                        UserRepositoryPort userRepository) {
+                this.getLinkStatsUseCase = getLinkStatsUseCase;
+                this.getUniqueVisitorsUseCase = getUniqueVisitorsUseCase;
+                this.userRepository = userRepository;
+        }
+
+        @GetMapping("/api/v1/urls/{id}/stats")
+        @Operation(summary = "Get click statistics", description = "Returns click totals and a time series (hourly or daily, UTC) for a short URL owned by the caller. Counts are a few seconds behind at most.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Statistics of the short URL", content = @Content(schema = @Schema(implementation = LinkStatsResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid granularity or range", content = @Content),
+                        @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content),
+                        @ApiResponse(responseCode = "403", description = "Short URL owned by another user", content = @Content),
+                        @ApiResponse(responseCode = "404", description = "Short URL not found", content = @Content)
+        })
+        public ResponseEntity<LinkStatsResponse> getStats(
+                        @Parameter(description = "Short URL code", required = true, example = "vE1GpYK") @PathVariable String id,
+                        @Parameter(description = "Bucket size: HOUR or DAY") @RequestParam(defaultValue = "HOUR") StatsGranularity granularity,
+                        @Parameter(description = "Start of the range (ISO-8601), rounded down to a bucket") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                        @Parameter(description = "End of the range, exclusive (ISO-8601), rounded up to a bucket") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+                return ResponseEntity.ok(LinkStatsResponse.from(
+                                getLinkStatsUseCase.getStats(id, granularity, from, to, currentUserId())));
+        }
+
+        @GetMapping("/api/v1/urls/{id}/stats/visitors")
+        @Operation(summary = "Get unique visitors", description = "Returns the approximate number of unique visitors (distinct IP address and User-Agent, about 1% error) of a short URL owned by the caller, over the range and per UTC day.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Unique visitors of the short URL", content = @Content(schema = @Schema(implementation = UniqueVisitorsResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid range", content = @Content),
+                        @ApiResponse(responseCode = "401", description = "Authentication required", content = @Content),
+                        @ApiResponse(responseCode = "403", description = "Short URL owned by another user", content = @Content),
+                        @ApiResponse(responseCode = "404", description = "Short URL not found", content = @Content)
+        })
+        public ResponseEntity<UniqueVisitorsResponse> getUniqueVisitors(
+                        @Parameter(description = "Short URL code", required = true, example = "vE1GpYK") @PathVariable String id,
+                        @Parameter(description = "Start of the range (ISO-8601), rounded down to a day") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                        @Parameter(description = "End of the range, exclusive (ISO-8601), rounded up to a day") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+                return ResponseEntity.ok(UniqueVisitorsResponse.from(
+                                getUniqueVisitorsUseCase.getUniqueVisitors(id, from, to, currentUserId())));
+        }
+
+        private String currentUserId() {
+                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+                if (authentication == null || !authentication.isAuthenticated()
+                                || authentication instanceof AnonymousAuthenticationToken) {
+                        return null;
+                }
+                return userRepository.findByEmail(authentication.getName())
+                                .map(User::id)
+                                .orElse(null);
+        }
+}
@@ -108,11 +108,8 @@ public class UrlController {
                 long startTime = System.currentTimeMillis();
                 try {
                         String originalUrl = getUrlUseCase.getOriginalUrl(id);
-                        analyticsPort.track(new com.example.urlshortener.core.model.ClickEvent(
-                                        id,
-                                        java.time.LocalDateTime.now(),
-                                        request.getHeader("User-Agent"),
-                                        request.getRemoteAddr()));
+                        analyticsPort.track(id, System.currentTimeMillis(),
+                                        request.getHeader("User-Agent"), request.getRemoteAddr());
 
                         metricsService.recordRedirect();
                         return ResponseEntity.status(HttpStatus.FOUND).location(java.net.URI.create(originalUrl))
@@ -74,6 +74,20 @@ public class GlobalExceptionHandler {
                 return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         }
 
+        @ExceptionHandler(com.example.urlshortener.core.exception.LinkAccessDeniedException.class)
+        public ResponseEntity<ErrorResponse> handleLinkAccessDenied(
+                        com.example.urlshortener.core.exception.LinkAccessDeniedException ex) {
+                log.warn("Link access denied: {}", ex.getMessage());
+
+                ErrorResponse error = new ErrorResponse(
+                                HttpStatus.FORBIDDEN.value(),
+                                "Forbidden",
+                                ex.getMessage(),
+                                LocalDateTime.now());
+
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+
         @ExceptionHandler(MethodArgumentNotValidException.class)
         public ResponseEntity<ValidationErrorResponse> handleValidationErrors(MethodArgumentNotValidException ex) {
                 log.warn("Validation failed: {}", ex.getMessage());
@@ -0,0 +1,9 @@
+package com.example.urlshortener.infra.adapter.input.rest.dto;
+
+/**
+ * One URL of a bulk shorten: an element of the JSON array or one NDJSON
+ * line. Validated per URL by the service, so one bad entry does not reject
+ * the whole batch.
+ */
+public record BulkShortenRequest(String originalUrl) {
+}
@@ -0,0 +1,25 @@
+package com.example.urlshortener.infra.adapter.input.rest.dto;
+
+import com.example.urlshortener.core.model.BulkShortenResult;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result of one URL of a bulk shorten, at {@code index} in the request:
+ * {@code id} and {@code shortUrl} when created, {@code error} otherwise.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkShortenResponse(
+        int index,
+        String originalUrl,
+        String id,
+        String shortUrl,
+        String error) {
+
+    public static BulkShortenResponse from(int index, BulkShortenResult result, String baseUrl) {
+        if (!result.isCreated()) {
+            return new BulkShortenResponse(index, result.originalUrl(), null, null, result.error());
+        }
+        String id = result.shortUrl().id();
+        return new BulkShortenResponse(index, result.originalUrl(), id, baseUrl + "/" + id, null);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.urlshortener.infra.adapter.input.rest.dto;
+
+import com.example.urlshortener.core.model.ClickBreakdown;
+import com.example.urlshortener.core.model.LinkStats;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public record LinkStatsResponse(
+        String id,
+        String granularity,
+        Instant from,
+        Instant to,
+        Totals totals,
+        List<Bucket> series) {
+
+    public record Totals(long clicks, long bots, Map<String, Long> devices, Map<String, Long> browsers) {
+    }
+
+    public record Bucket(Instant start, long clicks, long bots, Map<String, Long> devices,
+            Map<String, Long> browsers) {
+    }
+
+    public static LinkStatsResponse from(LinkStats stats) {
+        ClickBreakdown totals = stats.totals();
+        return new LinkStatsResponse(
+                stats.shortCode(),
+                lowerCase(stats.granularity()),
+                stats.from(),
+                stats.to(),
+                new Totals(totals.clicks(), totals.bots(), byName(totals.devices()), byName(totals.browsers())),
+                stats.series().stream()
+                        .map(bucket -> new Bucket(bucket.start(), bucket.counts().clicks(), bucket.counts().bots(),
+                                byName(bucket.counts().devices()), byName(bucket.counts().browsers())))
+                        .toList());
+    }
+
+    private static Map<String, Long> byName(Map<? extends Enum<?>, Long> counts) {
+        Map<String, Long> byName = new LinkedHashMap<>();
+        counts.forEach((key, count) -> byName.put(lowerCase(key), count));
+        return byName;
+    }
+
+    private static String lowerCase(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
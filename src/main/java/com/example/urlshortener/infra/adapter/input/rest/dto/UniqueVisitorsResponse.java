@@ -0,0 +1,28 @@
+package com.example.urlshortener.infra.adapter.input.rest.dto;
+
+import com.example.urlshortener.core.model.UniqueVisitors;
+
+import java.time.Instant;
+import java.util.List;
+
+public record UniqueVisitorsResponse(
+        String id,
+        Instant from,
+        Instant to,
+        long uniqueVisitors,
+        List<Day> daily) {
+
+    public record Day(Instant day, long uniqueVisitors) {
+    }
+
+    public static UniqueVisitorsResponse from(UniqueVisitors visitors) {
+        return new UniqueVisitorsResponse(
+                visitors.shortCode(),
+                visitors.from(),
+                visitors.to(),
+                visitors.uniqueVisitors(),
+                visitors.daily().stream()
+                        .map(day -> new Day(day.day(), day.uniqueVisitors()))
+                        .toList());
+    }
+}
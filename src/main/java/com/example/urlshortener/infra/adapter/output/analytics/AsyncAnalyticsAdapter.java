@@ -2,34 +2,88 @@ package com.example.urlshortener.infra.adapter.output.analytics;
 
 import com.example.urlshortener.core.model.ClickEvent;
 import com.example.urlshortener.core.ports.outgoing.AnalyticsPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Hands clicks from the redirect threads to the {@link ClickBatchWorker}
+ * through a lock-free {@link ClickRingBuffer}: publishing copies four fields
+ * into a pre-allocated slot, with no allocation and no lock.
+ */
 @Component
 public class AsyncAnalyticsAdapter implements AnalyticsPort {
 
     private static final Logger log = LoggerFactory.getLogger(AsyncAnalyticsAdapter.class);
-    private final BlockingQueue<ClickEvent> eventQueue;
 
-    public AsyncAnalyticsAdapter() {
-        // Capacity of 100k events to handle bursts
-        this.eventQueue = new LinkedBlockingQueue<>(100_000);
+    // Log the first drop and then one line per this many, not one per event
+    private static final long DROP_LOG_INTERVAL = 1000;
+    // Publish latency is timed for 1 in 256 clicks, so the measurement stays off the hot path
+    private static final int PUBLISH_SAMPLE_MASK = 0xFF;
+
+    private final ClickRingBuffer ringBuffer;
+    private final Counter droppedCounter;
+    private final Timer publishTimer;
+
+    public AsyncAnalyticsAdapter(MeterRegistry meterRegistry,
+            @Value("${app.analytics.queue-capacity:100000}") int queueCapacity,
+            @Value("${app.analytics.user-agent-dictionary.max-size:4096}") int userAgentDictionarySize) {
+        // Bounded to absorb bursts without letting a slow sink exhaust the heap
+        UserAgentDictionary userAgents = new UserAgentDictionary(userAgentDictionarySize);
+        this.ringBuffer = new ClickRingBuffer(queueCapacity, userAgents);
+
+        Gauge.builder("analytics.queue.depth", ringBuffer, ClickRingBuffer::size)
+                .description("Click events waiting to be persisted")
+                .register(meterRegistry);
+        Gauge.builder("analytics.queue.remaining", ringBuffer, buffer -> buffer.capacity() - buffer.size())
+                .description("Free slots in the click ring buffer")
+                .register(meterRegistry);
+        Gauge.builder("analytics.user-agents.dictionary.size", userAgents, UserAgentDictionary::size)
+                .description("Distinct User-Agent values shared by queued clicks (approximate)")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("analytics.events.dropped.total")
+                .description("Click events dropped because the queue was full")
+                .register(meterRegistry);
+        this.publishTimer = Timer.builder("analytics.publish.latency")
+                .description("Time for a redirect thread to publish a click (sampled)")
+                .register(meterRegistry);
     }
 
     @Override
     public void track(ClickEvent event) {
-        // Fire-and-forget: Add to queue and return immediately
-        // Using offer() to avoid blocking the http thread if queue is full
-        if (!eventQueue.offer(event)) {
-            log.warn("Analytics queue full! Dropping event for ID: {}", event.shortCode());
+        track(event.shortCode(), event.timestampMillis(), event.userAgent(), event.ip());
+    }
+
+    @Override
+    public void track(String shortCode, long timestampMillis, String userAgent, String ip) {
+        // Fire-and-forget: publish and return immediately, never block the http thread
+        boolean sampled = (ThreadLocalRandom.current().nextInt() & PUBLISH_SAMPLE_MASK) == 0;
+        long startedAt = sampled ? System.nanoTime() : 0;
+
+        boolean published = ringBuffer.offer(shortCode, timestampMillis, userAgent, ip);
+
+        if (sampled) {
+            publishTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+        if (!published) {
+            droppedCounter.increment();
+            long dropped = (long) droppedCounter.count();
+            if (dropped % DROP_LOG_INTERVAL == 1) {
+                log.warn("Analytics queue full! Dropping events ({} dropped so far, last ID: {})",
+                        dropped, shortCode);
+            }
         }
     }
 
-    public BlockingQueue<ClickEvent> getQueue() {
-        return eventQueue;
+    ClickRingBuffer ringBuffer() {
+        return ringBuffer;
     }
 }
@@ -0,0 +1,50 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.example.urlshortener.core.model.LinkStats;
+import com.example.urlshortener.core.model.StatsGranularity;
+import com.example.urlshortener.core.ports.outgoing.LinkStatsCachePort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Local, short-TTL cache of link statistics responses, keyed by user, short
+ * code and normalized range. Hit rates are published as
+ * {@code analytics.link-stats} cache metrics.
+ */
+@Component
+public class CaffeineLinkStatsCache implements LinkStatsCachePort {
+
+    private final Cache<Key, LinkStats> cache;
+
+    public CaffeineLinkStatsCache(MeterRegistry meterRegistry,
+            @Value("${app.analytics.stats.cache.max-size:10000}") long maxSize,
+            @Value("${app.analytics.stats.cache.ttl:PT5S}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "analytics.link-stats");
+    }
+
+    @Override
+    public Optional<LinkStats> get(String userId, String id, StatsGranularity granularity, Instant from, Instant to) {
+        return Optional.ofNullable(cache.getIfPresent(new Key(userId, id, granularity, from, to)));
+    }
+
+    @Override
+    public void put(String userId, LinkStats stats) {
+        cache.put(new Key(userId, stats.shortCode(), stats.granularity(), stats.from(), stats.to()), stats);
+    }
+
+    private record Key(String userId, String id, StatsGranularity granularity, Instant from, Instant to) {
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.example.urlshortener.core.model.ClickCount;
+import com.example.urlshortener.core.model.UserAgentInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Counts clicks per (short code, hour, User-Agent class) between rollup
+ * flushes.
+ *
+ * An open-addressing table over parallel arrays with primitive hour and count
+ * columns: incrementing an existing counter allocates nothing, and a hot link
+ * costs one slot per hour and client class however many clicks it gets.
+ * Holds at most {@code maxKeys} counters, so a sink that stays down cannot
+ * grow it without bound: once full, existing counters keep counting and
+ * clicks for new ones are refused.
+ * Not thread-safe; owned by the {@link ClickBatchWorker} thread.
+ */
+final class ClickAggregator {
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    private static final int MIN_CAPACITY = 16;
+
+    private String[] codes;
+    private long[] hours;
+    private UserAgentInfo[] userAgents;
+    private long[] counts;
+    private final int maxKeys;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    ClickAggregator(int expectedKeys, int maxKeys) {
+        this.maxKeys = maxKeys;
+        allocate(tableSizeFor(Math.min(expectedKeys, maxKeys)));
+    }
+
+    /**
+     * @return false if the click needed a new counter and {@code maxKeys} are already held
+     */
+    boolean add(String shortCode, long timestampMillis, UserAgentInfo userAgent) {
+        return increment(shortCode, Math.floorDiv(timestampMillis, MILLIS_PER_HOUR), userAgent, 1,
+                size < maxKeys);
+    }
+
+    /**
+     * @return number of distinct (short code, hour, User-Agent class) counters held
+     */
+    int size() {
+        return size;
+    }
+
+    List<ClickCount> snapshot() {
+        List<ClickCount> snapshot = new ArrayList<>(size);
+        for (int slot = 0; slot < codes.length; slot++) {
+            if (codes[slot] != null) {
+                snapshot.add(new ClickCount(codes[slot], hours[slot], userAgents[slot], counts[slot]));
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Drops every counter, keeping the table so the next interval does not
+     * have to grow it again.
+     */
+    void clear() {
+        Arrays.fill(codes, null);
+        Arrays.fill(userAgents, null);
+        size = 0;
+    }
+
+    private boolean increment(String shortCode, long hour, UserAgentInfo userAgent, long delta,
+            boolean mayInsert) {
+        int slot = indexFor(shortCode, hour, userAgent);
+        while (true) {
+            String code = codes[slot];
+            if (code == null) {
+                if (!mayInsert) {
+                    return false;
+                }
+                codes[slot] = shortCode;
+                hours[slot] = hour;
+                userAgents[slot] = userAgent;
+                counts[slot] = delta;
+                if (++size > resizeThreshold) {
+                    grow();
+                }
+                return true;
+            }
+            if (hours[slot] == hour && userAgents[slot].equals(userAgent) && code.equals(shortCode)) {
+                counts[slot] += delta;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int indexFor(String shortCode, long hour, UserAgentInfo userAgent) {
+        int hash = (shortCode.hashCode() * 31 + Long.hashCode(hour)) * 31 + userAgent.hashCode();
+        // Spread the bits: hours of one code differ only in the low bits
+        hash *= 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void grow() {
+        String[] oldCodes = codes;
+        long[] oldHours = hours;
+        UserAgentInfo[] oldUserAgents = userAgents;
+        long[] oldCounts = counts;
+        allocate(oldCodes.length * 2);
+        for (int slot = 0; slot < oldCodes.length; slot++) {
+            if (oldCodes[slot] != null) {
+                increment(oldCodes[slot], oldHours[slot], oldUserAgents[slot], oldCounts[slot], true);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        codes = new String[capacity];
+        hours = new long[capacity];
+        userAgents = new UserAgentInfo[capacity];
+        counts = new long[capacity];
+        mask = capacity - 1;
+        size = 0;
+        // Half full at most, so probe sequences stay short
+        resizeThreshold = capacity / 2;
+    }
+
+    private static int tableSizeFor(int expectedKeys) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedKeys * 2 - 1)) << 1;
+        return Math.max(MIN_CAPACITY, capacity);
+    }
+}
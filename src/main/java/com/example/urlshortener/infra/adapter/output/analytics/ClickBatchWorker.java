@@ -1,46 +1,551 @@
 package com.example.urlshortener.infra.adapter.output.analytics;
 
+import com.example.urlshortener.core.exception.PartialRollupWriteException;
+import com.example.urlshortener.core.model.ClickCount;
 import com.example.urlshortener.core.model.ClickEvent;
+import com.example.urlshortener.core.model.DailyVisitors;
+import com.example.urlshortener.core.model.StatsGranularity;
+import com.example.urlshortener.core.model.UserAgentInfo;
+import com.example.urlshortener.core.ports.outgoing.ClickRepositoryPort;
+import com.example.urlshortener.core.ports.outgoing.ClickRollupRepositoryPort;
+import com.example.urlshortener.core.ports.outgoing.UniqueVisitorRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Continuously drains the click ring buffer into the {@link ClickRepositoryPort}.
+ *
+ * Batches adapt to the backlog: when the queue is shallow the worker waits up
+ * to {@code max-linger} to gather {@code min-size} events, when it is deep it
+ * takes up to {@code max-size} at once. A failed batch is retried with
+ * exponential backoff and is never discarded while the application runs.
+ * Delivery is at least once: a retry (or a spool replay) resends the whole
+ * batch, so events a partially failed write already stored are stored again.
+ *
+ * While the raw sink is down, batches go to the on-disk {@link ClickSpool}
+ * instead, so the ring buffer keeps draining and no click is dropped; the
+ * spool is replayed oldest first, at a backoff, until the sink takes writes
+ * again, and new batches join the spool until it is empty so events reach
+ * the sink in order. Only when the spool is disabled or full does the worker
+ * hold a failed batch and retry it in place, letting the ring buffer absorb
+ * new clicks in the meantime.
+ *
+ * Every click is also classified by its User-Agent ({@link UserAgentClassifier})
+ * and counted per short code, hour and client class in a
+ * {@link ClickAggregator}, flushed to the {@link ClickRollupRepositoryPort}
+ * every {@code flush-interval} (or sooner once {@code max-keys} counters are
+ * pending). The hourly and daily rollups are written separately: a failed
+ * flush keeps the counters for the next attempt, and only the writes (or,
+ * after a partial bulk write, the counts) that did not go through are
+ * retried, so no count is added to a rollup twice.
+ * While flushes keep failing the aggregator holds at most
+ * {@code max-pending-keys} counters; clicks for further counters are left
+ * out of the rollups and counted in {@code analytics.rollup.dropped.total}. With
+ * {@code raw-events.enabled=false} only the rollups are written. Until they
+ * are flushed, the counters are also readable per short code through
+ * {@link PendingClickCounts}, the live tail of the link statistics.
+ *
+ * Alongside, the distinct visitors (IP address and User-Agent) of each short
+ * code and day are collected in a {@link VisitorAggregator} and added to the
+ * {@link UniqueVisitorRepositoryPort} sketches at the same interval (or once
+ * {@code max-keys} are pending); adding a visitor twice is harmless, so a
+ * failed flush is simply retried with the next one.
+ *
+ * Every click also feeds the {@link HotLinkTracker}, whose top-k rankings
+ * the worker republishes about once a second.
+ */
 @Component
-public class ClickBatchWorker {
+public class ClickBatchWorker implements SmartLifecycle {
 
     private static final Logger log = LoggerFactory.getLogger(ClickBatchWorker.class);
+
+    private static final Duration IDLE_POLL_TIMEOUT = Duration.ofMillis(200);
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(100);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(5);
+    private static final int AGGREGATOR_INITIAL_KEYS = 1024;
+    // Spooled batches replayed per loop iteration, so new clicks keep flowing during catch-up
+    private static final int REPLAY_BATCHES_PER_ROUND = 10;
+
     private final AsyncAnalyticsAdapter analyticsAdapter;
+    private final ClickRepositoryPort clickRepository;
+    private final ClickRollupRepositoryPort rollupRepository;
+    private final UniqueVisitorRepositoryPort visitorRepository;
+    private final ClickSpool spool;
+    private final UserAgentClassifier userAgentClassifier;
+    private final PendingClickCounts pendingCounts;
+    private final HotLinkTracker hotLinks;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long maxLingerNanos;
+    private final boolean rawEventsEnabled;
+    private final long rollupFlushIntervalNanos;
+    private final int rollupMaxKeys;
+    private final boolean uniqueVisitorsEnabled;
+    private final ClickAggregator aggregator;
+
+    private final Counter persistedCounter;
+    private final Counter failuresCounter;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer writeTimer;
+    private final Counter rollupFailuresCounter;
+    private final Timer rollupFlushTimer;
+    private final Counter rollupDroppedCounter;
+    private final Counter visitorFailuresCounter;
+    private final Timer visitorFlushTimer;
+    private final Counter spooledCounter;
+    private final Counter replayedCounter;
 
-    // In a real scenario, we would inject a Repository to save these events
-    // private final ClickRepository clickRepository;
+    private final List<ClickEvent> batch = new ArrayList<>();
+    private final VisitorAggregator visitorAggregator = new VisitorAggregator(AGGREGATOR_INITIAL_KEYS);
+    private long lastRollupFlushNanos = System.nanoTime();
+    private boolean lastRollupFlushFailed;
+    // Counts taken out of the aggregator whose hourly or daily write is still due
+    private List<ClickCount> hourlyBacklog = List.of();
+    private List<ClickCount> dailyBacklog = List.of();
+    private boolean rollupOverflowLogged;
+    private boolean lastVisitorFlushFailed;
+    private long nextReplayNanos;
+    private long replayBackoffMillis = INITIAL_BACKOFF.toMillis();
+    private volatile boolean running;
+    private Thread workerThread;
 
-    public ClickBatchWorker(AsyncAnalyticsAdapter analyticsAdapter) {
+    public ClickBatchWorker(AsyncAnalyticsAdapter analyticsAdapter, ClickRepositoryPort clickRepository,
+            ClickRollupRepositoryPort rollupRepository, UniqueVisitorRepositoryPort visitorRepository,
+            ClickSpool spool,
+            UserAgentClassifier userAgentClassifier, PendingClickCounts pendingCounts, HotLinkTracker hotLinks,
+            MeterRegistry meterRegistry,
+            @Value("${app.analytics.batch.min-size:100}") int minBatchSize,
+            @Value("${app.analytics.batch.max-size:5000}") int maxBatchSize,
+            @Value("${app.analytics.batch.max-linger:PT0.2S}") Duration maxLinger,
+            @Value("${app.analytics.raw-events.enabled:true}") boolean rawEventsEnabled,
+            @Value("${app.analytics.rollup.flush-interval:PT10S}") Duration rollupFlushInterval,
+            @Value("${app.analytics.rollup.max-keys:100000}") int rollupMaxKeys,
+            @Value("${app.analytics.rollup.max-pending-keys:1000000}") int rollupMaxPendingKeys,
+            @Value("${app.analytics.unique-visitors.enabled:true}") boolean uniqueVisitorsEnabled) {
         this.analyticsAdapter = analyticsAdapter;
+        this.clickRepository = clickRepository;
+        this.rollupRepository = rollupRepository;
+        this.visitorRepository = visitorRepository;
+        this.spool = spool;
+        this.userAgentClassifier = userAgentClassifier;
+        this.pendingCounts = pendingCounts;
+        this.hotLinks = hotLinks;
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLingerNanos = maxLinger.toNanos();
+        this.rawEventsEnabled = rawEventsEnabled;
+        this.rollupFlushIntervalNanos = rollupFlushInterval.toNanos();
+        this.rollupMaxKeys = rollupMaxKeys;
+        this.uniqueVisitorsEnabled = uniqueVisitorsEnabled;
+        this.aggregator = new ClickAggregator(AGGREGATOR_INITIAL_KEYS, rollupMaxPendingKeys);
+
+        this.persistedCounter = Counter.builder("analytics.events.persisted.total")
+                .description("Click events written to the click repository")
+                .register(meterRegistry);
+        this.failuresCounter = Counter.builder("analytics.sink.failures.total")
+                .description("Failed click batch writes (retried)")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("analytics.batch.size")
+                .description("Click events per batch write")
+                .register(meterRegistry);
+        this.writeTimer = Timer.builder("analytics.batch.write")
+                .description("Time to write one click batch")
+                .register(meterRegistry);
+        this.rollupFailuresCounter = Counter.builder("analytics.rollup.failures.total")
+                .description("Failed click rollup flushes (counters kept for the next flush)")
+                .register(meterRegistry);
+        this.rollupFlushTimer = Timer.builder("analytics.rollup.flush")
+                .description("Time to flush the pending click rollup counters")
+                .register(meterRegistry);
+        this.rollupDroppedCounter = Counter.builder("analytics.rollup.dropped.total")
+                .description("Clicks left out of the rollups because max-pending-keys counters were pending")
+                .register(meterRegistry);
+        // Read from the metrics thread without synchronization; an approximate value is fine here
+        Gauge.builder("analytics.rollup.pending", aggregator, ClickAggregator::size)
+                .description("Click rollup counters waiting for the next flush")
+                .register(meterRegistry);
+        this.visitorFailuresCounter = Counter.builder("analytics.visitors.failures.total")
+                .description("Failed unique visitor flushes (visitors kept for the next flush)")
+                .register(meterRegistry);
+        this.visitorFlushTimer = Timer.builder("analytics.visitors.flush")
+                .description("Time to add the pending visitors to the unique visitor sketches")
+                .register(meterRegistry);
+        Gauge.builder("analytics.visitors.pending", visitorAggregator, VisitorAggregator::size)
+                .description("Distinct (short code, day, visitor) entries waiting for the next flush")
+                .register(meterRegistry);
+        this.spooledCounter = Counter.builder("analytics.spool.events.spooled.total")
+                .description("Click events written to the disk spool while the sink was down")
+                .register(meterRegistry);
+        this.replayedCounter = Counter.builder("analytics.spool.events.replayed.total")
+                .description("Spooled click events replayed into the click repository")
+                .register(meterRegistry);
+        Gauge.builder("analytics.spool.pending.bytes", spool, ClickSpool::pendingBytes)
+                .description("Bytes of spooled click events waiting to be replayed")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        workerThread = Thread.ofVirtual().name("click-batch-worker").start(this::runLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (workerThread != null) {
+            workerThread.interrupt();
+            try {
+                workerThread.join(MAX_BACKOFF.toMillis() * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (workerThread.isAlive()) {
+                log.error("Click batch worker did not stop in time; {} queued click events not flushed",
+                        analyticsAdapter.ringBuffer().size());
+                return;
+            }
+        }
+        // Flush the batch in hand and what is still queued; one attempt each,
+        // the sink may already be gone, in which case the events are spooled
+        // and replayed after the restart. Clicks keep being counted even if
+        // they cannot be stored raw, so the rollups still get them.
+        ClickRingBuffer ringBuffer = analyticsAdapter.ringBuffer();
+        boolean rawFlushFailed = false;
+        while (!batch.isEmpty() || !ringBuffer.isEmpty()) {
+            collect(ringBuffer, maxBatchSize - batch.size());
+            if (rawEventsEnabled && !rawFlushFailed
+                    && (spool.hasPending() || !tryWrite(batch))
+                    && spool(batch) < batch.size()) {
+                log.error("Failed to flush {} click events on shutdown; remaining raw events are discarded",
+                        batch.size() + ringBuffer.size());
+                rawFlushFailed = true;
+            }
+            batch.clear();
+        }
+        if (hasPendingRollups()) {
+            flushRollups();
+        }
+        if (visitorAggregator.size() > 0) {
+            flushVisitors();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                processBatch(IDLE_POLL_TIMEOUT);
+                replaySpool();
+                flushRollupsIfDue();
+                hotLinks.publishIfDue(System.currentTimeMillis());
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in click batch worker", e);
+            }
+        }
     }
 
-    // Run every 5 seconds
-    @Scheduled(fixedRate = 5000)
-    public void processBatch() {
-        BlockingQueue<ClickEvent> queue = analyticsAdapter.getQueue();
-        if (queue.isEmpty()) {
+    /**
+     * Collects one batch (waiting up to {@code idleTimeout} for the first
+     * event), counts it and, when raw events are enabled, writes or spools it.
+     *
+     * @return number of events processed
+     */
+    int processBatch(Duration idleTimeout) throws InterruptedException {
+        ClickRingBuffer ringBuffer = analyticsAdapter.ringBuffer();
+        if (!ringBuffer.awaitEvents(idleTimeout.toNanos())) {
+            return 0;
+        }
+
+        int target = batchSizeFor(ringBuffer.size());
+        collect(ringBuffer, target);
+        // Shallow queue: linger briefly so low traffic still produces real batches
+        long deadline = System.nanoTime() + maxLingerNanos;
+        while (rawEventsEnabled && batch.size() < minBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !ringBuffer.awaitEvents(remaining)) {
+                break;
+            }
+            collect(ringBuffer, target - batch.size());
+        }
+
+        if (rawEventsEnabled) {
+            writeOrSpool(batch);
+        }
+        int processed = batch.size();
+        batch.clear();
+        return processed;
+    }
+
+    int batchSizeFor(int depth) {
+        return Math.max(minBatchSize, Math.min(maxBatchSize, depth));
+    }
+
+    /**
+     * Flushes the pending rollup counters and visitors once the flush
+     * interval has passed, or earlier when {@code max-keys} of either are
+     * pending (unless its last flush failed, so a failing sink is not retried
+     * on every batch).
+     */
+    void flushRollupsIfDue() {
+        if (!hasPendingRollups() && visitorAggregator.size() == 0) {
             return;
         }
+        long now = System.nanoTime();
+        boolean intervalElapsed = now - lastRollupFlushNanos >= rollupFlushIntervalNanos;
+        boolean full = (aggregator.size() >= rollupMaxKeys && !lastRollupFlushFailed)
+                || (visitorAggregator.size() >= rollupMaxKeys && !lastVisitorFlushFailed);
+        if (intervalElapsed || full) {
+            lastRollupFlushNanos = now;
+            if (hasPendingRollups()) {
+                flushRollups();
+            }
+            if (visitorAggregator.size() > 0) {
+                flushVisitors();
+            }
+        }
+    }
 
-        List<ClickEvent> batch = new ArrayList<>();
-        queue.drainTo(batch, 1000); // Drain up to 1000 events
+    private boolean hasPendingRollups() {
+        return aggregator.size() > 0 || !hourlyBacklog.isEmpty() || !dailyBacklog.isEmpty();
+    }
 
-        if (!batch.isEmpty()) {
-            log.info("Processing batch of {} click events...", batch.size());
-            // Here we would do a batch insert into MongoDB
-            // clickRepository.saveAll(batch);
+    /**
+     * Writes the pending counters, one call per granularity: first the
+     * hourly and daily writes left over from a failed flush, then, once none
+     * is left, the hourly and daily writes of the current counters. Whatever
+     * was not written is kept, per granularity: when a write applies only
+     * part of its counts ({@link PartialRollupWriteException}), only the
+     * rest is retried, so no count is added to a rollup twice.
+     *
+     * @return true if the counters were written
+     */
+    boolean flushRollups() {
+        RuntimeException failure = null;
+        try {
+            if (rollupFlushTimer.record(this::writeRollups)) {
+                lastRollupFlushFailed = false;
+                rollupOverflowLogged = false;
+                return true;
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+        rollupFailuresCounter.increment();
+        lastRollupFlushFailed = true;
+        log.warn("Failed to flush click rollups, keeping {} counters, {} hourly and {} daily for the next flush",
+                aggregator.size(), hourlyBacklog.size(), dailyBacklog.size(), failure);
+        return false;
+    }
 
-            // For now, just log to simulate processing
-            batch.forEach(e -> log.debug("Processed click for {}", e.shortCode()));
+    /**
+     * @return false if some counts were left in the backlogs
+     */
+    private boolean writeRollups() {
+        if (!hourlyBacklog.isEmpty()) {
+            hourlyBacklog = increment(StatsGranularity.HOUR, hourlyBacklog);
+        }
+        if (!dailyBacklog.isEmpty()) {
+            writeDaily(dailyBacklog);
+        }
+        if (hourlyBacklog.isEmpty() && dailyBacklog.isEmpty() && aggregator.size() > 0) {
+            List<ClickCount> counts = aggregator.snapshot();
+            // Throws if nothing was written, leaving the counters in the aggregator
+            hourlyBacklog = increment(StatsGranularity.HOUR, counts);
+            aggregator.clear();
+            writeDaily(counts);
         }
+        return hourlyBacklog.isEmpty() && dailyBacklog.isEmpty();
+    }
+
+    private void writeDaily(List<ClickCount> counts) {
+        // Stays the backlog if the write throws
+        dailyBacklog = counts;
+        dailyBacklog = increment(StatsGranularity.DAY, counts);
+        // Off the live tail only now: until then the daily view still needs them
+        pendingCounts.subtract(dailyBacklog.isEmpty() ? counts : without(counts, dailyBacklog));
+    }
+
+    /**
+     * @return the counts left unwritten by a partial write, empty if all were written
+     */
+    private List<ClickCount> increment(StatsGranularity granularity, List<ClickCount> counts) {
+        try {
+            rollupRepository.incrementAll(granularity, counts);
+            return List.of();
+        } catch (PartialRollupWriteException e) {
+            return e.unwritten();
+        }
+    }
+
+    private static List<ClickCount> without(List<ClickCount> counts, List<ClickCount> removed) {
+        Set<ClickCount> skipped = new HashSet<>(removed);
+        return counts.stream().filter(count -> !skipped.contains(count)).toList();
+    }
+
+    /**
+     * Adds the pending visitors to the sketches in one call; on failure they
+     * are kept for the next flush.
+     *
+     * @return true if the visitors were written
+     */
+    boolean flushVisitors() {
+        List<DailyVisitors> visitors = visitorAggregator.snapshot();
+        try {
+            visitorFlushTimer.record(() -> visitorRepository.addAll(visitors));
+            visitorAggregator.clear();
+            lastVisitorFlushFailed = false;
+            return true;
+        } catch (RuntimeException e) {
+            visitorFailuresCounter.increment();
+            lastVisitorFlushFailed = true;
+            log.warn("Failed to flush {} unique visitor entries, keeping them for the next flush",
+                    visitorAggregator.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Replays spooled events oldest first, a few batches per call; while the
+     * sink still fails, attempts back off exponentially.
+     *
+     * @return number of events replayed
+     */
+    int replaySpool() {
+        if (!spool.hasPending() || System.nanoTime() - nextReplayNanos < 0) {
+            return 0;
+        }
+        int replayed = 0;
+        for (int round = 0; round < REPLAY_BATCHES_PER_ROUND && spool.hasPending(); round++) {
+            List<ClickEvent> events = spool.peek(maxBatchSize);
+            try {
+                write(events);
+            } catch (RuntimeException e) {
+                failuresCounter.increment();
+                log.warn("Failed to replay {} spooled click events, retrying in {} ms ({} bytes spooled)",
+                        events.size(), replayBackoffMillis, spool.pendingBytes(), e);
+                nextReplayNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(replayBackoffMillis);
+                replayBackoffMillis = Math.min(replayBackoffMillis * 2, MAX_BACKOFF.toMillis());
+                return replayed;
+            }
+            spool.commit();
+            replayedCounter.increment(events.size());
+            replayed += events.size();
+        }
+        replayBackoffMillis = INITIAL_BACKOFF.toMillis();
+        return replayed;
+    }
+
+    /**
+     * Writes the batch, unless the sink fails or older events are still
+     * spooled, in which case it is spooled behind them. Whatever the spool
+     * cannot take is held and retried in place.
+     */
+    private void writeOrSpool(List<ClickEvent> events) throws InterruptedException {
+        if (!spool.hasPending() && tryWrite(events)) {
+            return;
+        }
+        int spooled = spool(events);
+        if (spooled < events.size()) {
+            // Spool disabled or full; kept in hand on interruption, so stop() can still flush it
+            events.subList(0, spooled).clear();
+            writeWithRetry(events);
+        }
+    }
+
+    private boolean tryWrite(List<ClickEvent> events) {
+        try {
+            write(events);
+            return true;
+        } catch (RuntimeException e) {
+            failuresCounter.increment();
+            log.warn("Failed to write batch of {} click events ({} queued)",
+                    events.size(), analyticsAdapter.ringBuffer().size(), e);
+            return false;
+        }
+    }
+
+    private int spool(List<ClickEvent> events) {
+        int spooled = spool.append(events);
+        spooledCounter.increment(spooled);
+        return spooled;
+    }
+
+    /**
+     * Moves up to {@code maxEvents} clicks into the batch, classifies and
+     * counts them, collects their visitors and feeds the hot link tracker.
+     */
+    private void collect(ClickRingBuffer ringBuffer, int maxEvents) {
+        int from = batch.size();
+        ringBuffer.drainTo(batch, maxEvents);
+        long now = System.currentTimeMillis();
+        for (int i = from; i < batch.size(); i++) {
+            ClickEvent event = batch.get(i);
+            UserAgentInfo userAgent = userAgentClassifier.classify(event.userAgent());
+            if (aggregator.add(event.shortCode(), event.timestampMillis(), userAgent)) {
+                pendingCounts.add(event.shortCode(), event.timestampMillis(), userAgent);
+            } else {
+                rollupDroppedCounter.increment();
+                if (!rollupOverflowLogged) {
+                    rollupOverflowLogged = true;
+                    log.warn("{} click rollup counters pending, leaving new ones out until the next flush",
+                            aggregator.size());
+                }
+            }
+            hotLinks.record(event.shortCode(), now);
+            if (uniqueVisitorsEnabled) {
+                visitorAggregator.add(event.shortCode(), event.timestampMillis(), event.ip(), event.userAgent());
+            }
+        }
+    }
+
+    private void writeWithRetry(List<ClickEvent> events) throws InterruptedException {
+        long backoffMillis = INITIAL_BACKOFF.toMillis();
+        while (true) {
+            try {
+                write(events);
+                return;
+            } catch (RuntimeException e) {
+                failuresCounter.increment();
+                log.warn("Failed to write batch of {} click events, retrying in {} ms ({} queued)",
+                        events.size(), backoffMillis, analyticsAdapter.ringBuffer().size(), e);
+                if (!running) {
+                    throw new InterruptedException("Worker stopping");
+                }
+                Thread.sleep(backoffMillis);
+                backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF.toMillis());
+            }
+        }
+    }
+
+    private void write(List<ClickEvent> events) {
+        // The batch list is reused once this returns, so the sink gets its own copy
+        List<ClickEvent> snapshot = List.copyOf(events);
+        writeTimer.record(() -> clickRepository.saveAll(snapshot));
+        persistedCounter.increment(events.size());
+        batchSizeSummary.record(events.size());
     }
 }
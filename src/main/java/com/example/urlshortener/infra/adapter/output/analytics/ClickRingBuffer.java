@@ -0,0 +1,265 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.example.urlshortener.core.model.ClickEvent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded multi-producer / single-consumer ring buffer of pre-allocated,
+ * mutable click slots (Disruptor style).
+ *
+ * A producer claims a sequence with one CAS on the tail, writes the slot
+ * fields and publishes the sequence with a release store; nothing is
+ * allocated and no lock is taken. When the buffer is full the click is
+ * rejected instead of waiting. The single consumer reads published slots in
+ * sequence order, stopping at the first one still being written, and frees
+ * them by advancing the head.
+ *
+ * Slots are compact: the User-Agent is the {@link UserAgentDictionary}'s shared
+ * instance and an IPv4 address is packed into a long, so a queued click does
+ * not keep the request's header strings alive. Values that do not encode
+ * (User-Agents not in the dictionary, IPv6, ...) are kept as they are.
+ */
+final class ClickRingBuffer {
+
+    private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long MAX_PARK_NANOS = 1_000_000;
+    private static final long NO_IPV4 = -1;
+
+    private final Slot[] slots;
+    // published[i] holds the sequence last published into slot i
+    private final long[] published;
+    private final int mask;
+    private final UserAgentDictionary userAgents;
+
+    private final Sequence tail = new Sequence(); // next sequence to claim
+    private final Sequence head = new Sequence(); // next sequence to consume
+
+    /**
+     * @param requestedCapacity rounded up to the next power of two
+     */
+    ClickRingBuffer(int requestedCapacity, UserAgentDictionary userAgents) {
+        if (requestedCapacity <= 0 || requestedCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid ring buffer capacity: " + requestedCapacity);
+        }
+        int capacity = requestedCapacity == 1 ? 1 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.slots = new Slot[capacity];
+        this.published = new long[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+            published[i] = -1;
+        }
+        this.mask = capacity - 1;
+        this.userAgents = userAgents;
+    }
+
+    /**
+     * Publishes a click. Safe to call from any number of threads.
+     *
+     * @return false if the buffer is full (the click is not recorded)
+     */
+    boolean offer(String shortCode, long timestampMillis, String userAgent, String ip) {
+        // Encode before claiming, so the claimed slot is published as soon as possible
+        String sharedUserAgent = userAgents.canonical(userAgent);
+        long ipv4 = parseIpv4(ip);
+
+        long sequence;
+        do {
+            sequence = tail.getVolatile();
+            if (sequence - head.getVolatile() >= slots.length) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        int index = (int) sequence & mask;
+        Slot slot = slots[index];
+        slot.shortCode = shortCode;
+        slot.timestampMillis = timestampMillis;
+        slot.userAgent = sharedUserAgent;
+        slot.ipv4 = ipv4;
+        slot.ip = ipv4 == NO_IPV4 ? ip : null;
+        PUBLISHED.setRelease(published, index, sequence);
+        return true;
+    }
+
+    /**
+     * Moves up to {@code maxEvents} published clicks into {@code target}, in
+     * sequence order. Single consumer only.
+     *
+     * @return number of clicks moved
+     */
+    int drainTo(List<ClickEvent> target, int maxEvents) {
+        long first = head.getOpaque();
+        int drained = 0;
+        while (drained < maxEvents) {
+            long sequence = first + drained;
+            int index = (int) sequence & mask;
+            if ((long) PUBLISHED.getAcquire(published, index) != sequence) {
+                break;
+            }
+            Slot slot = slots[index];
+            target.add(toEvent(slot));
+            slot.clear();
+            drained++;
+        }
+        if (drained > 0) {
+            head.setRelease(first + drained);
+        }
+        return drained;
+    }
+
+    /**
+     * Waits (spinning briefly, then parking) until a click is published.
+     * Producers never signal, so an idle consumer re-checks at most every
+     * millisecond.
+     *
+     * @return false if none was published within the timeout
+     */
+    boolean awaitEvents(long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        int spins = 0;
+        while (isEmpty()) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            if (spins < SPINS_BEFORE_PARK) {
+                spins++;
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(Math.min(remaining, MAX_PARK_NANOS));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the next click in sequence has not been published yet
+     */
+    boolean isEmpty() {
+        long next = head.getOpaque();
+        return (long) PUBLISHED.getAcquire(published, (int) next & mask) != next;
+    }
+
+    /**
+     * @return clicks claimed but not yet consumed (approximate under concurrency)
+     */
+    int size() {
+        return (int) Math.max(0, tail.getVolatile() - head.getVolatile());
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    private ClickEvent toEvent(Slot slot) {
+        String ip = slot.ipv4 == NO_IPV4 ? slot.ip : formatIpv4(slot.ipv4);
+        return new ClickEvent(slot.shortCode, slot.timestampMillis, slot.userAgent, ip);
+    }
+
+    /**
+     * Parses a dotted-quad IPv4 address without allocating.
+     *
+     * @return the address as an unsigned 32-bit value, or {@link #NO_IPV4}
+     */
+    static long parseIpv4(String ip) {
+        if (ip == null || ip.isEmpty() || ip.length() > 15) {
+            return NO_IPV4;
+        }
+        long address = 0;
+        int octet = -1;
+        int dots = 0;
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if (c == '.') {
+                if (octet < 0 || ++dots > 3) {
+                    return NO_IPV4;
+                }
+                address = (address << 8) | octet;
+                octet = -1;
+            } else if (c >= '0' && c <= '9') {
+                octet = (octet < 0 ? 0 : octet * 10) + (c - '0');
+                if (octet > 255) {
+                    return NO_IPV4;
+                }
+            } else {
+                return NO_IPV4;
+            }
+        }
+        if (octet < 0 || dots != 3) {
+            return NO_IPV4;
+        }
+        return (address << 8) | octet;
+    }
+
+    static String formatIpv4(long address) {
+        return ((address >>> 24) & 0xFF) + "." + ((address >>> 16) & 0xFF) + "."
+                + ((address >>> 8) & 0xFF) + "." + (address & 0xFF);
+    }
+
+    private static final class Slot {
+        String shortCode;
+        long timestampMillis;
+        // Shared dictionary instance when there is one
+        String userAgent;
+        // Packed IPv4 address, or NO_IPV4 with the raw value in ip
+        long ipv4;
+        String ip;
+
+        void clear() {
+            shortCode = null;
+            userAgent = null;
+            ip = null;
+        }
+    }
+
+    // Cache-line padding around the sequence value, so the producers' tail and
+    // the consumer's head do not false-share (superclass fields are laid out first)
+    @SuppressWarnings("unused")
+    private abstract static class LeftPadding {
+        long p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    @SuppressWarnings("unused")
+    private abstract static class SequenceValue extends LeftPadding {
+        volatile long value;
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Sequence extends SequenceValue {
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        long p11, p12, p13, p14, p15, p16, p17;
+
+        long getVolatile() {
+            return value;
+        }
+
+        long getOpaque() {
+            return (long) VALUE.getOpaque(this);
+        }
+
+        void setRelease(long newValue) {
+            VALUE.setRelease(this, newValue);
+        }
+
+        boolean compareAndSet(long expected, long newValue) {
+            return VALUE.compareAndSet(this, expected, newValue);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.example.urlshortener.core.model.ClickEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, memory-mapped overflow log for click events the raw sink could
+ * not take.
+ *
+ * Events go into fixed-size segment files ({@code clicks-<seq>.seg}) mapped
+ * off-heap, so a long outage costs disk, not heap. Segments are replayed
+ * oldest first; each segment header keeps its replay offset, so a restart
+ * resumes where the last replay stopped, and a segment is deleted as soon as
+ * it has been fully replayed. Disk use is capped at {@code max-size}: past
+ * that {@link #append} takes no more events.
+ *
+ * Record layout: int payload length, then the short code, epoch millis, user
+ * agent and IP (strings as int length + UTF-8, -1 for null; an IPv4 address
+ * as -2 followed by its packed int). A zero length
+ * marks the end of the written part of a segment; the length is written after
+ * the payload, so a crash mid-record leaves the record invisible.
+ *
+ * Not thread-safe: used only from the {@link ClickBatchWorker} thread.
+ */
+@Component
+public class ClickSpool {
+
+    private static final Logger log = LoggerFactory.getLogger(ClickSpool.class);
+
+    private static final String SEGMENT_PREFIX = "clicks-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    // Header: replay offset (int), padded to 8 bytes
+    private static final int HEADER_SIZE = 8;
+    private static final int READ_OFFSET_POSITION = 0;
+    private static final int NULL_STRING = -1;
+    private static final int PACKED_IPV4 = -2;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private boolean enabled;
+    private long nextSequence;
+    private long pendingBytes;
+
+    // Set by peek(), applied by commit()
+    private Segment peekedSegment;
+    private int peekedEnd;
+
+    public ClickSpool(@Value("${app.analytics.spool.enabled:true}") boolean enabled,
+            @Value("${app.analytics.spool.directory:${java.io.tmpdir}/url-shortener/click-spool}") String directory,
+            @Value("${app.analytics.spool.segment-size:16MB}") DataSize segmentSize,
+            @Value("${app.analytics.spool.max-size:1GB}") DataSize maxSize) {
+        this.directory = Path.of(directory);
+        this.segmentSize = (int) Math.min(segmentSize.toBytes(), Integer.MAX_VALUE);
+        this.maxSegments = (int) Math.max(1, maxSize.toBytes() / this.segmentSize);
+        this.enabled = enabled && recover();
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    boolean hasPending() {
+        return pendingBytes > 0;
+    }
+
+    /**
+     * @return bytes of spooled events not replayed yet
+     */
+    long pendingBytes() {
+        return pendingBytes;
+    }
+
+    /**
+     * Appends events in order until the disk budget runs out, then flushes the
+     * mapped pages to disk.
+     *
+     * @return how many events (a prefix of {@code events}) were spooled
+     */
+    int append(List<ClickEvent> events) {
+        if (!enabled || events.isEmpty()) {
+            return 0;
+        }
+        int appended = 0;
+        try {
+            for (ClickEvent event : events) {
+                if (!appendRecord(event)) {
+                    break;
+                }
+                appended++;
+            }
+        } catch (IOException e) {
+            log.error("Failed to create click spool segment in {}", directory, e);
+        }
+        if (appended > 0) {
+            segments.getLast().buffer.force();
+        }
+        return appended;
+    }
+
+    /**
+     * Reads up to {@code maxEvents} of the oldest spooled events without
+     * consuming them; {@link #commit()} consumes them once they are written.
+     */
+    List<ClickEvent> peek(int maxEvents) {
+        List<ClickEvent> events = new ArrayList<>();
+        Segment head = segments.peekFirst();
+        if (head == null) {
+            return events;
+        }
+        int offset = head.readOffset;
+        while (events.size() < maxEvents && offset < head.writeOffset) {
+            int length = head.buffer.getInt(offset);
+            ByteBuffer record = head.buffer.duplicate().position(offset + Integer.BYTES);
+            String shortCode = readString(record);
+            long timestampMillis = record.getLong();
+            String userAgent = readString(record);
+            String ip = readIp(record);
+            events.add(new ClickEvent(shortCode, timestampMillis, userAgent, ip));
+            offset += Integer.BYTES + length;
+        }
+        peekedSegment = head;
+        peekedEnd = offset;
+        return events;
+    }
+
+    /**
+     * Marks the events returned by the last {@link #peek(int)} as replayed,
+     * deleting their segment once nothing in it is left to replay.
+     */
+    void commit() {
+        Segment segment = peekedSegment;
+        if (segment == null) {
+            return;
+        }
+        peekedSegment = null;
+        pendingBytes -= peekedEnd - segment.readOffset;
+        segment.readOffset = peekedEnd;
+        segment.buffer.putInt(READ_OFFSET_POSITION, peekedEnd);
+        if (segment.readOffset == segment.writeOffset) {
+            segments.remove(segment);
+            delete(segment);
+        }
+    }
+
+    private boolean appendRecord(ClickEvent event) throws IOException {
+        byte[] shortCode = utf8(event.shortCode());
+        byte[] userAgent = utf8(event.userAgent());
+        long ipv4 = ClickRingBuffer.parseIpv4(event.ip());
+        byte[] ip = ipv4 < 0 ? utf8(event.ip()) : null;
+        int ipSize = ipv4 < 0 ? stringSize(ip) : Integer.BYTES * 2;
+        int length = stringSize(shortCode) + Long.BYTES + stringSize(userAgent) + ipSize;
+        int recordSize = Integer.BYTES + length;
+        if (HEADER_SIZE + recordSize > segmentSize) {
+            log.warn("Click event for {} does not fit in a spool segment, not spooled", event.shortCode());
+            return false;
+        }
+
+        Segment tail = segments.peekLast();
+        if (tail == null || tail.writeOffset + recordSize > segmentSize) {
+            if (segments.size() >= maxSegments) {
+                return false;
+            }
+            if (tail != null) {
+                tail.buffer.force();
+            }
+            tail = createSegment();
+        }
+
+        int offset = tail.writeOffset;
+        ByteBuffer record = tail.buffer.duplicate().position(offset + Integer.BYTES);
+        writeString(record, shortCode);
+        record.putLong(event.timestampMillis());
+        writeString(record, userAgent);
+        if (ipv4 < 0) {
+            writeString(record, ip);
+        } else {
+            record.putInt(PACKED_IPV4).putInt((int) ipv4);
+        }
+        // Length last: until it is set the record reads as end of segment
+        tail.buffer.putInt(offset, length);
+        tail.writeOffset = offset + recordSize;
+        pendingBytes += recordSize;
+        return true;
+    }
+
+    private Segment createSegment() throws IOException {
+        Segment segment = openSegment(nextSequence++);
+        segment.readOffset = HEADER_SIZE;
+        segment.writeOffset = HEADER_SIZE;
+        segment.buffer.putInt(READ_OFFSET_POSITION, HEADER_SIZE);
+        segments.addLast(segment);
+        return segment;
+    }
+
+    /**
+     * Reopens the segments left by a previous run, so events spooled before a
+     * restart are still replayed.
+     *
+     * @return false if the spool directory cannot be used (spooling disabled)
+     */
+    private boolean recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Long> sequences;
+            try (Stream<Path> files = Files.list(directory)) {
+                sequences = files.map(path -> path.getFileName().toString())
+                        .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                        .map(name -> Long.parseLong(
+                                name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                        .sorted()
+                        .toList();
+            }
+            for (long sequence : sequences) {
+                Segment segment = openSegment(sequence);
+                segment.readOffset = Math.max(HEADER_SIZE, segment.buffer.getInt(READ_OFFSET_POSITION));
+                segment.writeOffset = endOfRecords(segment);
+                nextSequence = sequence + 1;
+                if (segment.readOffset >= segment.writeOffset) {
+                    delete(segment);
+                    continue;
+                }
+                segments.addLast(segment);
+                pendingBytes += segment.writeOffset - segment.readOffset;
+            }
+            if (pendingBytes > 0) {
+                log.info("Recovered {} bytes of spooled click events in {} segments", pendingBytes, segments.size());
+            }
+            return true;
+        } catch (IOException | NumberFormatException e) {
+            log.error("Click spool directory {} is unusable; click events will not be spooled", directory, e);
+            return false;
+        }
+    }
+
+    private int endOfRecords(Segment segment) {
+        int offset = segment.readOffset;
+        while (offset + Integer.BYTES <= segmentSize) {
+            int length = segment.buffer.getInt(offset);
+            if (length <= 0 || offset + Integer.BYTES + length > segmentSize) {
+                break;
+            }
+            offset += Integer.BYTES + length;
+        }
+        return offset;
+    }
+
+    private Segment openSegment(long sequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping outlives the channel and grows a new file to the segment size
+            return new Segment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        }
+    }
+
+    private void delete(Segment segment) {
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            log.warn("Failed to delete replayed click spool segment {}", segment.path, e);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringSize(byte[] value) {
+        return Integer.BYTES + (value == null ? 0 : value.length);
+    }
+
+    private static void writeString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(NULL_STRING);
+            return;
+        }
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+
+    private static String readIp(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == PACKED_IPV4) {
+            return ClickRingBuffer.formatIpv4(Integer.toUnsignedLong(buffer.getInt()));
+        }
+        return readString(buffer, length);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        return readString(buffer, buffer.getInt());
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Segment {
+        final Path path;
+        final MappedByteBuffer buffer;
+        int readOffset;
+        int writeOffset;
+
+        Segment(Path path, MappedByteBuffer buffer) {
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+}
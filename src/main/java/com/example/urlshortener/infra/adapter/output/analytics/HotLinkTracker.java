@@ -0,0 +1,314 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.example.urlshortener.core.model.HotLink;
+import com.example.urlshortener.core.model.HotLinkWindow;
+import com.example.urlshortener.core.ports.outgoing.HotLinksPort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tracks the most clicked short codes over the {@link HotLinkWindow}s, fed
+ * by the {@link ClickBatchWorker} with every click it drains.
+ *
+ * Each window is a ring of time slices (6 x 10s for the last minute, 12 x 5min
+ * for the last hour); the oldest slice is cleared as the window slides. A
+ * slice holds a Count-Min Sketch, which estimates any code's clicks in
+ * fixed memory, and a min-heap of the codes with the highest estimates, the
+ * candidates for the top-k. A window's ranking sums the sketch estimates of
+ * all its slices for the union of their candidates, so counts are upper
+ * bounds off by at most a fraction of a percent of the window's clicks.
+ *
+ * Updates come from the worker thread only; rankings are recomputed by that
+ * thread every {@code publish-interval} and published as immutable lists,
+ * so readers never wait.
+ */
+@Component
+public class HotLinkTracker implements HotLinksPort {
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 2048;
+
+    private final int topK;
+    private final long publishIntervalMillis;
+    private final Map<HotLinkWindow, SlidingWindow> windows = new EnumMap<>(HotLinkWindow.class);
+    private volatile Map<HotLinkWindow, List<HotLink>> published;
+    private long lastPublishMillis;
+
+    public HotLinkTracker(@Value("${app.analytics.hot-links.top-k:100}") int topK,
+            @Value("${app.analytics.hot-links.publish-interval:PT1S}") Duration publishInterval) {
+        this.topK = topK;
+        this.publishIntervalMillis = publishInterval.toMillis();
+        // A few times k candidates per slice, so links near the cut still make it into the union
+        int candidates = Math.max(64, topK * 4);
+        windows.put(HotLinkWindow.LAST_MINUTE, new SlidingWindow(Duration.ofSeconds(10), 6, candidates));
+        windows.put(HotLinkWindow.LAST_HOUR, new SlidingWindow(Duration.ofMinutes(5), 12, candidates));
+        Map<HotLinkWindow, List<HotLink>> empty = new EnumMap<>(HotLinkWindow.class);
+        windows.keySet().forEach(window -> empty.put(window, List.of()));
+        this.published = empty;
+    }
+
+    @Override
+    public List<HotLink> topLinks(HotLinkWindow window) {
+        return published.get(window);
+    }
+
+    /**
+     * Counts one click. Worker thread only.
+     */
+    void record(String shortCode, long nowMillis) {
+        long hash = hash(shortCode);
+        for (SlidingWindow window : windows.values()) {
+            window.record(shortCode, hash, nowMillis);
+        }
+    }
+
+    /**
+     * Slides the windows and republishes the rankings once the publish
+     * interval has passed. Worker thread only; called even without clicks so
+     * idle windows drain.
+     */
+    void publishIfDue(long nowMillis) {
+        if (nowMillis - lastPublishMillis < publishIntervalMillis) {
+            return;
+        }
+        lastPublishMillis = nowMillis;
+        Map<HotLinkWindow, List<HotLink>> rankings = new EnumMap<>(HotLinkWindow.class);
+        windows.forEach((window, slices) -> rankings.put(window, slices.top(topK, nowMillis)));
+        published = rankings;
+    }
+
+    /**
+     * Murmur3 64-bit finalizer over the (cached) String hash code.
+     */
+    static long hash(String shortCode) {
+        long hash = shortCode.hashCode() * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class SlidingWindow {
+
+        private final long sliceMillis;
+        private final Slice[] slices;
+        private long currentSlice = Long.MIN_VALUE;
+
+        SlidingWindow(Duration slice, int sliceCount, int candidates) {
+            this.sliceMillis = slice.toMillis();
+            this.slices = new Slice[sliceCount];
+            for (int i = 0; i < sliceCount; i++) {
+                slices[i] = new Slice(candidates);
+            }
+        }
+
+        void record(String shortCode, long hash, long nowMillis) {
+            advance(nowMillis);
+            slices[(int) Math.floorMod(currentSlice, (long) slices.length)].add(shortCode, hash);
+        }
+
+        List<HotLink> top(int k, long nowMillis) {
+            advance(nowMillis);
+            Set<String> candidates = new HashSet<>();
+            for (Slice slice : slices) {
+                slice.candidates.addTo(candidates);
+            }
+            List<HotLink> ranked = new ArrayList<>(candidates.size());
+            for (String shortCode : candidates) {
+                long hash = hash(shortCode);
+                long clicks = 0;
+                for (Slice slice : slices) {
+                    clicks += slice.sketch.estimate(hash);
+                }
+                ranked.add(new HotLink(shortCode, clicks));
+            }
+            ranked.sort(Comparator.comparingLong(HotLink::clicks).reversed());
+            return List.copyOf(ranked.subList(0, Math.min(k, ranked.size())));
+        }
+
+        /**
+         * Clears the slices that fell out of the window since the last call.
+         */
+        private void advance(long nowMillis) {
+            long slice = Math.floorDiv(nowMillis, sliceMillis);
+            if (slice <= currentSlice) {
+                return;
+            }
+            long expired = currentSlice == Long.MIN_VALUE
+                    ? slices.length
+                    : Math.min(slice - currentSlice, slices.length);
+            for (long i = 0; i < expired; i++) {
+                slices[(int) Math.floorMod(slice - i, (long) slices.length)].clear();
+            }
+            currentSlice = slice;
+        }
+    }
+
+    private static final class Slice {
+
+        private final CountMinSketch sketch = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+        private final CandidateHeap candidates;
+
+        Slice(int candidates) {
+            this.candidates = new CandidateHeap(candidates);
+        }
+
+        void add(String shortCode, long hash) {
+            candidates.offer(shortCode, sketch.add(hash));
+        }
+
+        void clear() {
+            sketch.clear();
+            candidates.clear();
+        }
+    }
+
+    /**
+     * {@code depth} rows of {@code width} counters; a code's estimate is the
+     * smallest of its counters, never below its true count.
+     */
+    static final class CountMinSketch {
+
+        private final int depth;
+        private final int mask;
+        private final int[] counters;
+
+        CountMinSketch(int depth, int width) {
+            this.depth = depth;
+            this.mask = width - 1;
+            this.counters = new int[depth * width];
+        }
+
+        /**
+         * @return the code's estimate after counting it
+         */
+        long add(long hash) {
+            int min = Integer.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                min = Math.min(min, ++counters[row * (mask + 1) + index(hash, row)]);
+            }
+            return min;
+        }
+
+        long estimate(long hash) {
+            int min = Integer.MAX_VALUE;
+            for (int row = 0; row < depth; row++) {
+                min = Math.min(min, counters[row * (mask + 1) + index(hash, row)]);
+            }
+            return min;
+        }
+
+        void clear() {
+            Arrays.fill(counters, 0);
+        }
+
+        private int index(long hash, int row) {
+            // Double hashing: row i uses h1 + i * h2
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32) | 1;
+            return (h1 + row * h2) & mask;
+        }
+    }
+
+    /**
+     * The {@code capacity} codes with the highest sketch estimates seen, over
+     * a min-heap: a code not yet tracked replaces the smallest entry only
+     * when its estimate is higher. A long tail of one-off codes therefore
+     * cannot evict a heavy hitter, whose estimate stays far above theirs.
+     */
+    static final class CandidateHeap {
+
+        private final String[] keys;
+        private final long[] counts;
+        private final Map<String, Integer> positions;
+        private int size;
+
+        CandidateHeap(int capacity) {
+            this.keys = new String[capacity];
+            this.counts = new long[capacity];
+            this.positions = new HashMap<>(capacity * 2);
+        }
+
+        void offer(String key, long estimate) {
+            Integer position = positions.get(key);
+            if (position != null) {
+                // Estimates only grow within a slice
+                counts[position] = estimate;
+                siftDown(position);
+            } else if (size < keys.length) {
+                keys[size] = key;
+                counts[size] = estimate;
+                positions.put(key, size);
+                siftUp(size++);
+            } else if (estimate > counts[0]) {
+                positions.remove(keys[0]);
+                keys[0] = key;
+                counts[0] = estimate;
+                positions.put(key, 0);
+                siftDown(0);
+            }
+        }
+
+        void addTo(Set<String> candidates) {
+            for (int i = 0; i < size; i++) {
+                candidates.add(keys[i]);
+            }
+        }
+
+        void clear() {
+            Arrays.fill(keys, null);
+            positions.clear();
+            size = 0;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (counts[parent] <= counts[index]) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= size) {
+                    return;
+                }
+                int smallest = left + 1 < size && counts[left + 1] < counts[left] ? left + 1 : left;
+                if (counts[index] <= counts[smallest]) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            String key = keys[a];
+            keys[a] = keys[b];
+            keys[b] = key;
+            long count = counts[a];
+            counts[a] = counts[b];
+            counts[b] = count;
+            positions.put(keys[a], a);
+            positions.put(keys[b], b);
+        }
+    }
+}
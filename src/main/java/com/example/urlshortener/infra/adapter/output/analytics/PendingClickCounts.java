@@ -0,0 +1,119 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.example.urlshortener.core.model.ClickCount;
+import com.example.urlshortener.core.model.UserAgentInfo;
+import com.example.urlshortener.core.ports.outgoing.PendingClickCountsPort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The live tail of the click rollups: clicks the {@link ClickBatchWorker} has
+ * counted but not yet flushed, readable per short code from request threads.
+ *
+ * Mirrors the worker's {@link ClickAggregator}, but indexed by short code so
+ * a stats request reads one small entry instead of the whole table. Only the
+ * worker thread writes; each code's counters are guarded by their own
+ * monitor, so readers never wait for more than one code's update. Counters
+ * are subtracted once their flush succeeds, so a read racing a flush may
+ * briefly count those clicks twice, never miss them.
+ */
+@Component
+public class PendingClickCounts implements PendingClickCountsPort {
+
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    private final ConcurrentHashMap<String, LinkCounts> links = new ConcurrentHashMap<>();
+
+    void add(String shortCode, long timestampMillis, UserAgentInfo userAgent) {
+        links.computeIfAbsent(shortCode, code -> new LinkCounts())
+                .add(Math.floorDiv(timestampMillis, MILLIS_PER_HOUR), userAgent, 1);
+    }
+
+    /**
+     * Removes counts that have been flushed to the rollups.
+     */
+    void subtract(List<ClickCount> flushed) {
+        for (ClickCount count : flushed) {
+            LinkCounts link = links.get(count.shortCode());
+            if (link != null && link.add(count.epochHour(), count.userAgent(), -count.clicks())) {
+                // Only the worker adds, so nothing can have been added since
+                links.remove(count.shortCode(), link);
+            }
+        }
+    }
+
+    /**
+     * @return number of short codes with pending counts
+     */
+    int size() {
+        return links.size();
+    }
+
+    @Override
+    public List<ClickCount> pendingCounts(String shortCode) {
+        LinkCounts link = links.get(shortCode);
+        return link == null ? List.of() : link.snapshot(shortCode);
+    }
+
+    /**
+     * Counters of one short code as parallel arrays. A code rarely has more
+     * than a few hours and client classes pending, so a linear scan beats a
+     * map and incrementing an existing counter allocates nothing.
+     */
+    private static final class LinkCounts {
+
+        private static final int INITIAL_CAPACITY = 4;
+
+        private long[] hours = new long[INITIAL_CAPACITY];
+        private UserAgentInfo[] userAgents = new UserAgentInfo[INITIAL_CAPACITY];
+        private long[] clicks = new long[INITIAL_CAPACITY];
+        private int size;
+
+        /**
+         * @return true if no counter is left
+         */
+        synchronized boolean add(long hour, UserAgentInfo userAgent, long delta) {
+            for (int i = 0; i < size; i++) {
+                if (hours[i] == hour && userAgents[i].equals(userAgent)) {
+                    clicks[i] += delta;
+                    if (clicks[i] <= 0) {
+                        removeAt(i);
+                    }
+                    return size == 0;
+                }
+            }
+            if (delta > 0) {
+                if (size == hours.length) {
+                    hours = Arrays.copyOf(hours, size * 2);
+                    userAgents = Arrays.copyOf(userAgents, size * 2);
+                    clicks = Arrays.copyOf(clicks, size * 2);
+                }
+                hours[size] = hour;
+                userAgents[size] = userAgent;
+                clicks[size] = delta;
+                size++;
+            }
+            return size == 0;
+        }
+
+        synchronized List<ClickCount> snapshot(String shortCode) {
+            List<ClickCount> snapshot = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                snapshot.add(new ClickCount(shortCode, hours[i], userAgents[i], clicks[i]));
+            }
+            return snapshot;
+        }
+
+        private void removeAt(int index) {
+            int last = --size;
+            hours[index] = hours[last];
+            userAgents[index] = userAgents[last];
+            clicks[index] = clicks[last];
+            userAgents[last] = null;
+        }
+    }
+}
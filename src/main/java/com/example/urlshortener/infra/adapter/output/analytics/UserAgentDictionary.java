@@ -0,0 +1,53 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.function.Function;
+
+/**
+ * Bounded dictionary of User-Agent strings, so a queued click references one
+ * shared instance instead of its own copy of a header that is the same for
+ * most clicks.
+ *
+ * User-Agents are client-controlled, so entries are admitted and evicted by
+ * frequency (Caffeine's W-TinyLFU): a burst of one-off values cannot push out
+ * the ones real clients keep sending. Eviction is safe at any time, as a
+ * queued click holds the string itself rather than an id that could be
+ * reassigned. Thread-safe; looking up a known value does not allocate.
+ */
+final class UserAgentDictionary {
+
+    // Longer values are not worth sharing
+    private static final int MAX_VALUE_LENGTH = 512;
+
+    private final Cache<String, String> values;
+
+    UserAgentDictionary(int maxSize) {
+        this.values = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * @return the shared instance equal to {@code userAgent}, or
+     *         {@code userAgent} itself if it is null, too long or newly seen
+     */
+    String canonical(String userAgent) {
+        if (userAgent == null || userAgent.length() > MAX_VALUE_LENGTH) {
+            return userAgent;
+        }
+        return values.get(userAgent, Function.identity());
+    }
+
+    long size() {
+        return values.estimatedSize();
+    }
+
+    /**
+     * Runs pending evictions now (they are otherwise done asynchronously).
+     */
+    void cleanUp() {
+        values.cleanUp();
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.example.urlshortener.core.model.DailyVisitors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the distinct visitors per (short code, day) between flushes to
+ * the unique-visitor sketches.
+ *
+ * A visitor is a 64-bit hash of the click's IP address and User-Agent. Like
+ * {@link ClickAggregator}, an open-addressing set over parallel arrays: a
+ * repeat visit within the interval allocates nothing and is sent once, so
+ * a hot link's flush carries its distinct visitors, not its clicks.
+ * Not thread-safe; owned by the {@link ClickBatchWorker} thread.
+ */
+final class VisitorAggregator {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int MIN_CAPACITY = 16;
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private String[] codes;
+    private long[] days;
+    private long[] visitors;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    VisitorAggregator(int expectedKeys) {
+        allocate(tableSizeFor(expectedKeys));
+    }
+
+    /**
+     * Records a visit; clicks without an IP address are not counted.
+     */
+    void add(String shortCode, long timestampMillis, String ip, String userAgent) {
+        if (ip == null) {
+            return;
+        }
+        insert(shortCode, Math.floorDiv(timestampMillis, MILLIS_PER_DAY), visitorHash(ip, userAgent));
+    }
+
+    /**
+     * @return number of distinct (short code, day, visitor) entries held
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the visitors grouped per short code and day
+     */
+    List<DailyVisitors> snapshot() {
+        Map<CodeDay, Hashes> grouped = new LinkedHashMap<>();
+        for (int slot = 0; slot < codes.length; slot++) {
+            if (codes[slot] != null) {
+                grouped.computeIfAbsent(new CodeDay(codes[slot], days[slot]), key -> new Hashes())
+                        .add(visitors[slot]);
+            }
+        }
+
+        List<DailyVisitors> snapshot = new ArrayList<>(grouped.size());
+        grouped.forEach((key, hashes) -> snapshot.add(
+                new DailyVisitors(key.shortCode(), key.epochDay(), Arrays.copyOf(hashes.values, hashes.size))));
+        return snapshot;
+    }
+
+    void clear() {
+        Arrays.fill(codes, null);
+        size = 0;
+    }
+
+    /**
+     * 64-bit FNV-1a over the IP address, a separator and the User-Agent,
+     * finished with a 64-bit mix so nearby addresses spread over all bits.
+     */
+    static long visitorHash(String ip, String userAgent) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < ip.length(); i++) {
+            hash = (hash ^ ip.charAt(i)) * FNV_PRIME;
+        }
+        hash = (hash ^ '\n') * FNV_PRIME;
+        if (userAgent != null) {
+            for (int i = 0; i < userAgent.length(); i++) {
+                hash = (hash ^ userAgent.charAt(i)) * FNV_PRIME;
+            }
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private void insert(String shortCode, long day, long visitor) {
+        int slot = indexFor(shortCode, day, visitor);
+        while (true) {
+            String code = codes[slot];
+            if (code == null) {
+                codes[slot] = shortCode;
+                days[slot] = day;
+                visitors[slot] = visitor;
+                if (++size > resizeThreshold) {
+                    grow();
+                }
+                return;
+            }
+            if (visitors[slot] == visitor && days[slot] == day && code.equals(shortCode)) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private int indexFor(String shortCode, long day, long visitor) {
+        // The visitor hash is already well mixed
+        int hash = Long.hashCode(visitor) ^ (shortCode.hashCode() * 31 + Long.hashCode(day)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void grow() {
+        String[] oldCodes = codes;
+        long[] oldDays = days;
+        long[] oldVisitors = visitors;
+        allocate(oldCodes.length * 2);
+        for (int slot = 0; slot < oldCodes.length; slot++) {
+            if (oldCodes[slot] != null) {
+                insert(oldCodes[slot], oldDays[slot], oldVisitors[slot]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        codes = new String[capacity];
+        days = new long[capacity];
+        visitors = new long[capacity];
+        mask = capacity - 1;
+        size = 0;
+        resizeThreshold = capacity / 2;
+    }
+
+    private static int tableSizeFor(int expectedKeys) {
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedKeys * 2 - 1)) << 1;
+        return Math.max(MIN_CAPACITY, capacity);
+    }
+
+    private record CodeDay(String shortCode, long epochDay) {
+    }
+
+    private static final class Hashes {
+        private long[] values = new long[4];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
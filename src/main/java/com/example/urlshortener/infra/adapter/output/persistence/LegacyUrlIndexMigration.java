@@ -0,0 +1,151 @@
+package com.example.urlshortener.infra.adapter.output.persistence;
+
+import com.example.urlshortener.infra.adapter.output.persistence.config.MongoCollections;
+import com.example.urlshortener.infra.adapter.output.persistence.mapper.ShortUrlMapper;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migra as collections de URLs para as buscas por {@code urlHash}.
+ *
+ * Remove o índice único legado sobre {@code originalUrl}: o índice deixou de
+ * ser declarado nas entidades, mas a criação automática de índices não
+ * remove índices já existentes; enquanto ele existir, cada inserção mantém
+ * uma B-tree sobre URLs inteiras e a mesma URL não pode ser encurtada duas
+ * vezes. Executado na inicialização; é um no-op quando o índice já não existe.
+ *
+ * Preenche também {@code urlHash} nos documentos gravados antes do campo
+ * existir, que de outro modo nunca seriam encontrados pela deduplicação.
+ * Roda em segundo plano, para não atrasar a inicialização em collections
+ * grandes, em lotes de {@value #BACKFILL_BATCH_SIZE} atualizações; a busca
+ * pelos documentos sem o campo usa o índice {@code urlHash_userId}, então
+ * depois de concluído cada start custa uma consulta vazia. Várias instâncias
+ * podem executá-lo ao mesmo tempo: todas gravam o mesmo valor.
+ */
+@Component
+public class LegacyUrlIndexMigration implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacyUrlIndexMigration.class);
+
+    static final String LEGACY_INDEX = "originalUrl";
+    static final int BACKFILL_BATCH_SIZE = 1000;
+
+    private static final List<String> COLLECTIONS = List.of(MongoCollections.SHORT_URLS,
+            MongoCollections.SHORT_URLS_NUMERIC);
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+
+    private final MongoTemplate mongoTemplate;
+    private final ShortUrlMapper mapper;
+    private final boolean enabled;
+    private final boolean backfillEnabled;
+
+    public LegacyUrlIndexMigration(MongoTemplate mongoTemplate, ShortUrlMapper mapper,
+            @Value("${app.persistence.drop-legacy-url-index:true}") boolean enabled,
+            @Value("${app.persistence.backfill-url-hash:true}") boolean backfillEnabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.mapper = mapper;
+        this.enabled = enabled;
+        this.backfillEnabled = backfillEnabled;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            COLLECTIONS.forEach(this::dropLegacyIndex);
+        }
+        if (backfillEnabled) {
+            Thread.ofVirtual().name("url-hash-backfill").start(() -> COLLECTIONS.forEach(this::backfillUrlHash));
+        }
+    }
+
+    void dropLegacyIndex(String collection) {
+        try {
+            boolean present = mongoTemplate.indexOps(collection).getIndexInfo().stream()
+                    .map(IndexInfo::getName)
+                    .anyMatch(LEGACY_INDEX::equals);
+            if (present) {
+                mongoTemplate.indexOps(collection).dropIndex(LEGACY_INDEX);
+                logger.info("Índice único legado {} removido de {}", LEGACY_INDEX, collection);
+            }
+        } catch (DataAccessException e) {
+            // Outra instância pode tê-lo removido ao mesmo tempo; tenta de novo no próximo start
+            logger.warn("Falha ao remover índice legado {} de {}", LEGACY_INDEX, collection, e);
+        }
+    }
+
+    /**
+     * Grava {@code urlHash} nos documentos de {@code collection} que ainda
+     * não o têm.
+     *
+     * @return número de documentos atualizados
+     */
+    long backfillUrlHash(String collection) {
+        long updated = 0;
+        try {
+            MongoCollection<Document> documents = mongoTemplate.getCollection(collection);
+            List<WriteModel<Document>> updates = new ArrayList<>(BACKFILL_BATCH_SIZE);
+            try (MongoCursor<Document> cursor = documents
+                    .find(new Document("urlHash", new Document("$exists", false)))
+                    .projection(new Document("originalUrl", 1))
+                    .batchSize(BACKFILL_BATCH_SIZE)
+                    .iterator()) {
+                while (cursor.hasNext()) {
+                    Document document = cursor.next();
+                    Long urlHash = urlHashOf(document.getString("originalUrl"));
+                    if (urlHash == null) {
+                        continue;
+                    }
+                    updates.add(new UpdateOneModel<>(new Document("_id", document.get("_id")),
+                            new Document("$set", new Document("urlHash", urlHash))));
+                    if (updates.size() == BACKFILL_BATCH_SIZE) {
+                        documents.bulkWrite(updates, UNORDERED);
+                        updated += updates.size();
+                        updates.clear();
+                    }
+                }
+            }
+            if (!updates.isEmpty()) {
+                documents.bulkWrite(updates, UNORDERED);
+                updated += updates.size();
+            }
+            if (updated > 0) {
+                logger.info("urlHash preenchido em {} documentos de {}", updated, collection);
+            }
+        } catch (RuntimeException e) {
+            // O que já foi gravado fica; o restante é retomado no próximo start
+            logger.warn("Falha ao preencher urlHash em {} após {} documentos", collection, updated, e);
+        }
+        return updated;
+    }
+
+    /**
+     * @return o hash da URL, ou null se ela não puder ser normalizada (o
+     *         documento fica sem hash e fora da deduplicação)
+     */
+    private Long urlHashOf(String originalUrl) {
+        if (originalUrl == null) {
+            return null;
+        }
+        try {
+            return mapper.urlHash(originalUrl);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.urlshortener.infra.adapter.output.persistence;
+
+import com.example.urlshortener.core.model.ClickEvent;
+import com.example.urlshortener.core.ports.outgoing.ClickRepositoryPort;
+import com.example.urlshortener.core.ports.outgoing.ShortCodeCodec;
+import com.example.urlshortener.infra.adapter.output.persistence.config.MongoCollections;
+import com.example.urlshortener.infra.adapter.output.persistence.exception.RepositoryException;
+import com.mongodb.client.model.InsertManyOptions;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Implementação da porta de persistência de cliques para MongoDB.
+ *
+ * Grava cada lote com um único {@code insertMany} não ordenado: o servidor
+ * aplica os documentos em paralelo e um documento inválido não interrompe o
+ * restante do lote. Os documentos são montados direto em BSON, sem passar
+ * pelo mapeamento de entidades do Spring Data.
+ *
+ * Os documentos são compactos, já que há um por clique: nomes de campo curtos,
+ * código gerado gravado como o ID numérico decodificado ({@code cid}, int64;
+ * aliases personalizados ficam em {@code code}), timestamp ({@code ts}) e IP
+ * em binário ({@code ip}, 4 ou 16 bytes; valores que não são IP literal ficam
+ * como texto em {@code ipText}).
+ *
+ * A entrega é "at least once" (ver {@link ClickRepositoryPort}): os
+ * documentos não têm {@code _id} determinístico, então um lote repetido
+ * depois de um {@code insertMany} que falhou no meio, ou reenviado do spool
+ * após uma queda entre a gravação e o commit, grava de novo os cliques que já
+ * tinham entrado. Contagens exatas vêm dos rollups; {@code click_events} pode
+ * ter duplicatas raras.
+ */
+@Repository
+public class MongoClickRepository implements ClickRepositoryPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoClickRepository.class);
+
+    private static final InsertManyOptions UNORDERED = new InsertManyOptions().ordered(false);
+    // Só literais IPv4 e IPv6 chegam ao InetAddress, que então não faz resolução DNS
+    private static final Pattern IPV4_LITERAL = Pattern.compile("\\d{1,3}(\\.\\d{1,3}){3}");
+    private static final Pattern IPV6_LITERAL = Pattern.compile("[0-9a-fA-F]*:[0-9a-fA-F:.]*(%[\\w.-]+)?");
+
+    private final MongoTemplate mongoTemplate;
+    private final ShortCodeCodec codec;
+
+    public MongoClickRepository(MongoTemplate mongoTemplate, ShortCodeCodec codec) {
+        this.mongoTemplate = mongoTemplate;
+        this.codec = codec;
+    }
+
+    /**
+     * Persiste um lote de cliques com {@code insertMany} não ordenado.
+     *
+     * @param events lote de cliques
+     * @throws RepositoryException se ocorrer erro ao gravar no MongoDB
+     */
+    @Override
+    @CircuitBreaker(name = "databaseCb")
+    public void saveAll(List<ClickEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            List<Document> documents = new ArrayList<>(events.size());
+            for (ClickEvent event : events) {
+                documents.add(toDocument(event));
+            }
+            mongoTemplate.getCollection(MongoCollections.CLICK_EVENTS).insertMany(documents, UNORDERED);
+            logger.debug("Lote de {} cliques gravado com sucesso", events.size());
+        } catch (Exception e) {
+            logger.error("Erro ao gravar lote de {} cliques no MongoDB", events.size(), e);
+            throw new RepositoryException("Falha ao persistir lote de cliques", e);
+        }
+    }
+
+    private Document toDocument(ClickEvent event) {
+        Document document = new Document();
+        if (codec.isCanonical(event.shortCode())) {
+            document.append("cid", codec.decode(event.shortCode()));
+        } else {
+            document.append("code", event.shortCode());
+        }
+        document.append("ts", new Date(event.timestampMillis()));
+        if (event.userAgent() != null) {
+            document.append("ua", event.userAgent());
+        }
+        byte[] ip = packedIp(event.ip());
+        if (ip != null) {
+            document.append("ip", ip);
+        } else if (event.ip() != null) {
+            document.append("ipText", event.ip());
+        }
+        return document;
+    }
+
+    /**
+     * @return os bytes do endereço (4 para IPv4, 16 para IPv6), ou null se o
+     *         valor não for um IP literal
+     */
+    private static byte[] packedIp(String ip) {
+        if (ip == null || !(IPV4_LITERAL.matcher(ip).matches() || IPV6_LITERAL.matcher(ip).matches())) {
+            return null;
+        }
+        try {
+            return InetAddress.getByName(ip).getAddress();
+        } catch (UnknownHostException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
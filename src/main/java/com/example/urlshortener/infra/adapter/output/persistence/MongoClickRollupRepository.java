@@ -0,0 +1,225 @@
+package com.example.urlshortener.infra.adapter.output.persistence;
+
+import com.example.urlshortener.core.exception.PartialRollupWriteException;
+import com.example.urlshortener.core.model.ClickBreakdown;
+import com.example.urlshortener.core.model.ClickBucket;
+import com.example.urlshortener.core.model.ClickCount;
+import com.example.urlshortener.core.model.StatsGranularity;
+import com.example.urlshortener.core.model.UserAgentInfo;
+import com.example.urlshortener.core.model.UserAgentInfo.Browser;
+import com.example.urlshortener.core.model.UserAgentInfo.Device;
+import com.example.urlshortener.core.ports.outgoing.ClickRollupRepositoryPort;
+import com.example.urlshortener.infra.adapter.output.persistence.config.MongoCollections;
+import com.example.urlshortener.infra.adapter.output.persistence.exception.RepositoryException;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Implementação da porta de rollups de cliques para MongoDB.
+ *
+ * Cada contador é um documento cujo {@code _id} é o par
+ * {@code {shortCode, bucket}} (início da hora ou do dia, UTC): o upsert com
+ * {@code $inc} usa o índice de {@code _id}, sem índice adicional, e o mesmo
+ * índice atende consultas por intervalo de um código. Os incrementos de uma
+ * granularidade vão em um único {@code bulkWrite} não ordenado. Se parte dele
+ * falhar, as contagens dos documentos que falharam saem em
+ * {@link PartialRollupWriteException}, para que só elas sejam reenviadas.
+ *
+ * Além do total ({@code clicks}), cada documento traz a quebra por tipo de
+ * cliente: {@code bots}, {@code devices.<tipo>} e {@code browsers.<família>}
+ * (nomes dos enums de {@link UserAgentInfo} em minúsculas).
+ *
+ * A leitura de um intervalo é uma única consulta por faixa de {@code _id}:
+ * como {@code shortCode} é o primeiro campo do {@code _id}, a faixa
+ * {@code [{code, from}, {code, to})} contém só os períodos desse código.
+ */
+@Repository
+public class MongoClickRollupRepository implements ClickRollupRepositoryPort {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoClickRollupRepository.class);
+
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+    private static final UpdateOptions UPSERT = new UpdateOptions().upsert(true);
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+    private static final long HOURS_PER_DAY = 24;
+
+    static final String CLICKS = "clicks";
+    static final String BOTS = "bots";
+    static final String DEVICES = "devices";
+    static final String BROWSERS = "browsers";
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoClickRollupRepository(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Soma as contagens aos rollups por hora ou, agrupadas por dia, aos
+     * rollups por dia.
+     *
+     * @param granularity collection de destino
+     * @param counts      contagens por código curto e hora
+     * @throws PartialRollupWriteException se só parte dos documentos foi
+     *                                     atualizada
+     * @throws RepositoryException         se ocorrer erro ao gravar no MongoDB
+     */
+    @Override
+    @CircuitBreaker(name = "databaseCb")
+    public void incrementAll(StatsGranularity granularity, List<ClickCount> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        String collection = collectionFor(granularity);
+        try {
+            // Uma atualização por documento, somando as classes de cliente do mesmo código e período
+            Map<Bucket, Map<String, Long>> increments = new LinkedHashMap<>();
+            // Contagens de cada documento, na mesma ordem, para achar as de uma atualização que falhou
+            Map<Bucket, List<ClickCount>> sources = new LinkedHashMap<>();
+            for (ClickCount count : counts) {
+                long hours = granularity == StatsGranularity.HOUR
+                        ? count.epochHour()
+                        : Math.floorDiv(count.epochHour(), HOURS_PER_DAY) * HOURS_PER_DAY;
+                Bucket bucket = new Bucket(count.shortCode(), hours * MILLIS_PER_HOUR);
+                addIncrements(increments.computeIfAbsent(bucket, key -> new LinkedHashMap<>()), count);
+                sources.computeIfAbsent(bucket, key -> new ArrayList<>()).add(count);
+            }
+
+            try {
+                mongoTemplate.getCollection(collection).bulkWrite(updates(increments), UNORDERED);
+            } catch (MongoBulkWriteException e) {
+                // Com erro de write concern nem as atualizações aceitas são garantidas: tudo é reenviado
+                if (e.getWriteConcernError() != null || e.getWriteErrors().isEmpty()) {
+                    throw e;
+                }
+                List<List<ClickCount>> byUpdate = new ArrayList<>(sources.values());
+                List<ClickCount> unwritten = new ArrayList<>();
+                for (BulkWriteError error : e.getWriteErrors()) {
+                    unwritten.addAll(byUpdate.get(error.getIndex()));
+                }
+                logger.warn("{} de {} contadores não incrementados em {}",
+                        e.getWriteErrors().size(), increments.size(), collection, e);
+                throw new PartialRollupWriteException(unwritten, e);
+            }
+            logger.debug("{} contadores incrementados em {}", increments.size(), collection);
+        } catch (PartialRollupWriteException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Erro ao incrementar {} contadores de cliques no MongoDB", counts.size(), e);
+            throw new RepositoryException("Falha ao persistir rollups de cliques", e);
+        }
+    }
+
+    /**
+     * Lê os contadores por hora ou por dia de um código no intervalo, em
+     * ordem de período.
+     *
+     * @throws RepositoryException se ocorrer erro ao consultar o MongoDB
+     */
+    @Override
+    @CircuitBreaker(name = "databaseCb")
+    public List<ClickBucket> findBuckets(String shortCode, StatsGranularity granularity, Instant from, Instant to) {
+        String collection = collectionFor(granularity);
+        Document filter = new Document("_id", new Document("$gte", rollupId(shortCode, from.toEpochMilli()))
+                .append("$lt", rollupId(shortCode, to.toEpochMilli())));
+        try {
+            List<ClickBucket> buckets = new ArrayList<>();
+            for (Document document : mongoTemplate.getCollection(collection).find(filter)
+                    .sort(new Document("_id", 1))) {
+                buckets.add(toBucket(document));
+            }
+            return buckets;
+        } catch (Exception e) {
+            logger.error("Erro ao consultar rollups de cliques do código {} no MongoDB", shortCode, e);
+            throw new RepositoryException("Falha ao consultar rollups de cliques", e);
+        }
+    }
+
+    private static String collectionFor(StatsGranularity granularity) {
+        return granularity == StatsGranularity.HOUR
+                ? MongoCollections.CLICK_ROLLUPS_HOURLY
+                : MongoCollections.CLICK_ROLLUPS_DAILY;
+    }
+
+    /**
+     * Monta o {@code _id} de um contador. A ordem dos campos faz parte da
+     * identidade do documento e não pode mudar.
+     */
+    static Document rollupId(String shortCode, long bucketStartMillis) {
+        return new Document("shortCode", shortCode).append("bucket", new Date(bucketStartMillis));
+    }
+
+    private static void addIncrements(Map<String, Long> increments, ClickCount count) {
+        UserAgentInfo userAgent = count.userAgent();
+        increments.merge(CLICKS, count.clicks(), Long::sum);
+        if (userAgent.bot()) {
+            increments.merge(BOTS, count.clicks(), Long::sum);
+        }
+        increments.merge(DEVICES + "." + userAgent.device().name().toLowerCase(Locale.ROOT),
+                count.clicks(), Long::sum);
+        increments.merge(BROWSERS + "." + userAgent.browser().name().toLowerCase(Locale.ROOT),
+                count.clicks(), Long::sum);
+    }
+
+    static ClickBucket toBucket(Document document) {
+        Date start = document.get("_id", Document.class).getDate("bucket");
+        return new ClickBucket(start.toInstant(), new ClickBreakdown(
+                longValue(document.get(CLICKS)),
+                longValue(document.get(BOTS)),
+                countsByName(document.get(DEVICES, Document.class), Device.class),
+                countsByName(document.get(BROWSERS, Document.class), Browser.class)));
+    }
+
+    /**
+     * Converte um subdocumento de contagens por nome de enum em minúsculas;
+     * nomes desconhecidos (de uma versão mais nova) são ignorados.
+     */
+    private static <E extends Enum<E>> Map<E, Long> countsByName(Document counts, Class<E> type) {
+        Map<E, Long> result = new EnumMap<>(type);
+        if (counts == null) {
+            return result;
+        }
+        for (E constant : type.getEnumConstants()) {
+            Object count = counts.get(constant.name().toLowerCase(Locale.ROOT));
+            if (count != null) {
+                result.put(constant, longValue(count));
+            }
+        }
+        return result;
+    }
+
+    private static long longValue(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private static List<WriteModel<Document>> updates(Map<Bucket, Map<String, Long>> increments) {
+        List<WriteModel<Document>> updates = new ArrayList<>(increments.size());
+        increments.forEach((bucket, fields) -> updates.add(new UpdateOneModel<>(
+                new Document("_id", rollupId(bucket.shortCode(), bucket.startMillis())),
+                new Document("$inc", new Document(fields)),
+                UPSERT)));
+        return updates;
+    }
+
+    private record Bucket(String shortCode, long startMillis) {
+    }
+}
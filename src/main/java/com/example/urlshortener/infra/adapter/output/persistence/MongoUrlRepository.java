@@ -2,18 +2,38 @@ package com.example.urlshortener.infra.adapter.output.persistence;
 
 import com.example.urlshortener.core.exception.AliasAlreadyExistsException;
 import com.example.urlshortener.core.model.ShortUrl;
+import com.example.urlshortener.core.model.Url;
+import com.example.urlshortener.core.ports.outgoing.ShortCodeCodec;
 import com.example.urlshortener.core.ports.outgoing.UrlRepositoryPort;
+import com.example.urlshortener.infra.adapter.output.persistence.config.MongoCollections;
+import com.example.urlshortener.infra.adapter.output.persistence.entity.NumericShortUrlEntity;
 import com.example.urlshortener.infra.adapter.output.persistence.entity.ShortUrlEntity;
 import com.example.urlshortener.infra.adapter.output.persistence.exception.RepositoryException;
 import com.example.urlshortener.infra.adapter.output.persistence.mapper.ShortUrlMapper;
+import com.mongodb.bulk.BulkWriteError;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.springframework.dao.DuplicateKeyException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Implementação da porta de persistência para MongoDB.
@@ -29,38 +49,89 @@ import java.util.Optional;
  * - Adapter Pattern: adapta MongoTemplate para a porta
  * - Circuit Breaker: resiliência a falhas do banco de dados
  * - Mapper Pattern: converte domain ↔ entity
+ *
+ * Modo numérico ({@code app.persistence.numeric-ids.enabled}):
+ * - IDs gerados são decodificados pelo {@link ShortCodeCodec} e gravados como
+ * int64 em {@code short_urls_numeric}, com índice primário menor
+ * - Aliases customizados continuam como string em {@code short_urls}
+ * - Com {@code legacy-lookup}, códigos não encontrados na collection numérica
+ * são buscados também em {@code short_urls} (registros anteriores ao modo)
+ *
+ * Gravação insert-only: {@link #save} nunca sobrescreve um documento; a
+ * disponibilidade de aliases é garantida pelo índice único de {@code _id}.
+ *
+ * Write-behind ({@code app.persistence.write-behind.enabled}):
+ * - URLs anônimas com ID gerado (sem colisão possível, graças aos blocos de
+ * IDs) são inseridas em lote pelo {@link ShortUrlInsertBatcher}; cada
+ * chamada retorna quando o seu lote é confirmado
+ * - Aliases e URLs de usuários continuam com gravação individual
+ *
+ * Redirecionamento ({@link #findOriginalUrlById}): lê apenas
+ * {@code originalUrl} por projeção, como {@link RawBsonDocument}, sem
+ * conversão para entidade nem para o domínio.
+ *
+ * Lotes ({@link #saveAll}) são gravados com um bulk insert não ordenado por
+ * collection, independentemente do write-behind.
  */
 @Repository
 public class MongoUrlRepository implements UrlRepositoryPort {
 
     private static final Logger logger = LoggerFactory.getLogger(MongoUrlRepository.class);
 
+    private static final int ID_SCAN_BATCH_SIZE = 10_000;
+    private static final int DEDUP_CANDIDATES = 10;
+    private static final Document ORIGINAL_URL_ONLY = new Document("originalUrl", 1).append("_id", 0);
+
     private final MongoTemplate mongoTemplate;
     private final ShortUrlMapper mapper;
+    private final ShortCodeCodec codec;
+    private final ShortUrlInsertBatcher insertBatcher;
+    private final boolean numericIds;
+    private final boolean legacyLookup;
 
     /**
      * Construtor com injeção de dependências.
      *
      * @param mongoTemplate template do Spring Data MongoDB para operações
      * @param mapper        mapper para conversão domain ↔ entity
+     * @param codec         codec usado para decodificar códigos gerados
+     * @param insertBatcher group commit das inserções anônimas com ID gerado
+     * @param numericIds    grava IDs gerados como int64
+     * @param legacyLookup  no modo numérico, também consulta {@code short_urls}
      */
-    public MongoUrlRepository(MongoTemplate mongoTemplate, ShortUrlMapper mapper) {
+    public MongoUrlRepository(MongoTemplate mongoTemplate, ShortUrlMapper mapper, ShortCodeCodec codec,
+            ShortUrlInsertBatcher insertBatcher,
+            @Value("${app.persistence.numeric-ids.enabled:false}") boolean numericIds,
+            @Value("${app.persistence.numeric-ids.legacy-lookup:true}") boolean legacyLookup) {
         this.mongoTemplate = mongoTemplate;
         this.mapper = mapper;
+        this.codec = codec;
+        this.insertBatcher = insertBatcher;
+        this.numericIds = numericIds;
+        this.legacyLookup = legacyLookup;
     }
 
     /**
-     * Persiste uma URL encurtada no MongoDB.
+     * Insere uma URL encurtada no MongoDB.
+     *
+     * A gravação é um insert puro, nunca um upsert: o índice único de
+     * {@code _id} detecta a colisão de aliases de forma atômica, sem consulta
+     * prévia, e um alias existente nunca é sobrescrito por uma corrida.
      *
      * @param shortUrl a URL encurtada do domínio a ser salva
-     * @throws RepositoryException se ocorrer erro ao persistir no MongoDB
+     * @throws AliasAlreadyExistsException se o ID já existir
+     * @throws RepositoryException         se ocorrer erro ao persistir no MongoDB
      */
     @Override
     @CircuitBreaker(name = "databaseCb")
     public void save(ShortUrl shortUrl) {
         try {
-            ShortUrlEntity entity = mapper.toPersistence(shortUrl);
-            mongoTemplate.save(entity);
+            Object entity = toEntity(shortUrl);
+            if (insertBatcher.isEnabled() && !shortUrl.isCustomAlias() && shortUrl.userId() == null) {
+                insertBatcher.insert(entity);
+            } else {
+                mongoTemplate.insert(entity);
+            }
             logger.debug("URL encurtada salva com sucesso: {}", shortUrl.id());
         } catch (DuplicateKeyException e) {
             logger.warn("Tentativa de criar alias duplicado: {}", shortUrl.id());
@@ -74,6 +145,50 @@ public class MongoUrlRepository implements UrlRepositoryPort {
         }
     }
 
+    /**
+     * Persiste um lote de URLs encurtadas com um bulk insert não ordenado por
+     * collection: um round-trip por collection para todo o lote. Documentos
+     * rejeitados (ex.: chave duplicada) não impedem a gravação dos demais.
+     *
+     * @param shortUrls as URLs encurtadas do domínio a serem salvas
+     * @return posições das URLs rejeitadas pelo MongoDB
+     * @throws RepositoryException se ocorrer erro ao persistir o lote
+     */
+    @Override
+    @CircuitBreaker(name = "databaseCb")
+    public Set<Integer> saveAll(List<ShortUrl> shortUrls) {
+        Map<Class<?>, List<Integer>> positionsByType = new LinkedHashMap<>();
+        Map<Class<?>, List<Object>> entitiesByType = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < shortUrls.size(); i++) {
+                Object entity = toEntity(shortUrls.get(i));
+                positionsByType.computeIfAbsent(entity.getClass(), type -> new ArrayList<>()).add(i);
+                entitiesByType.computeIfAbsent(entity.getClass(), type -> new ArrayList<>()).add(entity);
+            }
+        } catch (IllegalArgumentException e) {
+            logger.error("Dados inválidos ao salvar lote de URLs encurtadas", e);
+            throw new RepositoryException("Dados inválidos para persistência", e);
+        }
+
+        Set<Integer> rejected = new HashSet<>();
+        entitiesByType.forEach((type, entities) -> {
+            List<Integer> positions = positionsByType.get(type);
+            try {
+                mongoTemplate.bulkOps(BulkMode.UNORDERED, type).insert(entities).execute();
+            } catch (BulkOperationException e) {
+                for (BulkWriteError error : e.getErrors()) {
+                    rejected.add(positions.get(error.getIndex()));
+                }
+                logger.warn("{} de {} URLs encurtadas rejeitadas no lote", e.getErrors().size(), entities.size());
+            } catch (Exception e) {
+                logger.error("Erro ao salvar lote de {} URLs encurtadas no MongoDB", entities.size(), e);
+                throw new RepositoryException("Falha ao persistir lote de URLs encurtadas", e);
+            }
+        });
+        logger.debug("Lote de {} URLs encurtadas salvo ({} rejeitadas)", shortUrls.size(), rejected.size());
+        return rejected;
+    }
+
     /**
      * Busca uma URL encurtada pelo seu ID.
      *
@@ -85,6 +200,19 @@ public class MongoUrlRepository implements UrlRepositoryPort {
     @CircuitBreaker(name = "databaseCb")
     public Optional<ShortUrl> findById(String id) {
         try {
+            long numericId = numericIdOf(id);
+            if (numericId >= 0) {
+                NumericShortUrlEntity numeric = mongoTemplate.findById(numericId, NumericShortUrlEntity.class);
+                if (numeric != null) {
+                    logger.debug("URL encurtada recuperada com sucesso: {}", id);
+                    return Optional.of(mapper.toDomain(numeric, id));
+                }
+                if (!legacyLookup) {
+                    logger.debug("URL encurtada não encontrada: {}", id);
+                    return Optional.empty();
+                }
+            }
+
             ShortUrlEntity entity = mongoTemplate.findById(id, ShortUrlEntity.class);
             if (entity == null) {
                 logger.debug("URL encurtada não encontrada: {}", id);
@@ -102,6 +230,99 @@ public class MongoUrlRepository implements UrlRepositoryPort {
 
     }
 
+    /**
+     * Busca apenas a URL original pelo ID, para o redirecionamento.
+     *
+     * Consulta a collection direto pelo driver com projeção em
+     * {@code originalUrl}: só esse campo trafega, e o resultado é lido como
+     * {@link RawBsonDocument} (bytes BSON sem decodificação completa), sem o
+     * mapeamento do Spring Data para a entidade nem a conversão para o
+     * domínio. Segue a mesma ordem de collections de {@link #findById}.
+     *
+     * @param id o identificador único da URL encurtada
+     * @return Optional contendo a URL original se encontrada, ou vazio se não
+     *         existir
+     * @throws RepositoryException se ocorrer erro ao consultar o MongoDB
+     */
+    @Override
+    @CircuitBreaker(name = "databaseCb")
+    public Optional<String> findOriginalUrlById(String id) {
+        try {
+            long numericId = numericIdOf(id);
+            if (numericId >= 0) {
+                String originalUrl = findOriginalUrl(MongoCollections.SHORT_URLS_NUMERIC, numericId);
+                if (originalUrl != null || !legacyLookup) {
+                    logger.debug("URL original {} para: {}", originalUrl != null ? "recuperada" : "não encontrada", id);
+                    return Optional.ofNullable(originalUrl);
+                }
+            }
+            String originalUrl = findOriginalUrl(MongoCollections.SHORT_URLS, id);
+            logger.debug("URL original {} para: {}", originalUrl != null ? "recuperada" : "não encontrada", id);
+            return Optional.ofNullable(originalUrl);
+        } catch (Exception e) {
+            logger.error("Erro ao buscar URL original no MongoDB: {}", id, e);
+            throw new RepositoryException("Falha ao recuperar URL original", e);
+        }
+    }
+
+    private String findOriginalUrl(String collection, Object id) {
+        RawBsonDocument document = mongoTemplate.getCollection(collection)
+                .withDocumentClass(RawBsonDocument.class)
+                .find(new Document("_id", id))
+                .projection(ORIGINAL_URL_ONLY)
+                .first();
+        if (document == null) {
+            return null;
+        }
+        BsonValue originalUrl = document.get("originalUrl");
+        return originalUrl != null && originalUrl.isString() ? originalUrl.asString().getValue() : null;
+    }
+
+    /**
+     * Busca pelo índice {@code (urlHash, userId)}: lê no máximo
+     * {@value #DEDUP_CANDIDATES} candidatos por collection e descarta
+     * colisões de hash comparando as URLs normalizadas. No modo numérico,
+     * {@code short_urls_numeric} é consultada primeiro; em {@code short_urls}
+     * aliases customizados são ignorados.
+     *
+     * @param userId      o dono, ou null para URLs anônimas
+     * @param originalUrl a URL original
+     * @return Optional contendo uma URL encurtada existente, ou vazio
+     * @throws RepositoryException se ocorrer erro ao consultar o MongoDB
+     */
+    @Override
+    @CircuitBreaker(name = "databaseCb")
+    public Optional<ShortUrl> findByOwnerAndUrl(String userId, String originalUrl) {
+        try {
+            String normalized = new Url(originalUrl).normalized();
+            long urlHash = mapper.urlHash(originalUrl);
+            if (numericIds) {
+                Query numericQuery = Query.query(Criteria.where("urlHash").is(urlHash).and("userId").is(userId))
+                        .limit(DEDUP_CANDIDATES);
+                for (NumericShortUrlEntity entity : mongoTemplate.find(numericQuery, NumericShortUrlEntity.class)) {
+                    if (normalized.equals(new Url(entity.getOriginalUrl()).normalized())) {
+                        return Optional.of(mapper.toDomain(entity, codec.encode(entity.getId())));
+                    }
+                }
+            }
+            Query query = Query.query(Criteria.where("urlHash").is(urlHash).and("userId").is(userId)
+                    .and("isCustomAlias").is(false))
+                    .limit(DEDUP_CANDIDATES);
+            for (ShortUrlEntity entity : mongoTemplate.find(query, ShortUrlEntity.class)) {
+                if (normalized.equals(new Url(entity.getOriginalUrl()).normalized())) {
+                    return Optional.of(mapper.toDomain(entity));
+                }
+            }
+            return Optional.empty();
+        } catch (IllegalArgumentException e) {
+            logger.error("URL inválida ao buscar URL encurtada existente", e);
+            throw new RepositoryException("URL inválida para busca", e);
+        } catch (Exception e) {
+            logger.error("Erro ao buscar URL encurtada existente no MongoDB", e);
+            throw new RepositoryException("Falha ao buscar URL encurtada existente", e);
+        }
+    }
+
     /**
      * Verifica se uma URL encurtada existe por seu identificador.
      *
@@ -113,6 +334,16 @@ public class MongoUrlRepository implements UrlRepositoryPort {
     @CircuitBreaker(name = "databaseCb")
     public boolean existsById(String id) {
         try {
+            long numericId = numericIdOf(id);
+            if (numericId >= 0) {
+                boolean exists = mongoTemplate.exists(
+                        org.springframework.data.mongodb.core.query.Query.query(
+                                org.springframework.data.mongodb.core.query.Criteria.where("_id").is(numericId)),
+                        NumericShortUrlEntity.class);
+                if (exists || !legacyLookup) {
+                    return exists;
+                }
+            }
             return mongoTemplate.exists(
                     org.springframework.data.mongodb.core.query.Query.query(
                             org.springframework.data.mongodb.core.query.Criteria.where("_id").is(id)),
@@ -122,4 +353,58 @@ public class MongoUrlRepository implements UrlRepositoryPort {
             throw new RepositoryException("Falha ao verificar existência de URL encurtada", e);
         }
     }
+
+    /**
+     * Percorre todos os IDs usando projeção apenas em {@code _id}, sem mapear
+     * entidades. No modo numérico, os IDs de {@code short_urls_numeric} são
+     * codificados de volta para o código curto.
+     *
+     * @param action ação executada para cada identificador
+     * @throws RepositoryException se ocorrer erro ao consultar o MongoDB
+     */
+    @Override
+    public void forEachId(Consumer<String> action) {
+        try {
+            mongoTemplate.getCollection(MongoCollections.SHORT_URLS)
+                    .find()
+                    .projection(new Document("_id", 1))
+                    .batchSize(ID_SCAN_BATCH_SIZE)
+                    .forEach(document -> action.accept(document.getString("_id")));
+            if (numericIds) {
+                mongoTemplate.getCollection(MongoCollections.SHORT_URLS_NUMERIC)
+                        .find()
+                        .projection(new Document("_id", 1))
+                        .batchSize(ID_SCAN_BATCH_SIZE)
+                        .forEach(document -> action.accept(codec.encode(document.getLong("_id"))));
+            }
+        } catch (Exception e) {
+            logger.error("Erro ao percorrer IDs de URLs encurtadas no MongoDB", e);
+            throw new RepositoryException("Falha ao percorrer IDs de URLs encurtadas", e);
+        }
+    }
+
+    /**
+     * Converte para a entidade da collection correspondente: numérica para
+     * códigos gerados no modo numérico, string nos demais casos.
+     */
+    private Object toEntity(ShortUrl shortUrl) {
+        long numericId = shortUrl.isCustomAlias() ? -1 : numericIdOf(shortUrl.id());
+        return numericId >= 0
+                ? mapper.toNumericPersistence(shortUrl, numericId)
+                : mapper.toPersistence(shortUrl);
+    }
+
+    /**
+     * Decodifica um código gerado para o ID numérico armazenado.
+     *
+     * @return o ID numérico, ou -1 se o modo numérico estiver desativado ou o
+     *         código não for exatamente a forma gerada pelo codec
+     */
+    private long numericIdOf(String id) {
+        if (!numericIds) {
+            return -1;
+        }
+        long numericId = codec.decode(id);
+        return numericId >= 0 && codec.encode(numericId).equals(id) ? numericId : -1;
+    }
 }
@@ -0,0 +1,238 @@
+package com.example.urlshortener.infra.adapter.output.persistence;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group commit de inserções de URLs encurtadas ({@code app.persistence.write-behind}).
+ *
+ * Cada chamada de {@link #insert} entra numa fila e bloqueia até o lote em
+ * que foi gravada ser confirmado. Uma única thread pega a primeira inserção
+ * pendente, espera até {@code window} por outras (no máximo
+ * {@code max-batch-size}) e grava o lote com um bulk insert não ordenado por
+ * collection: um round-trip e um commit de journal para todo o lote em vez
+ * de um por URL. Falhas de documentos individuais (ex.: chave duplicada) são
+ * devolvidas apenas aos seus chamadores; o restante do lote é confirmado.
+ * Uma falha que não aponta documentos (ou um erro de write concern) falha
+ * todos os chamadores do lote.
+ *
+ * Desativado, ou com a fila cheia, a inserção é feita na thread chamadora.
+ */
+@Component
+public class ShortUrlInsertBatcher implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShortUrlInsertBatcher.class);
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+    private static final Duration IDLE_POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<PendingInsert> queue;
+
+    private volatile boolean running;
+    private Thread flusherThread;
+
+    public ShortUrlInsertBatcher(MongoTemplate mongoTemplate,
+            @Value("${app.persistence.write-behind.enabled:false}") boolean enabled,
+            @Value("${app.persistence.write-behind.window:PT2MS}") Duration window,
+            @Value("${app.persistence.write-behind.max-batch-size:500}") int maxBatchSize,
+            @Value("${app.persistence.write-behind.queue-capacity:10000}") int queueCapacity) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Insere a entidade no lote corrente e aguarda sua confirmação.
+     *
+     * @param entity entidade mapeada ({@code ShortUrlEntity} ou {@code NumericShortUrlEntity})
+     * @throws DuplicateKeyException se o {@code _id} já existir
+     */
+    public void insert(Object entity) {
+        PendingInsert pending = new PendingInsert(entity, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            mongoTemplate.insert(entity);
+            return;
+        }
+        if (!running && queue.remove(pending)) {
+            // Parado enquanto entrava na fila: o flush final pode já ter passado
+            mongoTemplate.insert(entity);
+            return;
+        }
+        try {
+            pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusherThread = Thread.ofVirtual().name("short-url-insert-batcher").start(this::runLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusherThread != null) {
+            flusherThread.interrupt();
+            try {
+                flusherThread.join(IDLE_POLL_TIMEOUT.toMillis() * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Chamadores ainda aguardando: uma última tentativa
+        List<PendingInsert> batch = new ArrayList<>();
+        while (queue.drainTo(batch, maxBatchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runLoop() {
+        List<PendingInsert> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                if (collect(batch, IDLE_POLL_TIMEOUT) > 0) {
+                    write(batch);
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                logger.error("Erro inesperado no group commit de URLs encurtadas", e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Aguarda até {@code idleTimeout} pela primeira inserção e depois até o
+     * fim da janela por outras.
+     *
+     * @return número de inserções coletadas
+     */
+    int collect(List<PendingInsert> batch, Duration idleTimeout) throws InterruptedException {
+        PendingInsert first = queue.poll(idleTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return 0;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                break;
+            }
+            PendingInsert next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch.size();
+    }
+
+    /**
+     * Grava o lote com um bulk insert não ordenado por tipo de entidade e
+     * conclui cada chamador com o resultado do seu documento.
+     */
+    void write(List<PendingInsert> batch) {
+        Map<Class<?>, List<PendingInsert>> byType = new LinkedHashMap<>();
+        for (PendingInsert pending : batch) {
+            byType.computeIfAbsent(pending.entity().getClass(), type -> new ArrayList<>()).add(pending);
+        }
+        byType.forEach(this::writeAll);
+    }
+
+    private void writeAll(Class<?> type, List<PendingInsert> inserts) {
+        List<Object> entities = new ArrayList<>(inserts.size());
+        inserts.forEach(pending -> entities.add(pending.entity()));
+        try {
+            mongoTemplate.bulkOps(BulkMode.UNORDERED, type).insert(entities).execute();
+            inserts.forEach(pending -> pending.result().complete(null));
+            logger.debug("Lote de {} URLs encurtadas gravado com sucesso", inserts.size());
+        } catch (BulkOperationException e) {
+            if (!isPerDocument(e)) {
+                logger.error("Erro ao gravar lote de {} URLs encurtadas no MongoDB", inserts.size(), e);
+                inserts.forEach(pending -> pending.result().completeExceptionally(e));
+                return;
+            }
+            RuntimeException[] failures = new RuntimeException[inserts.size()];
+            for (BulkWriteError error : e.getErrors()) {
+                failures[error.getIndex()] = error.getCode() == DUPLICATE_KEY_ERROR
+                        ? new DuplicateKeyException(error.getMessage())
+                        : new DataIntegrityViolationException(error.getMessage());
+            }
+            for (int i = 0; i < inserts.size(); i++) {
+                if (failures[i] != null) {
+                    inserts.get(i).result().completeExceptionally(failures[i]);
+                } else {
+                    inserts.get(i).result().complete(null);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Erro ao gravar lote de {} URLs encurtadas no MongoDB", inserts.size(), e);
+            inserts.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Só é possível confirmar os demais documentos quando o erro aponta quais
+     * foram rejeitados e a gravação atendeu ao write concern.
+     */
+    private static boolean isPerDocument(BulkOperationException e) {
+        return !e.getErrors().isEmpty()
+                && !(e.getCause() instanceof MongoBulkWriteException source && source.getWriteConcernError() != null);
+    }
+
+    record PendingInsert(Object entity, CompletableFuture<Void> result) {
+    }
+}
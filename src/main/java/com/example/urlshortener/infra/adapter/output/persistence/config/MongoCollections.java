@@ -14,6 +14,27 @@ public class MongoCollections {
      */
     public static final String SHORT_URLS = "short_urls";
 
+    /**
+     * Collection das URLs com ID gerado armazenado como int64 (modo
+     * {@code app.persistence.numeric-ids.enabled}).
+     */
+    public static final String SHORT_URLS_NUMERIC = "short_urls_numeric";
+
+    /**
+     * Collection dos eventos de clique brutos (analytics).
+     */
+    public static final String CLICK_EVENTS = "click_events";
+
+    /**
+     * Collection dos contadores de cliques por código curto e hora (UTC).
+     */
+    public static final String CLICK_ROLLUPS_HOURLY = "click_rollups_hourly";
+
+    /**
+     * Collection dos contadores de cliques por código curto e dia (UTC).
+     */
+    public static final String CLICK_ROLLUPS_DAILY = "click_rollups_daily";
+
     // Prevent instantiation
     private MongoCollections() {
         throw new AssertionError("Utility class should not be instantiated");
@@ -0,0 +1,99 @@
+package com.example.urlshortener.infra.adapter.output.persistence.entity;
+
+import com.example.urlshortener.infra.adapter.output.persistence.config.MongoCollections;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade de persistência para URLs com ID gerado, armazenado como número.
+ *
+ * Usada quando {@code app.persistence.numeric-ids.enabled} está ativo: o código
+ * curto é decodificado para o ID da sequência e gravado como int64 em
+ * {@code _id} (8 bytes em vez de uma string), o que reduz o índice primário.
+ * Aliases customizados continuam em {@link ShortUrlEntity}.
+ */
+@CompoundIndex(name = "urlHash_userId", def = "{'urlHash': 1, 'userId': 1}")
+@Document(collection = MongoCollections.SHORT_URLS_NUMERIC)
+public class NumericShortUrlEntity {
+
+    /**
+     * ID numérico da sequência (chave primária). O código curto é obtido
+     * codificando este valor com o {@code ShortCodeCodec} configurado.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * URL original completa que foi encurtada (sem índice; ver {@link #urlHash}).
+     */
+    private String originalUrl;
+
+    private LocalDateTime createdAt;
+
+    /**
+     * Hash de 64 bits da URL original normalizada. Índice não único (com
+     * {@code userId}) para localizar encurtamentos da mesma URL por um
+     * dono; muito menor que um índice sobre a URL inteira.
+     */
+    private Long urlHash;
+
+    @Indexed
+    private String userId;
+
+    /**
+     * Construtor sem argumentos necessário para desserialização do MongoDB.
+     */
+    public NumericShortUrlEntity() {
+    }
+
+    public NumericShortUrlEntity(Long id, String originalUrl, LocalDateTime createdAt, String userId) {
+        this.id = id;
+        this.originalUrl = originalUrl;
+        this.createdAt = createdAt;
+        this.userId = userId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOriginalUrl() {
+        return originalUrl;
+    }
+
+    public void setOriginalUrl(String originalUrl) {
+        this.originalUrl = originalUrl;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Long getUrlHash() {
+        return urlHash;
+    }
+
+    public void setUrlHash(Long urlHash) {
+        this.urlHash = urlHash;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.urlshortener.infra.adapter.output.persistence.entity;
 
 import com.example.urlshortener.infra.adapter.output.persistence.config.MongoCollections;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -19,6 +20,7 @@ import java.time.LocalDateTime;
  *
  * @author Migration from Cassandra to MongoDB
  */
+@CompoundIndex(name = "urlHash_userId", def = "{'urlHash': 1, 'userId': 1}")
 @Document(collection = MongoCollections.SHORT_URLS)
 public class ShortUrlEntity {
 
@@ -30,10 +32,9 @@ public class ShortUrlEntity {
     private String id;
 
     /**
-     * URL original completa que foi encurtada.
-     * Índice único garante que não haja duplicatas no banco de dados.
+     * URL original completa que foi encurtada. Sem índice: a mesma URL pode
+     * ser encurtada várias vezes; buscas usam {@link #urlHash}.
      */
-    @Indexed(unique = true)
     private String originalUrl;
 
     /**
@@ -41,6 +42,13 @@ public class ShortUrlEntity {
      */
     private LocalDateTime createdAt;
 
+    /**
+     * Hash de 64 bits da URL original normalizada. Índice não único (com
+     * {@code userId}) para localizar encurtamentos da mesma URL por um
+     * dono; muito menor que um índice sobre a URL inteira.
+     */
+    private Long urlHash;
+
     @Indexed
     private String userId;
 
@@ -93,6 +101,14 @@ public class ShortUrlEntity {
         this.createdAt = createdAt;
     }
 
+    public Long getUrlHash() {
+        return urlHash;
+    }
+
+    public void setUrlHash(Long urlHash) {
+        this.urlHash = urlHash;
+    }
+
     public String getUserId() {
         return userId;
     }
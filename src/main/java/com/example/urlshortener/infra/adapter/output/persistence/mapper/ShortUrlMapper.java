@@ -1,6 +1,8 @@
 package com.example.urlshortener.infra.adapter.output.persistence.mapper;
 
 import com.example.urlshortener.core.model.ShortUrl;
+import com.example.urlshortener.core.model.Url;
+import com.example.urlshortener.infra.adapter.output.persistence.entity.NumericShortUrlEntity;
 import com.example.urlshortener.infra.adapter.output.persistence.entity.ShortUrlEntity;
 import org.springframework.stereotype.Component;
 
@@ -13,6 +15,9 @@ import org.springframework.stereotype.Component;
 @Component
 public class ShortUrlMapper {
 
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
     /**
      * Converte um objeto de domínio (ShortUrl) para entidade de persistência
      * (ShortUrlEntity).
@@ -26,12 +31,14 @@ public class ShortUrlMapper {
             throw new IllegalArgumentException("Domain object cannot be null");
         }
 
-        return new ShortUrlEntity(
+        ShortUrlEntity entity = new ShortUrlEntity(
                 domain.id(),
                 domain.originalUrl(),
                 domain.createdAt(),
                 domain.userId(),
                 domain.isCustomAlias());
+        entity.setUrlHash(urlHash(domain.originalUrl()));
+        return entity;
     }
 
     /**
@@ -54,4 +61,64 @@ public class ShortUrlMapper {
                 entity.getUserId(),
                 entity.isCustomAlias());
     }
+
+    /**
+     * Converte um objeto de domínio com ID gerado para a entidade numérica.
+     *
+     * @param domain    o objeto de domínio
+     * @param numericId o ID da sequência decodificado a partir de {@code domain.id()}
+     * @return a entidade preparada para persistência no MongoDB
+     * @throws IllegalArgumentException se o domínio for nulo
+     */
+    public NumericShortUrlEntity toNumericPersistence(ShortUrl domain, long numericId) {
+        if (domain == null) {
+            throw new IllegalArgumentException("Domain object cannot be null");
+        }
+
+        NumericShortUrlEntity entity = new NumericShortUrlEntity(
+                numericId,
+                domain.originalUrl(),
+                domain.createdAt(),
+                domain.userId());
+        entity.setUrlHash(urlHash(domain.originalUrl()));
+        return entity;
+    }
+
+    /**
+     * Converte uma entidade numérica para objeto de domínio.
+     *
+     * @param entity a entidade recuperada do MongoDB
+     * @param code   o código curto correspondente ao ID numérico
+     * @return o objeto de domínio com os dados da entidade
+     * @throws IllegalArgumentException se a entidade for nula
+     */
+    public ShortUrl toDomain(NumericShortUrlEntity entity, String code) {
+        if (entity == null) {
+            throw new IllegalArgumentException("Entity object cannot be null");
+        }
+
+        return new ShortUrl(
+                code,
+                entity.getOriginalUrl(),
+                entity.getCreatedAt(),
+                entity.getUserId(),
+                false);
+    }
+
+    /**
+     * Hash de 64 bits (FNV-1a) da URL normalizada ({@link Url#normalized()}),
+     * gravado em {@code urlHash}. Colisões são possíveis: quem busca por ele
+     * deve comparar as URLs normalizadas dos candidatos.
+     *
+     * @param originalUrl a URL original
+     * @return o hash da forma normalizada
+     */
+    public long urlHash(String originalUrl) {
+        String normalized = new Url(originalUrl).normalized();
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash = (hash ^ normalized.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
 }
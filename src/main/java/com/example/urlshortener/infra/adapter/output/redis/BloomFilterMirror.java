@@ -0,0 +1,140 @@
+package com.example.urlshortener.infra.adapter.output.redis;
+
+import com.example.urlshortener.core.ports.outgoing.UrlRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local replica of the Redis Bloom filter, so cache-miss rejections are
+ * answered in-process instead of costing a Redis round-trip.
+ *
+ * The replica is bulk-loaded from the URL repository (source of truth) on
+ * startup and kept in sync through {@link #put}. Until the first load
+ * completes {@link #isReady()} is false and callers keep using the Redis
+ * filter. A rebuild fills a fresh filter in the background while the current
+ * one keeps serving, then swaps them, so protection is never dropped.
+ */
+@Component
+public class BloomFilterMirror {
+
+    private static final Logger log = LoggerFactory.getLogger(BloomFilterMirror.class);
+
+    private final UrlRepositoryPort urlRepository;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    private volatile LocalBloomFilter active;
+    private volatile LocalBloomFilter pending;
+    private volatile Instant lastRebuiltAt;
+
+    public BloomFilterMirror(UrlRepositoryPort urlRepository,
+            @Value("${app.cache.bloom.local.enabled:true}") boolean enabled,
+            @Value("${app.cache.bloom.local.expected-insertions:50000000}") long expectedInsertions,
+            @Value("${app.cache.bloom.local.false-positive-probability:0.01}") double falsePositiveProbability) {
+        this.urlRepository = urlRepository;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (enabled) {
+            rebuildAsync();
+        }
+    }
+
+    public boolean isReady() {
+        return active != null;
+    }
+
+    public boolean mightContain(String id) {
+        LocalBloomFilter filter = active;
+        return filter == null || filter.mightContain(id);
+    }
+
+    public void put(String id) {
+        LocalBloomFilter filter = active;
+        if (filter != null) {
+            filter.put(id);
+        }
+        LocalBloomFilter next = pending;
+        if (next != null) {
+            next.put(id);
+        }
+    }
+
+    /**
+     * Starts a rebuild on a background thread.
+     *
+     * @return false if the mirror is disabled or a rebuild is already running
+     */
+    public boolean rebuildAsync() {
+        if (!enabled || rebuilding.get()) {
+            return false;
+        }
+        Thread.ofVirtual().name("bloom-filter-rebuild").start(this::rebuild);
+        return true;
+    }
+
+    /**
+     * Rebuilds the replica from the repository and swaps it in atomically.
+     *
+     * @return false if the mirror is disabled or a rebuild is already running
+     */
+    public boolean rebuild() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            long startedAt = System.nanoTime();
+            LocalBloomFilter next = new LocalBloomFilter(expectedInsertions, falsePositiveProbability);
+            // From here on, concurrent puts land in both filters
+            pending = next;
+            urlRepository.forEachId(next::put);
+
+            active = next;
+            lastRebuiltAt = Instant.now();
+            log.info("Local Bloom filter rebuilt in {} ms ({} bits, {} hash functions)",
+                    (System.nanoTime() - startedAt) / 1_000_000, next.bitSize(), next.hashFunctions());
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild local Bloom filter. Keeping the previous one.", e);
+            return false;
+        } finally {
+            pending = null;
+            rebuilding.set(false);
+        }
+    }
+
+    public Status status() {
+        LocalBloomFilter filter = active;
+        return new Status(
+                enabled,
+                filter != null,
+                rebuilding.get(),
+                filter != null ? filter.bitSize() : 0,
+                filter != null ? filter.hashFunctions() : 0,
+                filter != null ? filter.approximateElementCount() : 0,
+                lastRebuiltAt);
+    }
+
+    public record Status(
+            boolean enabled,
+            boolean ready,
+            boolean rebuilding,
+            long bitSize,
+            int hashFunctions,
+            long approximateElementCount,
+            Instant lastRebuiltAt) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.urlshortener.infra.adapter.output.redis;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms the local URL cache of a freshly started instance with the ids the
+ * fleet was serving most.
+ *
+ * Every instance periodically adds its hottest L1 ids (ids only) to a shared
+ * Redis sorted set, scored by snapshot time and rank, and trims it to
+ * {@code max-keys}, so the set follows the current hot keys of all
+ * instances. On startup the ids are read back and bulk-loaded from Redis
+ * with pipelined {@code MGET}s. This runs as an {@link ApplicationRunner},
+ * which Spring Boot completes before the readiness probe reports
+ * ACCEPTING_TRAFFIC, so no traffic reaches a cold cache. Redis failures are
+ * logged and the instance starts cold.
+ */
+@Component
+public class CacheWarmer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private static final String SNAPSHOT_KEY = "url_shortener:hot_keys";
+
+    private final RedisUrlCache cache;
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final int maxKeys;
+    private final Duration snapshotTtl;
+    private final Timer warmupTimer;
+    private final AtomicInteger loadedKeys = new AtomicInteger();
+
+    public CacheWarmer(RedisUrlCache cache, StringRedisTemplate redisTemplate, MeterRegistry meterRegistry,
+            @Value("${app.cache.warm-up.enabled:true}") boolean enabled,
+            @Value("${app.cache.warm-up.max-keys:10000}") int maxKeys,
+            @Value("${app.cache.warm-up.snapshot-ttl:P1D}") Duration snapshotTtl) {
+        this.cache = cache;
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.maxKeys = maxKeys;
+        this.snapshotTtl = snapshotTtl;
+        this.warmupTimer = Timer.builder("cache.warmup.duration")
+                .description("Time spent preloading the local URL cache at startup")
+                .tag("cache", "url.l1")
+                .register(meterRegistry);
+        Gauge.builder("cache.warmup.keys.loaded", loadedKeys, AtomicInteger::get)
+                .description("Ids preloaded into the local URL cache at startup")
+                .tag("cache", "url.l1")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Preloads the local cache with the ids of the shared snapshot.
+     *
+     * @return number of ids loaded
+     */
+    public int warmUp() {
+        long startedAt = System.nanoTime();
+        try {
+            Set<String> ids = redisTemplate.opsForZSet().reverseRange(SNAPSHOT_KEY, 0, maxKeys - 1);
+            if (ids == null || ids.isEmpty()) {
+                log.info("No hot key snapshot found. Starting with a cold local cache.");
+                return 0;
+            }
+            int loaded = cache.preload(List.copyOf(ids));
+            loadedKeys.set(loaded);
+            log.info("Local cache warmed up with {} of {} hot keys in {} ms",
+                    loaded, ids.size(), (System.nanoTime() - startedAt) / 1_000_000);
+            return loaded;
+        } catch (DataAccessException e) {
+            log.warn("Cache warm-up failed. Starting with a cold local cache.", e);
+            return 0;
+        } finally {
+            warmupTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+        }
+    }
+
+    /**
+     * Adds this instance's hottest local ids to the shared snapshot. Newer
+     * snapshots outrank older ones and, within a snapshot, hotter ids outrank
+     * colder ones, so trimming drops the stalest ids first.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.warm-up.snapshot-interval:PT1M}",
+            initialDelayString = "${app.cache.warm-up.snapshot-interval:PT1M}")
+    public void snapshot() {
+        if (!enabled) {
+            return;
+        }
+        List<String> ids = cache.hottestLocalIds(maxKeys);
+        if (ids.isEmpty()) {
+            return;
+        }
+        // Seconds keep the scores well within the exact range of a double
+        long snapshotSecond = System.currentTimeMillis() / 1000;
+        Set<TypedTuple<String>> tuples = new LinkedHashSet<>(ids.size());
+        for (int rank = 0; rank < ids.size(); rank++) {
+            tuples.add(TypedTuple.of(ids.get(rank), (double) (snapshotSecond * maxKeys + ids.size() - rank)));
+        }
+        try {
+            redisTemplate.opsForZSet().add(SNAPSHOT_KEY, tuples);
+            redisTemplate.opsForZSet().removeRange(SNAPSHOT_KEY, 0, -maxKeys - 1L);
+            redisTemplate.expire(SNAPSHOT_KEY, snapshotTtl);
+        } catch (DataAccessException e) {
+            log.warn("Failed to snapshot hot keys. Skipping.", e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.urlshortener.infra.adapter.output.redis;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * In-process Bloom filter backed by a single {@code long[]}.
+ *
+ * Thread-safe without locks: bits are set with an atomic OR and read with
+ * opaque loads, so a concurrent {@link #put} is at worst seen a little late
+ * (a transient false negative, which callers already tolerate by falling back
+ * to the database).
+ */
+public final class LocalBloomFilter {
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] words;
+    private final long bitSize;
+    private final int hashFunctions;
+
+    public LocalBloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("False positive probability must be between 0 and 1");
+        }
+
+        long bits = optimalNumOfBits(expectedInsertions, falsePositiveProbability);
+        this.words = new long[Math.toIntExact((bits + 63) >>> 6)];
+        this.bitSize = (long) words.length << 6;
+        this.hashFunctions = optimalNumOfHashFunctions(expectedInsertions, bitSize);
+    }
+
+    /**
+     * Adds the key to the filter.
+     *
+     * @return true if at least one bit changed (the key was not present before)
+     */
+    public boolean put(String key) {
+        long h1 = hash(key);
+        long h2 = mix64(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+        boolean changed = false;
+
+        long combined = h1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.unsignedMultiplyHigh(combined, bitSize);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if (((long) WORDS.getOpaque(words, index) & mask) == 0) {
+                long previous = (long) WORDS.getAndBitwiseOr(words, index, mask);
+                changed |= (previous & mask) == 0;
+            }
+            combined += h2;
+        }
+        return changed;
+    }
+
+    /**
+     * @return false if the key was definitely never added, true if it might
+     *         have been
+     */
+    public boolean mightContain(String key) {
+        long h1 = hash(key);
+        long h2 = mix64(h1 ^ 0x9E3779B97F4A7C15L) | 1L;
+
+        long combined = h1;
+        for (int i = 0; i < hashFunctions; i++) {
+            long bit = Math.unsignedMultiplyHigh(combined, bitSize);
+            if (((long) WORDS.getOpaque(words, (int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += h2;
+        }
+        return true;
+    }
+
+    /**
+     * Estimates the number of distinct keys from the fraction of set bits.
+     * Walks the whole bit array, so it is meant for diagnostics only.
+     */
+    public long approximateElementCount() {
+        long setBits = 0;
+        for (int i = 0; i < words.length; i++) {
+            setBits += Long.bitCount((long) WORDS.getOpaque(words, i));
+        }
+        if (setBits == bitSize) {
+            return Long.MAX_VALUE;
+        }
+        double fractionSet = (double) setBits / bitSize;
+        return Math.round(-Math.log1p(-fractionSet) * bitSize / hashFunctions);
+    }
+
+    public long bitSize() {
+        return bitSize;
+    }
+
+    public int hashFunctions() {
+        return hashFunctions;
+    }
+
+    static long optimalNumOfBits(long expectedInsertions, double falsePositiveProbability) {
+        return (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+    }
+
+    static int optimalNumOfHashFunctions(long expectedInsertions, long bitSize) {
+        return Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    private static long hash(String key) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix64(h);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,37 +1,117 @@
 package com.example.urlshortener.infra.adapter.output.redis;
 
 import com.example.urlshortener.core.ports.outgoing.IdGeneratorPort;
-import org.hashids.Hashids;
+import com.example.urlshortener.core.ports.outgoing.ShortCodeCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Hands out IDs from blocks reserved in Redis with a single {@code INCRBY}.
+ *
+ * When a block is {@code prefetch-threshold} consumed, the next one is
+ * reserved on a background virtual thread, so the writer that exhausts a
+ * block normally switches to an already fetched one instead of waiting on
+ * Redis. The block size follows the observed write rate: it aims to last
+ * {@code target-duration}, bounded by {@code min-size}/{@code max-size} and
+ * changing at most 2x per block. IDs left in a block on shutdown are skipped.
+ *
+ * With {@code stripes > 1}, callers are spread over stripes that each own a
+ * small sub-block ({@code stripe-size} IDs) carved from the shared block, so
+ * concurrent writers do not contend on a single counter. IDs are then unique
+ * but no longer issued in order, and a sub-block lost to a concurrent refill
+ * of the same stripe is skipped.
+ *
+ * Bulk requests ({@link #generateIds}) reserve a range of their own with one
+ * {@code INCRBY count}, so they neither drain nor resize the shared block.
+ */
 @Component
 @Primary // Make this the default implementation
 public class RangeAwareIdGenerator implements IdGeneratorPort {
 
-    private final StringRedisTemplate redis;
-    private final Hashids hashids;
-    private final AtomicLong currentId = new AtomicLong(0);
-    private volatile long maxIdInCurrentRange = 0;
-    private static final int RANGE_SIZE = 1000;
+    private static final Logger log = LoggerFactory.getLogger(RangeAwareIdGenerator.class);
+
     private static final String SEQUENCE_KEY = "global_link_id_seq";
+    private static final int DEFAULT_MIN_BLOCK_SIZE = 1000;
+    private static final int DEFAULT_MAX_BLOCK_SIZE = 100_000;
+    private static final double DEFAULT_PREFETCH_THRESHOLD = 0.7;
+    private static final Duration DEFAULT_TARGET_BLOCK_DURATION = Duration.ofSeconds(10);
+    private static final int DEFAULT_STRIPE_SIZE = 64;
+
+    private final StringRedisTemplate redis;
+    private final ShortCodeCodec codec;
+    private final long minBlockSize;
+    private final long maxBlockSize;
+    private final double prefetchThreshold;
+    private final long targetBlockNanos;
+    private final long stripeSize;
+    private final AtomicReferenceArray<IdBlock> stripeBlocks;
 
     private final ReentrantLock lock = new ReentrantLock();
+    private volatile IdBlock current = IdBlock.EMPTY;
+    private volatile CompletableFuture<IdBlock> prefetched;
 
-    public RangeAwareIdGenerator(StringRedisTemplate redis, Hashids hashids) {
+    public RangeAwareIdGenerator(StringRedisTemplate redis, ShortCodeCodec codec) {
+        this(redis, codec, DEFAULT_MIN_BLOCK_SIZE, DEFAULT_MAX_BLOCK_SIZE, DEFAULT_PREFETCH_THRESHOLD,
+                DEFAULT_TARGET_BLOCK_DURATION, 1, DEFAULT_STRIPE_SIZE);
+    }
+
+    @Autowired
+    public RangeAwareIdGenerator(StringRedisTemplate redis, ShortCodeCodec codec,
+            @Value("${app.shortener.id-block.min-size:1000}") long minBlockSize,
+            @Value("${app.shortener.id-block.max-size:100000}") long maxBlockSize,
+            @Value("${app.shortener.id-block.prefetch-threshold:0.7}") double prefetchThreshold,
+            @Value("${app.shortener.id-block.target-duration:PT10S}") Duration targetBlockDuration,
+            @Value("${app.shortener.id-block.stripes:1}") int stripes,
+            @Value("${app.shortener.id-block.stripe-size:64}") long stripeSize) {
+        if (minBlockSize <= 0 || maxBlockSize < minBlockSize) {
+            throw new IllegalArgumentException("Invalid ID block size bounds: " + minBlockSize + ".." + maxBlockSize);
+        }
+        if (prefetchThreshold <= 0 || prefetchThreshold > 1) {
+            throw new IllegalArgumentException("Prefetch threshold must be in (0, 1]");
+        }
+        if (stripes < 0 || stripeSize <= 0 || stripeSize > minBlockSize) {
+            throw new IllegalArgumentException("Invalid ID block striping: " + stripes + " x " + stripeSize);
+        }
         this.redis = redis;
-        this.hashids = hashids;
+        this.codec = codec;
+        this.minBlockSize = minBlockSize;
+        this.maxBlockSize = maxBlockSize;
+        this.prefetchThreshold = prefetchThreshold;
+        this.targetBlockNanos = targetBlockDuration.toNanos();
+        this.stripeSize = stripeSize;
+
+        // 0 = one stripe per available processor; rounded up to a power of two
+        int stripeCount = stripes == 0 ? Runtime.getRuntime().availableProcessors() : stripes;
+        if (stripeCount > 1) {
+            int size = Integer.highestOneBit(stripeCount - 1) << 1;
+            this.stripeBlocks = new AtomicReferenceArray<>(size);
+            for (int i = 0; i < size; i++) {
+                stripeBlocks.set(i, IdBlock.EMPTY);
+            }
+        } else {
+            this.stripeBlocks = null;
+        }
     }
 
     @Override
     @io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker(name = "rateLimiterCb", fallbackMethod = "generateIdFallback")
     public String generateId() {
-        long nextId = getNextUniqueId();
-        return hashids.encode(nextId);
+        long nextId = nextUniqueId();
+        return codec.encode(nextId);
     }
 
     /**
@@ -42,34 +122,182 @@ public class RangeAwareIdGenerator implements IdGeneratorPort {
         long timestamp = System.currentTimeMillis();
         long threadId = Thread.currentThread().threadId();
         long emergencyId = (timestamp << 20) | (threadId & 0xFFFFF); // Combine timestamp + thread bits
-        return hashids.encode(emergencyId);
+        return codec.encode(emergencyId);
+    }
+
+    /**
+     * Reserves exactly {@code count} IDs in one round-trip, outside the shared
+     * block. There is no emergency fallback: timestamp + thread IDs would
+     * collide within the batch, so a Redis failure fails the whole request.
+     */
+    @Override
+    @io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker(name = "rateLimiterCb")
+    public List<String> generateIds(int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        long end = reserve(count);
+        List<String> ids = new ArrayList<>(count);
+        for (long id = end - count + 1; id <= end; id++) {
+            ids.add(codec.encode(id));
+        }
+        return ids;
+    }
+
+    long nextUniqueId() {
+        return stripeBlocks == null ? nextFromSharedBlock() : nextFromStripe();
     }
 
-    private long getNextUniqueId() {
-        long next = currentId.incrementAndGet();
+    private long nextFromStripe() {
+        int index = stripeIndex();
+        while (true) {
+            IdBlock subBlock = stripeBlocks.get(index);
+            long id = subBlock.cursor.getAndIncrement();
+            if (id <= subBlock.end) {
+                return id;
+            }
+            stripeBlocks.compareAndSet(index, subBlock, carveFromSharedBlock());
+        }
+    }
 
-        // If local range is exhausted, fetch new block from Redis
-        if (next > maxIdInCurrentRange) {
-            lock.lock();
-            try {
-                if (currentId.get() > maxIdInCurrentRange) {
-                    // Call Redis INCRBY 1000
-                    Long upperLimit = redis.opsForValue().increment(SEQUENCE_KEY, RANGE_SIZE);
+    private int stripeIndex() {
+        // Virtual threads are short-lived, so thread IDs spread evenly over the stripes
+        long h = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (stripeBlocks.length() - 1);
+    }
 
-                    if (upperLimit == null) {
-                        throw new IllegalStateException("Failed to increment sequence in Redis");
-                    }
+    /**
+     * Reserves up to {@code stripeSize} consecutive IDs from the shared block.
+     */
+    private IdBlock carveFromSharedBlock() {
+        while (true) {
+            IdBlock block = current;
+            long start = block.cursor.getAndAdd(stripeSize);
+            if (start <= block.end) {
+                long end = Math.min(start + stripeSize - 1, block.end);
+                if (start <= block.prefetchAt && block.prefetchAt <= end) {
+                    startPrefetch(block);
+                }
+                return new IdBlock(start, end, -1, end - start + 1, 0);
+            }
+            advance(block);
+        }
+    }
 
-                    maxIdInCurrentRange = upperLimit;
-                    currentId.set(upperLimit - RANGE_SIZE + 1);
-                    return currentId.get();
+    private long nextFromSharedBlock() {
+        while (true) {
+            IdBlock block = current;
+            long id = block.cursor.getAndIncrement();
+            if (id <= block.end) {
+                // Exactly one caller sees the threshold ID, so one prefetch per block
+                if (id == block.prefetchAt) {
+                    startPrefetch(block);
                 }
-            } finally {
-                lock.unlock();
+                return id;
             }
-            // Simple retry if another thread already updated
-            return getNextUniqueId();
+            advance(block);
+        }
+    }
+
+    private void startPrefetch(IdBlock block) {
+        long consumed = block.prefetchAt - block.start + 1;
+        long nextSize = nextBlockSize(block.size, consumed, System.nanoTime() - block.fetchedAtNanos);
+        prefetched = CompletableFuture.supplyAsync(() -> fetchBlock(nextSize),
+                task -> Thread.ofVirtual().name("id-block-prefetch").start(task));
+    }
+
+    /**
+     * Replaces an exhausted block, preferring the prefetched one. Threads that
+     * lose the race find a fresh block installed and retry on it.
+     */
+    private void advance(IdBlock exhausted) {
+        lock.lock();
+        try {
+            if (current != exhausted) {
+                return;
+            }
+            IdBlock next = takePrefetched();
+            if (next == null) {
+                // Prefetch not started (tiny blocks) or failed: reserve synchronously
+                long elapsed = System.nanoTime() - exhausted.fetchedAtNanos;
+                next = fetchBlock(exhausted == IdBlock.EMPTY
+                        ? minBlockSize
+                        : nextBlockSize(exhausted.size, exhausted.size, elapsed));
+            }
+            current = next;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private IdBlock takePrefetched() {
+        CompletableFuture<IdBlock> future = prefetched;
+        if (future == null) {
+            return null;
+        }
+        prefetched = null;
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            log.warn("ID block prefetch failed. Fetching synchronously.", e.getCause());
+            return null;
+        }
+    }
+
+    private IdBlock fetchBlock(long size) {
+        long upperLimit = reserve(size);
+        long start = upperLimit - size + 1;
+        long prefetchAt = start + Math.max(0, (long) (size * prefetchThreshold) - 1);
+        return new IdBlock(start, upperLimit, prefetchAt, size, System.nanoTime());
+    }
+
+    /**
+     * Advances the sequence by {@code size} and returns the last reserved ID.
+     */
+    private long reserve(long size) {
+        Long upperLimit = redis.opsForValue().increment(SEQUENCE_KEY, size);
+
+        if (upperLimit == null) {
+            throw new IllegalStateException("Failed to increment sequence in Redis");
+        }
+        return upperLimit;
+    }
+
+    /**
+     * Sizes the next block so it lasts about the target duration at the rate
+     * observed on the current one.
+     */
+    long nextBlockSize(long currentSize, long consumed, long elapsedNanos) {
+        long target;
+        if (elapsedNanos <= 0) {
+            target = currentSize * 2;
+        } else {
+            double rate = (double) consumed / elapsedNanos;
+            target = (long) Math.min(Long.MAX_VALUE / 2, rate * targetBlockNanos);
+        }
+        long bounded = Math.max(currentSize / 2, Math.min(currentSize * 2, target));
+        return Math.max(minBlockSize, Math.min(maxBlockSize, bounded));
+    }
+
+    private static final class IdBlock {
+
+        // Forces a synchronous fetch on first use
+        static final IdBlock EMPTY = new IdBlock(1, 0, -1, 0, 0);
+
+        final long start;
+        final long end;
+        final long prefetchAt;
+        final long size;
+        final long fetchedAtNanos;
+        final AtomicLong cursor;
+
+        IdBlock(long start, long end, long prefetchAt, long size, long fetchedAtNanos) {
+            this.start = start;
+            this.end = end;
+            this.prefetchAt = prefetchAt;
+            this.size = size;
+            this.fetchedAtNanos = fetchedAtNanos;
+            this.cursor = new AtomicLong(start);
         }
-        return next;
     }
 }
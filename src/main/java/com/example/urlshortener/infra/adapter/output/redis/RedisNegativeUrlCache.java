@@ -0,0 +1,141 @@
+package com.example.urlshortener.infra.adapter.output.redis;
+
+import com.example.urlshortener.core.ports.outgoing.NegativeUrlCachePort;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Two-tier negative cache for unknown short codes.
+ *
+ * The local tier is a small bounded Caffeine cache with a short TTL. The
+ * optional Redis tier shares "known missing" markers across instances with
+ * its own TTL and is cleared on creation; the local TTL bounds how long
+ * another instance may keep answering 404 for a freshly created ID.
+ * Redis failures fail open (the lookup simply goes to the database).
+ */
+@Component
+public class RedisNegativeUrlCache implements NegativeUrlCachePort {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisNegativeUrlCache.class);
+
+    private static final String KEY_PREFIX = "url_shortener:missing:";
+    private static final String MARKER = "1";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<String, Boolean> localCache;
+    private final boolean enabled;
+    private final boolean redisEnabled;
+    private final Duration redisTtl;
+
+    public RedisNegativeUrlCache(StringRedisTemplate redisTemplate,
+            @Value("${app.cache.negative.enabled:true}") boolean enabled,
+            @Value("${app.cache.negative.local.max-size:100000}") long localMaxSize,
+            @Value("${app.cache.negative.local.ttl:PT10S}") Duration localTtl,
+            @Value("${app.cache.negative.redis.enabled:true}") boolean redisEnabled,
+            @Value("${app.cache.negative.redis.ttl:PT1M}") Duration redisTtl) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.redisEnabled = redisEnabled;
+        this.redisTtl = redisTtl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+    }
+
+    @Override
+    public boolean isKnownMissing(String id) {
+        if (!enabled) {
+            return false;
+        }
+        if (localCache.getIfPresent(id) != null) {
+            return true;
+        }
+        if (!redisEnabled) {
+            return false;
+        }
+
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + id))) {
+                localCache.put(id, Boolean.TRUE);
+                return true;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Negative cache lookup failed for ID: {}. Skipping.", id, e);
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isKnownMissingLocally(String id) {
+        return enabled && localCache.getIfPresent(id) != null;
+    }
+
+    @Override
+    public void markMissing(String id) {
+        if (!enabled) {
+            return;
+        }
+        localCache.put(id, Boolean.TRUE);
+        if (!redisEnabled) {
+            return;
+        }
+
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + id, MARKER, redisTtl);
+        } catch (DataAccessException e) {
+            log.warn("Negative cache write failed for ID: {}. Skipping.", id, e);
+        }
+    }
+
+    @Override
+    public void invalidate(String id) {
+        if (!enabled) {
+            return;
+        }
+        localCache.invalidate(id);
+        if (!redisEnabled) {
+            return;
+        }
+
+        try {
+            redisTemplate.delete(KEY_PREFIX + id);
+        } catch (DataAccessException e) {
+            log.warn("Negative cache invalidation failed for ID: {}.", id, e);
+        }
+    }
+
+    /**
+     * Clears the local entries and the Redis markers of all IDs with a single
+     * multi-key {@code DEL}.
+     */
+    @Override
+    public void invalidateAll(Collection<String> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return;
+        }
+        localCache.invalidateAll(ids);
+        if (!redisEnabled) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>(ids.size());
+        ids.forEach(id -> keys.add(KEY_PREFIX + id));
+        try {
+            redisTemplate.delete(keys);
+        } catch (DataAccessException e) {
+            log.warn("Negative cache invalidation failed for {} IDs.", ids.size(), e);
+        }
+    }
+}
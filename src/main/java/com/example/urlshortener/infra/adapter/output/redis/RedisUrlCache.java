@@ -1,45 +1,129 @@
 package com.example.urlshortener.infra.adapter.output.redis;
 
+import com.example.urlshortener.core.model.HotLink;
+import com.example.urlshortener.core.model.HotLinkWindow;
+import com.example.urlshortener.core.ports.outgoing.HotLinksPort;
 import com.example.urlshortener.core.ports.outgoing.MetricsPort;
 import com.example.urlshortener.core.ports.outgoing.UrlCachePort;
-import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
 import org.redisson.api.RBloomFilter;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Component
 public class RedisUrlCache implements UrlCachePort {
 
     private final StringRedisTemplate redisTemplate;
     private final RedissonClient redisson;
-    private final Cache<String, String> localCache;
+    private final LoadingCache<String, String> localCache;
+    // Runs the L1 refresh-ahead loads; owned here, so closed with the bean
+    private final ExecutorService refreshExecutor;
     private final RBloomFilter<String> bloomFilter;
+    private final BloomFilterMirror localBloomFilter;
+    private final UrlCacheWriteBatcher writeBatcher;
     private final MetricsPort metrics;
+    private final HotLinksPort hotLinks;
+    private final int pinnedMaxSize;
 
-    private static final Duration BASE_TTL = Duration.ofHours(24);
-    private static final long MAX_JITTER_SECONDS = 60;
+    // The hottest links of the last minute, kept outside the Caffeine policy so
+    // eviction or expiry never sends them back to Redis. Replaced as a whole.
+    private volatile Map<String, String> pinned = Map.of();
+
+    // Ids preloaded by the startup warm-up that have not been read yet
+    private final Set<String> warmed = ConcurrentHashMap.newKeySet();
+    private final Counter warmupHits;
+    private volatile long warmupLoaded;
+
+    static final String KEY_PREFIX = "url:";
+    static final String BLOOM_FILTER_KEY = "url_shortener:bloom_filter";
+    private static final int PRELOAD_CHUNK_SIZE = 500;
+
+    // Approximate retained size of a cache node plus the two String headers;
+    // ids and URLs are ASCII, so compact strings cost one byte per char.
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
 
     private static final Logger log = org.slf4j.LoggerFactory.getLogger(RedisUrlCache.class);
 
-    public RedisUrlCache(StringRedisTemplate redisTemplate, RedissonClient redisson, MetricsPort metrics) {
+    public RedisUrlCache(StringRedisTemplate redisTemplate, RedissonClient redisson, MetricsPort metrics,
+            BloomFilterMirror localBloomFilter, UrlCacheWriteBatcher writeBatcher, HotLinksPort hotLinks,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.l1.max-size:128MB}") DataSize l1MaxSize,
+            @Value("${app.cache.l1.expire-after-write:PT30M}") Duration l1ExpireAfterWrite,
+            @Value("${app.cache.l1.refresh-after-write:PT5M}") Duration l1RefreshAfterWrite,
+            @Value("${app.cache.l1.pinned.max-size:100}") int pinnedMaxSize) {
         this.redisTemplate = redisTemplate;
         this.redisson = redisson;
         this.metrics = metrics;
+        this.localBloomFilter = localBloomFilter;
+        this.writeBatcher = writeBatcher;
+        this.hotLinks = hotLinks;
+        this.pinnedMaxSize = pinnedMaxSize;
+
+        // Caffeine Local Cache: bounded by a byte budget (W-TinyLFU admission keeps
+        // the frequently used codes), hot keys are refreshed from Redis in the
+        // background before they expire.
+        this.refreshExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        Caffeine<String, String> builder = Caffeine.newBuilder()
+                .maximumWeight(l1MaxSize.toBytes())
+                .weigher((String id, String url) -> ENTRY_OVERHEAD_BYTES + id.length() + url.length())
+                .expireAfterWrite(l1ExpireAfterWrite)
+                .executor(refreshExecutor)
+                .recordStats();
+        if (!l1RefreshAfterWrite.isZero() && l1RefreshAfterWrite.compareTo(l1ExpireAfterWrite) < 0) {
+            builder.refreshAfterWrite(l1RefreshAfterWrite);
+        }
+        this.localCache = builder.build(id -> redisTemplate.opsForValue().get(KEY_PREFIX + id));
 
-        // Caffeine Local Cache: 100 items, 5 seconds TTL
-        this.localCache = Caffeine.newBuilder()
-                .maximumSize(100)
-                .expireAfterWrite(Duration.ofSeconds(5))
-                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "url.l1");
+        Gauge.builder("cache.l1.weighted.size", localCache,
+                cache -> cache.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0L))
+                        .orElse(0L)
+                        .doubleValue())
+                .description("Estimated bytes held by the local URL cache")
+                .baseUnit("bytes")
+                .tag("cache", "url.l1")
+                .register(meterRegistry);
+        Gauge.builder("cache.l1.pinned.size", this, cache -> cache.pinned.size())
+                .description("Hot links pinned in the local URL cache")
+                .tag("cache", "url.l1")
+                .register(meterRegistry);
+        this.warmupHits = Counter.builder("cache.warmup.hits.total")
+                .description("Preloaded ids read at least once after the startup warm-up")
+                .tag("cache", "url.l1")
+                .register(meterRegistry);
+        Gauge.builder("cache.warmup.hit.ratio", this,
+                cache -> cache.warmupLoaded == 0 ? 0 : cache.warmupHits.count() / cache.warmupLoaded)
+                .description("Share of the preloaded ids that have been read since startup")
+                .tag("cache", "url.l1")
+                .register(meterRegistry);
 
         // Bloom Filter: Expected 100M elements, 1% false positive probability
-        this.bloomFilter = redisson.getBloomFilter("url_shortener:bloom_filter");
+        this.bloomFilter = redisson.getBloomFilter(BLOOM_FILTER_KEY);
         try {
             this.bloomFilter.tryInit(100_000_000L, 0.01);
         } catch (org.redisson.client.RedisException e) {
@@ -53,27 +137,41 @@ public class RedisUrlCache implements UrlCachePort {
         }
     }
 
+    @PreDestroy
+    void shutdown() {
+        // Pending refreshes are only cache warm-ups; let them finish, accept no new ones
+        refreshExecutor.shutdown();
+    }
+
     @Override
     public String get(String id) {
         // 1. Check Local Cache (Hot Keys)
-        String localValue = localCache.getIfPresent(id);
+        String localValue = getIfPresentLocally(id);
         if (localValue != null) {
             return localValue;
         }
 
         // 2. Check Bloom Filter (Protection against Cache Penetration)
-        try {
-            if (!bloomFilter.contains(id)) {
+        if (localBloomFilter.isReady()) {
+            // In-process replica: no network round-trip for random scans
+            if (!localBloomFilter.mightContain(id)) {
                 metrics.recordBloomFilterRejection();
                 return null; // Definitely doesn't exist
             }
-        } catch (org.redisson.client.RedisException e) {
-            log.warn("Bloom Filter error during contains check. Skipping filter.", e);
-            // Continue to Redis check if Bloom Filter fails
+        } else {
+            try {
+                if (!bloomFilter.contains(id)) {
+                    metrics.recordBloomFilterRejection();
+                    return null; // Definitely doesn't exist
+                }
+            } catch (org.redisson.client.RedisException e) {
+                log.warn("Bloom Filter error during contains check. Skipping filter.", e);
+                // Continue to Redis check if Bloom Filter fails
+            }
         }
 
         // 3. Check Redis
-        String redisValue = redisTemplate.opsForValue().get("url:" + id);
+        String redisValue = redisTemplate.opsForValue().get(KEY_PREFIX + id);
 
         // Populate Local Cache if found
         if (redisValue != null) {
@@ -84,25 +182,120 @@ public class RedisUrlCache implements UrlCachePort {
     }
 
     @Override
-    public void put(String id, String originalUrl) {
-        // Add to Bloom Filter
-        try {
-            bloomFilter.add(id);
-        } catch (org.redisson.client.RedisException e) {
-            log.warn("Bloom Filter error during add. Skipping filter.", e);
-            // Continue without Bloom Filter if it fails
+    public String getIfPresentLocally(String id) {
+        String localValue = localCache.getIfPresent(id);
+        if (localValue == null) {
+            return pinned.get(id);
+        }
+        if (!warmed.isEmpty() && warmed.remove(id)) {
+            warmupHits.increment();
         }
+        return localValue;
+    }
 
-        // Add to Redis with Jitter (Protection against Cache Stampede)
-        long jitter = ThreadLocalRandom.current().nextLong(MAX_JITTER_SECONDS);
-        Duration ttl = BASE_TTL.plusSeconds(jitter);
+    /**
+     * Writes the entries to Redis and the Bloom filters only: links that were
+     * just created have not been requested yet, so they are left out of L1
+     * until their first miss.
+     */
+    @Override
+    public void putAll(Map<String, String> entries) {
+        entries.keySet().forEach(localBloomFilter::put);
+        writeBatcher.writeAll(entries);
+    }
 
-        redisTemplate.opsForValue().set("url:" + id, originalUrl, ttl);
+    @Override
+    public void put(String id, String originalUrl) {
+        // Add to the local Bloom replica; the shared Redis filter and the Redis
+        // entry (TTL with jitter) are written by the batcher, coalesced with
+        // concurrent populations into one pipeline
+        localBloomFilter.put(id);
+        writeBatcher.enqueue(id, originalUrl);
 
         // Add to Local Cache
         localCache.put(id, originalUrl);
+        if (pinned.containsKey(id)) {
+            Map<String, String> updated = new HashMap<>(pinned);
+            updated.put(id, originalUrl);
+            pinned = Map.copyOf(updated);
+        }
+    }
+
+    /**
+     * Pins the current top links of the last minute. Only links already held
+     * locally are pinned, so the refresh does no I/O; a hot link missing from
+     * L1 is loaded by its next redirect and pinned on the following refresh.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.l1.pinned.refresh-interval:PT10S}")
+    public void refreshPinned() {
+        Map<String, String> current = pinned;
+        Map<String, String> next = new HashMap<>();
+        for (HotLink link : hotLinks.topLinks(HotLinkWindow.LAST_MINUTE)) {
+            if (next.size() >= pinnedMaxSize) {
+                break;
+            }
+            String url = localCache.getIfPresent(link.shortCode());
+            if (url == null) {
+                url = current.get(link.shortCode());
+            }
+            if (url != null) {
+                next.put(link.shortCode(), url);
+            }
+        }
+        pinned = Map.copyOf(next);
+    }
+
+    /**
+     * @return up to {@code limit} ids held locally, pinned hot links first,
+     *         then the L1 entries Caffeine considers most frequently used
+     */
+    public List<String> hottestLocalIds(int limit) {
+        Set<String> ids = new LinkedHashSet<>(pinned.keySet());
+        localCache.policy().eviction()
+                .ifPresent(eviction -> ids.addAll(eviction.hottest(limit).keySet()));
+        return ids.stream().limit(limit).toList();
+    }
+
+    /**
+     * Loads the given ids from Redis into the local cache in one pipeline, one
+     * {@code MGET} per 500 ids. Ids missing in Redis are skipped; nothing is
+     * written back to Redis or the Bloom filters. Called once at startup.
+     *
+     * @return number of ids loaded
+     */
+    public int preload(List<String> ids) {
+        List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int from = 0; from < ids.size(); from += PRELOAD_CHUNK_SIZE) {
+                List<String> chunk = ids.subList(from, Math.min(ids.size(), from + PRELOAD_CHUNK_SIZE));
+                byte[][] keys = new byte[chunk.size()][];
+                for (int i = 0; i < keys.length; i++) {
+                    keys[i] = (KEY_PREFIX + chunk.get(i)).getBytes(StandardCharsets.UTF_8);
+                }
+                connection.stringCommands().mGet(keys);
+            }
+            return null;
+        });
+
+        List<Object> values = new ArrayList<>(ids.size());
+        replies.forEach(reply -> values.addAll((List<?>) reply));
+        int loaded = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            if (values.get(i) instanceof String url) {
+                localCache.put(ids.get(i), url);
+                warmed.add(ids.get(i));
+                loaded++;
+            }
+        }
+        warmupLoaded += loaded;
+        return loaded;
     }
 
+    /**
+     * Re-initializes the shared Redis filter and rebuilds the local replica from
+     * the repository. For production use prefer the {@code bloomfilter} actuator
+     * endpoint, which rebuilds the replica in the background without dropping
+     * protection.
+     */
     public void resetBloomFilter() {
         try {
             this.bloomFilter.delete();
@@ -110,5 +303,6 @@ public class RedisUrlCache implements UrlCachePort {
         } catch (Exception e) {
             log.error("Failed to reset Bloom Filter", e);
         }
+        localBloomFilter.rebuild();
     }
 }
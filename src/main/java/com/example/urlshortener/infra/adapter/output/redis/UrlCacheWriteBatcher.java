@@ -0,0 +1,217 @@
+package com.example.urlshortener.infra.adapter.output.redis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RedissonClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces the Redis writes of cache populations into pipelines.
+ *
+ * {@link RedisUrlCache#put} only updates the in-process tiers and queues the
+ * entry here. A single flusher thread takes the first queued entry, waits up
+ * to {@code window} for more (at most {@code max-size}) and writes the batch
+ * with one Bloom filter add (Redisson sends all bits in one batch) and one
+ * pipeline of {@code SET ... EX}, so many concurrent misses cost two
+ * round-trips in total and none on the request thread. Cache population is
+ * best effort: failed writes are logged and counted, and when the queue is
+ * full the caller writes its entry itself.
+ */
+@Component
+public class UrlCacheWriteBatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(UrlCacheWriteBatcher.class);
+
+    private static final Duration BASE_TTL = Duration.ofHours(24);
+    private static final long MAX_JITTER_SECONDS = 60;
+    private static final Duration IDLE_POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RBloomFilter<String> bloomFilter;
+    private final BlockingQueue<PendingWrite> queue;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSize;
+    private final Counter failures;
+
+    private volatile boolean running;
+    private Thread flusherThread;
+
+    public UrlCacheWriteBatcher(StringRedisTemplate redisTemplate, RedissonClient redisson,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.redis.write-batch.window:PT2MS}") Duration window,
+            @Value("${app.cache.redis.write-batch.max-size:256}") int maxBatchSize,
+            @Value("${app.cache.redis.write-batch.queue-capacity:10000}") int queueCapacity) {
+        this.redisTemplate = redisTemplate;
+        this.bloomFilter = redisson.getBloomFilter(RedisUrlCache.BLOOM_FILTER_KEY);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.batchSize = DistributionSummary.builder("cache.redis.write.batch.size")
+                .description("Cache populations written to Redis per pipeline")
+                .register(meterRegistry);
+        this.failures = Counter.builder("cache.redis.write.failures.total")
+                .description("Cache populations that could not be written to Redis")
+                .register(meterRegistry);
+        Gauge.builder("cache.redis.write.pending", queue, BlockingQueue::size)
+                .description("Cache populations waiting to be written to Redis")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a Redis write of the entry and its Bloom filter bit; writes it
+     * on the calling thread if the queue is full.
+     */
+    public void enqueue(String id, String originalUrl) {
+        PendingWrite write = new PendingWrite(id, originalUrl);
+        if (!queue.offer(write)) {
+            write(List.of(write));
+        }
+    }
+
+    /**
+     * Writes many entries on the calling thread with one Bloom filter add and
+     * one pipeline, bypassing the queue (a bulk shorten would otherwise fill
+     * it and push single populations onto the synchronous path).
+     */
+    public void writeAll(Map<String, String> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<PendingWrite> batch = new ArrayList<>(entries.size());
+        entries.forEach((id, originalUrl) -> batch.add(new PendingWrite(id, originalUrl)));
+        write(batch);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusherThread = Thread.ofVirtual().name("url-cache-write-batcher").start(this::runLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusherThread != null) {
+            flusherThread.interrupt();
+            try {
+                flusherThread.join(IDLE_POLL_TIMEOUT.toMillis() * 2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // One last attempt for what is still queued
+        List<PendingWrite> batch = new ArrayList<>();
+        while (queue.drainTo(batch, maxBatchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                if (collect(batch, IDLE_POLL_TIMEOUT) > 0) {
+                    write(batch);
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                log.error("Unexpected error in URL cache write batcher", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Waits up to {@code idleTimeout} for a first write, then up to the batch
+     * window for more.
+     *
+     * @return number of writes collected
+     */
+    int collect(List<PendingWrite> batch, Duration idleTimeout) throws InterruptedException {
+        PendingWrite first = queue.poll(idleTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return 0;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                break;
+            }
+            PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch.size();
+    }
+
+    void write(List<PendingWrite> batch) {
+        batchSize.record(batch.size());
+        List<String> ids = new ArrayList<>(batch.size());
+        batch.forEach(write -> ids.add(write.id()));
+        try {
+            bloomFilter.add(ids);
+        } catch (org.redisson.client.RedisException e) {
+            log.warn("Bloom Filter error during add of {} ids. Skipping filter.", ids.size(), e);
+            // Continue without Bloom Filter if it fails
+        }
+
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (PendingWrite write : batch) {
+                    // TTL with jitter (Protection against Cache Stampede)
+                    long ttlSeconds = BASE_TTL.toSeconds() + random.nextLong(MAX_JITTER_SECONDS);
+                    connection.stringCommands().set(
+                            (RedisUrlCache.KEY_PREFIX + write.id()).getBytes(StandardCharsets.UTF_8),
+                            write.originalUrl().getBytes(StandardCharsets.UTF_8),
+                            Expiration.seconds(ttlSeconds), SetOption.upsert());
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            failures.increment(batch.size());
+            log.warn("Failed to write {} cache entries to Redis. Skipping.", batch.size(), e);
+        }
+    }
+
+    record PendingWrite(String id, String originalUrl) {
+    }
+}
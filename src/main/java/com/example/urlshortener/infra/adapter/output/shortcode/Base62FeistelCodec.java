@@ -0,0 +1,159 @@
+package com.example.urlshortener.infra.adapter.output.shortcode;
+
+import com.example.urlshortener.core.ports.outgoing.ShortCodeCodec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Table-driven Base62 codec over a keyed Feistel permutation.
+ *
+ * IDs below 62^7 (~3.5 trillion) are permuted within [0, 62^7) by a 42-bit
+ * Feistel network with cycle-walking and written as exactly 7 characters, so
+ * consecutive IDs give unrelated-looking codes of the same length as Hashids.
+ * Larger IDs (e.g. the emergency fallback IDs) go through a 64-bit Feistel
+ * network and are written as 11 characters. Both permutations are bijective,
+ * so {@link #decode} recovers the ID and rejects anything it could not have
+ * produced.
+ *
+ * Encoding does no hashing of strings and allocates only a small scratch array
+ * and the resulting Latin-1 string. This is obfuscation, not encryption: it
+ * hides the sequence from casual observers, nothing more.
+ */
+public final class Base62FeistelCodec implements ShortCodeCodec {
+
+    private static final byte[] ALPHABET =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DIGITS = new byte[128];
+
+    static final int SHORT_LENGTH = 7;
+    static final int LONG_LENGTH = 11;
+    static final long SHORT_LIMIT = 3_521_614_606_208L; // 62^7
+
+    private static final int SHORT_HALF_BITS = 21; // 2^42 > 62^7
+    private static final long SHORT_HALF_MASK = (1L << SHORT_HALF_BITS) - 1;
+    private static final int LONG_HALF_BITS = 32;
+    private static final long LONG_HALF_MASK = 0xFFFF_FFFFL;
+    private static final int ROUNDS = 4;
+
+    static {
+        java.util.Arrays.fill(DIGITS, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DIGITS[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    private final long[] roundKeys = new long[ROUNDS];
+
+    public Base62FeistelCodec(String salt) {
+        long seed = 0xCBF29CE484222325L;
+        for (int i = 0; i < salt.length(); i++) {
+            seed = (seed ^ salt.charAt(i)) * 0x100000001B3L;
+        }
+        for (int i = 0; i < ROUNDS; i++) {
+            seed += 0x9E3779B97F4A7C15L;
+            roundKeys[i] = mix64(seed);
+        }
+    }
+
+    @Override
+    public String encode(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("ID must not be negative: " + id);
+        }
+
+        byte[] buffer;
+        if (id < SHORT_LIMIT) {
+            long permuted = id;
+            do {
+                permuted = feistel(permuted, SHORT_HALF_BITS, SHORT_HALF_MASK);
+            } while (permuted >= SHORT_LIMIT);
+
+            buffer = new byte[SHORT_LENGTH];
+            for (int i = SHORT_LENGTH - 1; i >= 0; i--) {
+                buffer[i] = ALPHABET[(int) (permuted % 62)];
+                permuted /= 62;
+            }
+        } else {
+            long permuted = feistel(id, LONG_HALF_BITS, LONG_HALF_MASK);
+
+            buffer = new byte[LONG_LENGTH];
+            for (int i = LONG_LENGTH - 1; i >= 0; i--) {
+                buffer[i] = ALPHABET[(int) Long.remainderUnsigned(permuted, 62)];
+                permuted = Long.divideUnsigned(permuted, 62);
+            }
+        }
+        return new String(buffer, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public long decode(String code) {
+        if (code == null) {
+            return -1;
+        }
+        if (code.length() == SHORT_LENGTH) {
+            long value = 0;
+            for (int i = 0; i < SHORT_LENGTH; i++) {
+                int digit = digit(code.charAt(i));
+                if (digit < 0) {
+                    return -1;
+                }
+                value = value * 62 + digit;
+            }
+            // value < 62^7 by construction
+            do {
+                value = inverseFeistel(value, SHORT_HALF_BITS, SHORT_HALF_MASK);
+            } while (value >= SHORT_LIMIT);
+            return value;
+        }
+        if (code.length() == LONG_LENGTH) {
+            long value = 0;
+            for (int i = 0; i < LONG_LENGTH; i++) {
+                int digit = digit(code.charAt(i));
+                if (digit < 0 || Long.compareUnsigned(value, Long.divideUnsigned(-1L - digit, 62)) > 0) {
+                    return -1; // bad character or beyond 64 bits
+                }
+                value = value * 62 + digit;
+            }
+            long id = inverseFeistel(value, LONG_HALF_BITS, LONG_HALF_MASK);
+            // Short IDs are never written in the long form
+            return id >= SHORT_LIMIT ? id : -1;
+        }
+        return -1;
+    }
+
+    private long feistel(long value, int halfBits, long halfMask) {
+        long left = (value >>> halfBits) & halfMask;
+        long right = value & halfMask;
+        for (int i = 0; i < ROUNDS; i++) {
+            long next = left ^ (round(right, roundKeys[i]) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private long inverseFeistel(long value, int halfBits, long halfMask) {
+        long left = (value >>> halfBits) & halfMask;
+        long right = value & halfMask;
+        for (int i = ROUNDS - 1; i >= 0; i--) {
+            long previous = right ^ (round(left, roundKeys[i]) & halfMask);
+            right = left;
+            left = previous;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private static int digit(char c) {
+        return c < 128 ? DIGITS[c] : -1;
+    }
+
+    private static long round(long half, long key) {
+        return mix64(half ^ key);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
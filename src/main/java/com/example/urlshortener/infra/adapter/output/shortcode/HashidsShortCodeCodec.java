@@ -0,0 +1,32 @@
+package com.example.urlshortener.infra.adapter.output.shortcode;
+
+import com.example.urlshortener.core.ports.outgoing.ShortCodeCodec;
+import org.hashids.Hashids;
+
+/**
+ * {@link ShortCodeCodec} backed by Hashids (the original encoding; codes are
+ * 7+ characters).
+ */
+public class HashidsShortCodeCodec implements ShortCodeCodec {
+
+    private final Hashids hashids;
+
+    public HashidsShortCodeCodec(Hashids hashids) {
+        this.hashids = hashids;
+    }
+
+    @Override
+    public String encode(long id) {
+        return hashids.encode(id);
+    }
+
+    @Override
+    public long decode(String code) {
+        try {
+            long[] numbers = hashids.decode(code);
+            return numbers.length == 1 ? numbers[0] : -1;
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
@@ -43,6 +43,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/{id}").permitAll() // Redirect
                         .requestMatchers(HttpMethod.POST, "/api/v1/urls").permitAll() // Create Short URL (Anonymous
                                                                                       // allowed)
+                        .requestMatchers("/actuator/hotlinks/**").hasRole("ADMIN") // Traffic data
+                        .requestMatchers(HttpMethod.POST, "/actuator/**").hasRole("ADMIN") // Ops actions
                         .requestMatchers("/actuator/**").permitAll() // Health checks
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll() // Swagger
 
@@ -1,28 +1,61 @@
 package com.example.urlshortener.infra.config;
 
 import com.example.urlshortener.core.idgeneration.UrlIdGenerator;
+import com.example.urlshortener.core.ports.outgoing.ClickRollupRepositoryPort;
+import com.example.urlshortener.core.ports.outgoing.IdGeneratorPort;
+import com.example.urlshortener.core.ports.outgoing.LinkStatsCachePort;
 import com.example.urlshortener.core.ports.outgoing.MetricsPort;
+import com.example.urlshortener.core.ports.outgoing.NegativeUrlCachePort;
+import com.example.urlshortener.core.ports.outgoing.PendingClickCountsPort;
+import com.example.urlshortener.core.ports.outgoing.UniqueVisitorRepositoryPort;
 import com.example.urlshortener.core.ports.outgoing.UrlCachePort;
 import com.example.urlshortener.core.ports.outgoing.UrlRepositoryPort;
 import com.example.urlshortener.core.ports.outgoing.UserRepositoryPort;
+import com.example.urlshortener.core.service.BulkShortenService;
+import com.example.urlshortener.core.service.LinkStatsService;
 import com.example.urlshortener.core.service.QuotaService;
 import com.example.urlshortener.core.validation.ReservedWordsValidator;
 import com.example.urlshortener.core.service.UrlShortenerService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Clock;
+
 @Configuration
 public class ServiceConfig {
 
     @Bean
     public UrlShortenerService urlShortenerService(UrlRepositoryPort urlRepository,
             UrlCachePort urlCache,
+            NegativeUrlCachePort negativeCache,
             MetricsPort metrics,
             UrlIdGenerator urlIdGenerator,
             QuotaService quotaService,
             UserRepositoryPort userRepository,
-            ReservedWordsValidator reservedWordsValidator) {
-        return new UrlShortenerService(urlRepository, urlCache, metrics, urlIdGenerator, quotaService, userRepository,
-                reservedWordsValidator);
+            ReservedWordsValidator reservedWordsValidator,
+            @Value("${app.shortener.dedup.enabled:false}") boolean dedupByUrl) {
+        return new UrlShortenerService(urlRepository, urlCache, negativeCache, metrics, urlIdGenerator, quotaService,
+                userRepository, reservedWordsValidator, dedupByUrl);
+    }
+
+    @Bean
+    public BulkShortenService bulkShortenService(IdGeneratorPort idGenerator,
+            UrlRepositoryPort urlRepository,
+            UrlCachePort urlCache,
+            NegativeUrlCachePort negativeCache,
+            MetricsPort metrics,
+            @Value("${app.shortener.bulk.max-size:10000}") int maxBatchSize) {
+        return new BulkShortenService(idGenerator, urlRepository, urlCache, negativeCache, metrics, maxBatchSize);
+    }
+
+    @Bean
+    public LinkStatsService linkStatsService(UrlRepositoryPort urlRepository,
+            ClickRollupRepositoryPort rollupRepository,
+            PendingClickCountsPort pendingCounts,
+            LinkStatsCachePort statsCache,
+            UniqueVisitorRepositoryPort visitorRepository) {
+        return new LinkStatsService(urlRepository, rollupRepository, pendingCounts, statsCache, visitorRepository,
+                Clock.systemUTC());
     }
 }
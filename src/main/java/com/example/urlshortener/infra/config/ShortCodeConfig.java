@@ -1,5 +1,8 @@
 package com.example.urlshortener.infra.config;
 
+import com.example.urlshortener.core.ports.outgoing.ShortCodeCodec;
+import com.example.urlshortener.infra.adapter.output.shortcode.Base62FeistelCodec;
+import com.example.urlshortener.infra.adapter.output.shortcode.HashidsShortCodeCodec;
 import org.hashids.Hashids;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -16,4 +19,19 @@ public class ShortCodeConfig {
         // MinLength 7 guarantees that even ID "1" generates something like "a1b2c3d"
         return new Hashids(salt, 7);
     }
+
+    /**
+     * {@code hashids} (default) keeps the original codes; {@code base62} is a much
+     * cheaper keyed Feistel + Base62 encoding. Pick one before the first deploy:
+     * switching on a populated dataset can produce codes that already exist.
+     */
+    @Bean
+    public ShortCodeCodec shortCodeCodec(Hashids hashids,
+            @Value("${app.shortener.codec:hashids}") String codec) {
+        return switch (codec.toLowerCase()) {
+            case "hashids" -> new HashidsShortCodeCodec(hashids);
+            case "base62" -> new Base62FeistelCodec(salt);
+            default -> throw new IllegalArgumentException("Unknown short code codec: " + codec);
+        };
+    }
 }
@@ -16,6 +16,8 @@ public class MicrometerMetricsAdapter implements MetricsPort {
     private final Counter cacheHitsCounter;
     private final Counter cacheMissesCounter;
     private final Counter bloomFilterRejectionsCounter;
+    private final Counter coalescedLoadsCounter;
+    private final Counter negativeCacheHitsCounter;
 
     public MicrometerMetricsAdapter(MeterRegistry registry) {
         this.urlsShortenedCounter = Counter.builder("urls.shortened.total")
@@ -37,6 +39,16 @@ public class MicrometerMetricsAdapter implements MetricsPort {
                 .description("Total number of requests rejected by Bloom Filter")
                 .tag("protection", "cache-penetration")
                 .register(registry);
+
+        this.coalescedLoadsCounter = Counter.builder("cache.loads.coalesced.total")
+                .description("Total number of cache-miss lookups that shared an in-flight load")
+                .tag("protection", "thundering-herd")
+                .register(registry);
+
+        this.negativeCacheHitsCounter = Counter.builder("cache.negative.hits.total")
+                .description("Total number of lookups answered as not found by the negative cache")
+                .tag("protection", "cache-penetration")
+                .register(registry);
     }
 
     @Override
@@ -58,4 +70,14 @@ public class MicrometerMetricsAdapter implements MetricsPort {
     public void recordBloomFilterRejection() {
         bloomFilterRejectionsCounter.increment();
     }
+
+    @Override
+    public void recordCoalescedLoad() {
+        coalescedLoadsCounter.increment();
+    }
+
+    @Override
+    public void recordNegativeCacheHit() {
+        negativeCacheHitsCounter.increment();
+    }
 }
@@ -2,29 +2,49 @@ package com.example.urlshortener.infra.security;
 
 import com.example.urlshortener.core.model.User;
 import com.example.urlshortener.infra.adapter.output.persistence.MongoUserRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
+    static final String ROLE_ADMIN = "ROLE_ADMIN";
+
     private final MongoUserRepository userRepository;
+    private final Set<String> adminEmails;
+
+    public CustomUserDetailsService(MongoUserRepository userRepository,
+            @Value("${app.security.admin-emails:}") String adminEmails) {
+        this.userRepository = userRepository;
+        this.adminEmails = Arrays.stream(StringUtils.commaDelimitedListToStringArray(adminEmails))
+                .map(String::trim)
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
+        // Self-registered users get no role; ops endpoints need ROLE_ADMIN.
+        // Exact match: stored emails are case-sensitive, so "OPS@corp.com" can be
+        // registered by anyone next to an admin "ops@corp.com"
+        boolean admin = adminEmails.contains(user.email());
         return org.springframework.security.core.userdetails.User.builder()
                 .username(user.email())
                 .password(user.passwordHash())
-                .authorities(Collections.emptyList()) // Roles can be added here later
+                .authorities(admin ? AuthorityUtils.createAuthorityList(ROLE_ADMIN) : Collections.emptyList())
                 .build();
     }
 }
@@ -0,0 +1,76 @@
+package com.example.urlshortener.core.idgeneration;
+
+import com.example.urlshortener.core.model.User;
+import com.example.urlshortener.core.ports.outgoing.ShortCodeCodec;
+import com.example.urlshortener.core.ports.outgoing.UserRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VanityUrlIdStrategyTest {
+
+    private static final String USER_ID = "user-1";
+    private static final String ALIAS = "summer1";
+
+    @Mock
+    private UserRepositoryPort userRepository;
+    @Mock
+    private ShortCodeCodec shortCodeCodec;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findById(USER_ID))
+                .thenReturn(Optional.of(User.createFreeUser(USER_ID, "user@example.com", "User", "hash")));
+    }
+
+    @Test
+    @DisplayName("Should accept a codec-shaped alias with string ids")
+    void shouldAcceptCanonicalAliasWithStringIds() {
+        // Given
+        VanityUrlIdStrategy strategy = new VanityUrlIdStrategy(userRepository, shortCodeCodec, false);
+
+        // When
+        String id = strategy.generateId(ALIAS, USER_ID);
+
+        // Then
+        assertThat(id).isEqualTo(ALIAS);
+        verifyNoInteractions(shortCodeCodec);
+    }
+
+    @Test
+    @DisplayName("Should reject a codec-shaped alias with numeric ids")
+    void shouldRejectCanonicalAliasWithNumericIds() {
+        // Given
+        VanityUrlIdStrategy strategy = new VanityUrlIdStrategy(userRepository, shortCodeCodec, true);
+        when(shortCodeCodec.isCanonical(ALIAS)).thenReturn(true);
+
+        // When / Then
+        assertThatThrownBy(() -> strategy.generateId(ALIAS, USER_ID))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("conflicts with generated short codes");
+    }
+
+    @Test
+    @DisplayName("Should accept a non-canonical alias with numeric ids")
+    void shouldAcceptNonCanonicalAliasWithNumericIds() {
+        // Given
+        VanityUrlIdStrategy strategy = new VanityUrlIdStrategy(userRepository, shortCodeCodec, true);
+        when(shortCodeCodec.isCanonical("my-summer-sale")).thenReturn(false);
+
+        // When
+        String id = strategy.generateId("my-summer-sale", USER_ID);
+
+        // Then
+        assertThat(id).isEqualTo("my-summer-sale");
+    }
+}
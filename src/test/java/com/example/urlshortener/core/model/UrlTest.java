@@ -87,4 +87,31 @@ class UrlTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Invalid URL format");
     }
+
+    @Test
+    @DisplayName("Should normalize scheme, host, default port and empty path")
+    void shouldNormalizeEquivalentUrls() {
+        // When / Then
+        assertThat(new Url("https://Example.COM").normalized()).isEqualTo("https://example.com/");
+        assertThat(new Url("https://example.com:443/a").normalized()).isEqualTo("https://example.com/a");
+        assertThat(new Url("http://example.com:8080/a?q=1#top").normalized())
+                .isEqualTo("http://example.com:8080/a?q=1#top");
+    }
+
+    @Test
+    @DisplayName("Should keep path and query case when normalizing")
+    void shouldKeepPathCase() {
+        // When / Then
+        assertThat(new Url("https://EXAMPLE.com/Path?Q=V").normalized()).isEqualTo("https://example.com/Path?Q=V");
+    }
+
+    @Test
+    @DisplayName("Should return unparseable URLs unchanged when normalizing")
+    void shouldKeepUnparseableUrls() {
+        // Given
+        String raw = "https://example.com/a b|c";
+
+        // When / Then
+        assertThat(new Url(raw).normalized()).isEqualTo(raw);
+    }
 }
@@ -0,0 +1,143 @@
+package com.example.urlshortener.core.service;
+
+import com.example.urlshortener.core.model.BulkShortenResult;
+import com.example.urlshortener.core.model.ShortUrl;
+import com.example.urlshortener.core.ports.outgoing.IdGeneratorPort;
+import com.example.urlshortener.core.ports.outgoing.MetricsPort;
+import com.example.urlshortener.core.ports.outgoing.NegativeUrlCachePort;
+import com.example.urlshortener.core.ports.outgoing.UrlCachePort;
+import com.example.urlshortener.core.ports.outgoing.UrlRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BulkShortenService Tests")
+@SuppressWarnings("unchecked")
+class BulkShortenServiceTest {
+
+    private static final String USER_ID = "user-1";
+
+    @Mock
+    private IdGeneratorPort idGenerator;
+
+    @Mock
+    private UrlRepositoryPort urlRepository;
+
+    @Mock
+    private UrlCachePort urlCache;
+
+    @Mock
+    private NegativeUrlCachePort negativeCache;
+
+    @Mock
+    private MetricsPort metrics;
+
+    private BulkShortenService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BulkShortenService(idGenerator, urlRepository, urlCache, negativeCache, metrics, 3);
+    }
+
+    @Test
+    @DisplayName("Should reserve one ID range, save once and populate the cache once")
+    void shouldShortenBatchInOnePass() {
+        // Given
+        when(idGenerator.generateIds(2)).thenReturn(List.of("id1", "id2"));
+        when(urlRepository.saveAll(any())).thenReturn(Set.of());
+
+        // When
+        List<BulkShortenResult> results = service.shortenAll(
+                List.of("https://a.example", "https://b.example"), USER_ID);
+
+        // Then
+        assertThat(results).extracting(result -> result.shortUrl().id()).containsExactly("id1", "id2");
+        ArgumentCaptor<List<ShortUrl>> saved = ArgumentCaptor.forClass(List.class);
+        verify(urlRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(ShortUrl::originalUrl)
+                .containsExactly("https://a.example", "https://b.example");
+        assertThat(saved.getValue()).allSatisfy(shortUrl -> {
+            assertThat(shortUrl.userId()).isEqualTo(USER_ID);
+            assertThat(shortUrl.isCustomAlias()).isFalse();
+        });
+        verify(negativeCache).invalidateAll(Set.of("id1", "id2"));
+        verify(urlCache).putAll(Map.of("id1", "https://a.example", "id2", "https://b.example"));
+        verify(metrics, times(2)).recordUrlShortened();
+    }
+
+    @Test
+    @DisplayName("Should report invalid URLs in place without spending IDs on them")
+    void shouldReportInvalidUrlsInPlace() {
+        // Given
+        when(idGenerator.generateIds(1)).thenReturn(List.of("id1"));
+        when(urlRepository.saveAll(any())).thenReturn(Set.of());
+
+        // When
+        List<BulkShortenResult> results = service.shortenAll(
+                Arrays.asList("ftp://bad.example", "https://ok.example", null), USER_ID);
+
+        // Then
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).isCreated()).isFalse();
+        assertThat(results.get(0).originalUrl()).isEqualTo("ftp://bad.example");
+        assertThat(results.get(0).error()).contains("http://");
+        assertThat(results.get(1).shortUrl().id()).isEqualTo("id1");
+        assertThat(results.get(2).isCreated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fail only the URLs rejected by the repository")
+    void shouldFailOnlyRejectedUrls() {
+        // Given
+        when(idGenerator.generateIds(2)).thenReturn(List.of("id1", "id2"));
+        when(urlRepository.saveAll(any())).thenReturn(Set.of(0));
+
+        // When
+        List<BulkShortenResult> results = service.shortenAll(
+                List.of("https://a.example", "https://b.example"), USER_ID);
+
+        // Then
+        assertThat(results.get(0).error()).isEqualTo(BulkShortenService.REJECTED_ERROR);
+        assertThat(results.get(1).shortUrl().id()).isEqualTo("id2");
+        verify(urlCache).putAll(Map.of("id2", "https://b.example"));
+        verify(metrics, times(1)).recordUrlShortened();
+    }
+
+    @Test
+    @DisplayName("Should not touch the stores when no URL is valid")
+    void shouldSkipStoresWhenNothingIsValid() {
+        // When
+        List<BulkShortenResult> results = service.shortenAll(List.of("not-a-url"), USER_ID);
+
+        // Then
+        assertThat(results).singleElement().satisfies(result -> assertThat(result.isCreated()).isFalse());
+        verifyNoInteractions(idGenerator, urlRepository, urlCache, negativeCache, metrics);
+    }
+
+    @Test
+    @DisplayName("Should reject batches larger than the maximum")
+    void shouldRejectOversizedBatch() {
+        // When/Then
+        assertThatThrownBy(() -> service.shortenAll(
+                List.of("https://a.example", "https://b.example", "https://c.example", "https://d.example"),
+                USER_ID))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("max 3");
+        verifyNoInteractions(idGenerator, urlRepository);
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.urlshortener.core.service;
+
+import com.example.urlshortener.core.exception.LinkAccessDeniedException;
+import com.example.urlshortener.core.exception.UrlNotFoundException;
+import com.example.urlshortener.core.model.ClickBreakdown;
+import com.example.urlshortener.core.model.ClickBucket;
+import com.example.urlshortener.core.model.ClickCount;
+import com.example.urlshortener.core.model.LinkStats;
+import com.example.urlshortener.core.model.ShortUrl;
+import com.example.urlshortener.core.model.StatsGranularity;
+import com.example.urlshortener.core.model.UniqueVisitors;
+import com.example.urlshortener.core.model.UserAgentInfo;
+import com.example.urlshortener.core.model.UserAgentInfo.Browser;
+import com.example.urlshortener.core.model.UserAgentInfo.Device;
+import com.example.urlshortener.core.ports.outgoing.ClickRollupRepositoryPort;
+import com.example.urlshortener.core.ports.outgoing.LinkStatsCachePort;
+import com.example.urlshortener.core.ports.outgoing.PendingClickCountsPort;
+import com.example.urlshortener.core.ports.outgoing.UniqueVisitorRepositoryPort;
+import com.example.urlshortener.core.ports.outgoing.UrlRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LinkStatsService Tests")
+class LinkStatsServiceTest {
+
+    private static final String TEST_ID = "abc123";
+    private static final String OWNER_ID = "user-1";
+    private static final long HOUR = 3_600_000L;
+    private static final Instant NOW = Instant.parse("2024-05-01T10:30:00Z");
+    private static final UserAgentInfo MOBILE_CHROME = new UserAgentInfo(Browser.CHROME, Device.MOBILE, false);
+
+    @Mock
+    private UrlRepositoryPort urlRepository;
+
+    @Mock
+    private ClickRollupRepositoryPort rollupRepository;
+
+    @Mock
+    private PendingClickCountsPort pendingCounts;
+
+    @Mock
+    private LinkStatsCachePort statsCache;
+
+    @Mock
+    private UniqueVisitorRepositoryPort visitorRepository;
+
+    private LinkStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LinkStatsService(urlRepository, rollupRepository, pendingCounts, statsCache,
+                visitorRepository, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should merge flushed rollups with the pending live tail")
+    void shouldMergeRollupsAndPendingCounts() {
+        // Given
+        Instant tenOClock = Instant.parse("2024-05-01T10:00:00Z");
+        Instant nineOClock = Instant.parse("2024-05-01T09:00:00Z");
+        givenOwnedLink();
+        when(rollupRepository.findBuckets(eq(TEST_ID), eq(StatsGranularity.HOUR), any(), any())).thenReturn(List.of(
+                new ClickBucket(nineOClock, ClickBreakdown.of(UserAgentInfo.UNKNOWN, 3)),
+                new ClickBucket(tenOClock, ClickBreakdown.of(MOBILE_CHROME, 5))));
+        when(pendingCounts.pendingCounts(TEST_ID)).thenReturn(List.of(
+                new ClickCount(TEST_ID, tenOClock.toEpochMilli() / HOUR, MOBILE_CHROME, 2)));
+
+        // When
+        LinkStats stats = service.getStats(TEST_ID, StatsGranularity.HOUR, null, null, OWNER_ID);
+
+        // Then
+        assertThat(stats.from()).isEqualTo(Instant.parse("2024-04-30T11:00:00Z"));
+        assertThat(stats.to()).isEqualTo(Instant.parse("2024-05-01T11:00:00Z"));
+        assertThat(stats.series()).extracting(ClickBucket::start).containsExactly(nineOClock, tenOClock);
+        assertThat(stats.series().get(1).counts().clicks()).isEqualTo(7);
+        assertThat(stats.totals().clicks()).isEqualTo(10);
+        assertThat(stats.totals().devices()).isEqualTo(Map.of(Device.OTHER, 3L, Device.MOBILE, 7L));
+        assertThat(stats.totals().browsers()).isEqualTo(Map.of(Browser.OTHER, 3L, Browser.CHROME, 7L));
+        verify(statsCache).put(OWNER_ID, stats);
+    }
+
+    @Test
+    @DisplayName("Should read the live tail before the rollups")
+    void shouldReadPendingCountsBeforeRollups() {
+        // Given
+        givenOwnedLink();
+        Instant from = Instant.parse("2024-05-01T00:00:00Z");
+        Instant to = Instant.parse("2024-05-02T00:00:00Z");
+        when(pendingCounts.pendingCounts(TEST_ID)).thenReturn(List.of());
+        when(rollupRepository.findBuckets(TEST_ID, StatsGranularity.DAY, from, to)).thenReturn(List.of());
+
+        // When
+        service.getStats(TEST_ID, StatsGranularity.DAY, from, to, OWNER_ID);
+
+        // Then
+        InOrder inOrder = inOrder(pendingCounts, rollupRepository);
+        inOrder.verify(pendingCounts).pendingCounts(TEST_ID);
+        inOrder.verify(rollupRepository).findBuckets(TEST_ID, StatsGranularity.DAY, from, to);
+    }
+
+    @Test
+    @DisplayName("Should fold pending hours into daily buckets and skip those out of range")
+    void shouldBucketPendingCountsByDay() {
+        // Given
+        givenOwnedLink();
+        Instant from = Instant.parse("2024-05-01T00:00:00Z");
+        Instant to = Instant.parse("2024-05-02T00:00:00Z");
+        when(rollupRepository.findBuckets(TEST_ID, StatsGranularity.DAY, from, to)).thenReturn(List.of());
+        when(pendingCounts.pendingCounts(TEST_ID)).thenReturn(List.of(
+                new ClickCount(TEST_ID, from.toEpochMilli() / HOUR + 9, MOBILE_CHROME, 1),
+                new ClickCount(TEST_ID, from.toEpochMilli() / HOUR + 10, MOBILE_CHROME, 1),
+                new ClickCount(TEST_ID, from.toEpochMilli() / HOUR - 1, MOBILE_CHROME, 4)));
+
+        // When
+        LinkStats stats = service.getStats(TEST_ID, StatsGranularity.DAY, from, to, OWNER_ID);
+
+        // Then
+        assertThat(stats.series()).hasSize(1);
+        assertThat(stats.series().get(0).start()).isEqualTo(from);
+        assertThat(stats.totals().clicks()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should serve a cached response without reading the rollups")
+    void shouldReturnCachedStats() {
+        // Given
+        LinkStats cached = new LinkStats(TEST_ID, StatsGranularity.HOUR, NOW, NOW, ClickBreakdown.EMPTY, List.of());
+        when(statsCache.get(eq(OWNER_ID), eq(TEST_ID), eq(StatsGranularity.HOUR), any(), any()))
+                .thenReturn(Optional.of(cached));
+
+        // When
+        LinkStats stats = service.getStats(TEST_ID, StatsGranularity.HOUR, null, null, OWNER_ID);
+
+        // Then
+        assertThat(stats).isSameAs(cached);
+        verifyNoInteractions(urlRepository, rollupRepository, pendingCounts);
+    }
+
+    @Test
+    @DisplayName("Should deny statistics of a link owned by another user")
+    void shouldDenyNonOwner() {
+        // Given
+        givenOwnedLink();
+
+        // When/Then
+        assertThatThrownBy(() -> service.getStats(TEST_ID, StatsGranularity.HOUR, null, null, "someone-else"))
+                .isInstanceOf(LinkAccessDeniedException.class);
+        assertThatThrownBy(() -> service.getStats(TEST_ID, StatsGranularity.HOUR, null, null, null))
+                .isInstanceOf(LinkAccessDeniedException.class);
+        verifyNoInteractions(rollupRepository);
+        verify(statsCache, never()).put(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should throw UrlNotFoundException for an unknown link")
+    void shouldThrowWhenLinkMissing() {
+        // Given
+        when(urlRepository.findById(TEST_ID)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThatThrownBy(() -> service.getStats(TEST_ID, StatsGranularity.DAY, null, null, OWNER_ID))
+                .isInstanceOf(UrlNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject empty and too wide ranges")
+    void shouldRejectInvalidRanges() {
+        assertThatThrownBy(() -> service.getStats(TEST_ID, StatsGranularity.HOUR, NOW, NOW.minusSeconds(7_200),
+                OWNER_ID)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.getStats(TEST_ID, StatsGranularity.HOUR,
+                NOW.minusSeconds(32L * 24 * 3_600), NOW, OWNER_ID)).isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(urlRepository, rollupRepository);
+    }
+
+    @Test
+    @DisplayName("Should count unique visitors over whole days for the owner")
+    void shouldCountUniqueVisitors() {
+        // Given
+        givenOwnedLink();
+        long today = NOW.toEpochMilli() / (24 * HOUR);
+        UniqueVisitors visitors = new UniqueVisitors(TEST_ID, NOW, NOW, 42, List.of());
+        when(visitorRepository.count(TEST_ID, today - 29, today + 1)).thenReturn(visitors);
+
+        // When
+        UniqueVisitors result = service.getUniqueVisitors(TEST_ID, null, null, OWNER_ID);
+
+        // Then
+        assertThat(result).isSameAs(visitors);
+    }
+
+    @Test
+    @DisplayName("Should deny unique visitors of a link owned by another user")
+    void shouldDenyUniqueVisitorsToNonOwner() {
+        // Given
+        givenOwnedLink();
+
+        // When/Then
+        assertThatThrownBy(() -> service.getUniqueVisitors(TEST_ID, null, null, "someone-else"))
+                .isInstanceOf(LinkAccessDeniedException.class);
+        verifyNoInteractions(visitorRepository);
+    }
+
+    private void givenOwnedLink() {
+        when(urlRepository.findById(TEST_ID)).thenReturn(Optional.of(
+                new ShortUrl(TEST_ID, "https://www.example.com", LocalDateTime.now(), OWNER_ID)));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.urlshortener.core.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("Should run the loader once for concurrent callers of the same key")
+    void shouldCoalesceConcurrentLoads() throws Exception {
+        // Given
+        AtomicInteger coalesced = new AtomicInteger();
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(coalesced::incrementAndGet);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        int followers = 8;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return "value";
+            }));
+            assertThat(loaderStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < followers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                    loads.incrementAndGet();
+                    return "other";
+                })));
+            }
+            while (coalesced.get() < followers) {
+                Thread.onSpinWait();
+            }
+            releaseLoader.countDown();
+
+            // Then
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(coalesced).hasValue(followers);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not cache results once the load has completed")
+    void shouldLoadAgainAfterCompletion() {
+        // Given
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(() -> { });
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        singleFlight.execute("key", loads::incrementAndGet);
+        Integer second = singleFlight.execute("key", loads::incrementAndGet);
+
+        // Then
+        assertThat(second).isEqualTo(2);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should propagate the loader exception and release the key")
+    void shouldPropagateLoaderException() {
+        // Given
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(() -> { });
+
+        // When / Then
+        assertThatThrownBy(() -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        assertThat(singleFlight.inFlightCount()).isZero();
+        assertThat(singleFlight.execute("key", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
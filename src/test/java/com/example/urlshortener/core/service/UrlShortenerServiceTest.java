@@ -1,8 +1,11 @@
 package com.example.urlshortener.core.service;
 
+import com.example.urlshortener.core.exception.AliasAlreadyExistsException;
+import com.example.urlshortener.core.exception.UrlNotFoundException;
 import com.example.urlshortener.core.idgeneration.UrlIdGenerator;
 import com.example.urlshortener.core.model.ShortUrl;
 import com.example.urlshortener.core.ports.outgoing.MetricsPort;
+import com.example.urlshortener.core.ports.outgoing.NegativeUrlCachePort;
 import com.example.urlshortener.core.ports.outgoing.UrlCachePort;
 import com.example.urlshortener.core.ports.outgoing.UrlRepositoryPort;
 import com.example.urlshortener.core.ports.outgoing.UserRepositoryPort;
@@ -31,6 +34,9 @@ class UrlShortenerServiceTest {
     @Mock
     private UrlCachePort urlCache;
 
+    @Mock
+    private NegativeUrlCachePort negativeCache;
+
     @Mock
     private MetricsPort metrics;
 
@@ -53,8 +59,8 @@ class UrlShortenerServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new UrlShortenerService(urlRepository, urlCache, metrics, urlIdGenerator, quotaService,
-                userRepository, reservedWordsValidator);
+        service = new UrlShortenerService(urlRepository, urlCache, negativeCache, metrics, urlIdGenerator,
+                quotaService, userRepository, reservedWordsValidator);
     }
 
     @Test
@@ -73,6 +79,7 @@ class UrlShortenerServiceTest {
 
         verify(urlIdGenerator).generateId(null, null);
         verify(urlRepository).save(any(ShortUrl.class));
+        verify(negativeCache).invalidate(TEST_ID);
     }
 
     @Test
@@ -93,6 +100,76 @@ class UrlShortenerServiceTest {
         verify(urlIdGenerator).generateId(customAlias, userId);
     }
 
+    @Test
+    @DisplayName("Should return the owner's existing code for the same URL when dedup is enabled")
+    void shouldReturnExistingCodeWhenDeduplicating() {
+        // Given
+        UrlShortenerService dedupService = new UrlShortenerService(urlRepository, urlCache, negativeCache, metrics,
+                urlIdGenerator, quotaService, userRepository, reservedWordsValidator, true);
+        ShortUrl existing = new ShortUrl("old1234", TEST_URL, LocalDateTime.now(), "user123");
+        when(urlRepository.findByOwnerAndUrl("user123", TEST_URL)).thenReturn(Optional.of(existing));
+
+        // When
+        ShortUrl result = dedupService.shorten(TEST_URL, null, "user123");
+
+        // Then
+        assertThat(result).isEqualTo(existing);
+        verify(urlIdGenerator, never()).generateId(any(), any());
+        verify(urlRepository, never()).save(any(ShortUrl.class));
+    }
+
+    @Test
+    @DisplayName("Should create a new code when dedup finds nothing and skip the lookup by default")
+    void shouldCreateCodeWhenNothingToDeduplicate() {
+        // Given
+        UrlShortenerService dedupService = new UrlShortenerService(urlRepository, urlCache, negativeCache, metrics,
+                urlIdGenerator, quotaService, userRepository, reservedWordsValidator, true);
+        when(urlRepository.findByOwnerAndUrl(null, TEST_URL)).thenReturn(Optional.empty());
+        when(urlIdGenerator.generateId(null, null)).thenReturn(TEST_ID);
+
+        // When
+        dedupService.shorten(TEST_URL);
+        service.shorten(TEST_URL);
+
+        // Then
+        verify(urlRepository, times(1)).findByOwnerAndUrl(null, TEST_URL);
+        verify(urlRepository, times(2)).save(any(ShortUrl.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a taken alias at insert without consuming vanity quota")
+    void shouldRejectTakenAliasAtInsert() {
+        // Given
+        String customAlias = "my-alias";
+        String userId = "user123";
+        when(urlIdGenerator.generateId(customAlias, userId)).thenReturn(customAlias);
+        doThrow(new AliasAlreadyExistsException(customAlias)).when(urlRepository).save(any(ShortUrl.class));
+
+        // When / Then
+        assertThatThrownBy(() -> service.shorten(TEST_URL, customAlias, userId))
+                .isInstanceOf(AliasAlreadyExistsException.class);
+        verify(quotaService, never()).incrementVanityUrlUsage(any());
+        verify(negativeCache, never()).invalidate(customAlias);
+    }
+
+    @Test
+    @DisplayName("Should take the next generated ID when one is taken by an alias")
+    void shouldRetryGeneratedIdTakenByAlias() {
+        // Given
+        when(urlIdGenerator.generateId(null, null)).thenReturn("summer1", TEST_ID);
+        doThrow(new AliasAlreadyExistsException("summer1")).doNothing()
+                .when(urlRepository).save(any(ShortUrl.class));
+
+        // When
+        ShortUrl result = service.shorten(TEST_URL);
+
+        // Then
+        assertThat(result.id()).isEqualTo(TEST_ID);
+        verify(urlRepository, times(2)).save(any(ShortUrl.class));
+        verify(negativeCache).invalidate(TEST_ID);
+        verify(negativeCache, never()).invalidate("summer1");
+    }
+
     @Test
     @DisplayName("Should get original URL from cache (Cache Hit)")
     void shouldGetOriginalUrlFromCache() {
@@ -105,7 +182,7 @@ class UrlShortenerServiceTest {
         // Then
         assertThat(result).isEqualTo(TEST_URL);
         verify(urlCache).get(TEST_ID);
-        verify(urlRepository, never()).findById(any());
+        verify(urlRepository, never()).findOriginalUrlById(any());
     }
 
     @Test
@@ -113,8 +190,7 @@ class UrlShortenerServiceTest {
     void shouldGetOriginalUrlFromDbAndPopulateCache() {
         // Given
         when(urlCache.get(TEST_ID)).thenReturn(null);
-        ShortUrl shortUrl = new ShortUrl(TEST_ID, TEST_URL, LocalDateTime.now());
-        when(urlRepository.findById(TEST_ID)).thenReturn(Optional.of(shortUrl));
+        when(urlRepository.findOriginalUrlById(TEST_ID)).thenReturn(Optional.of(TEST_URL));
 
         // When
         String result = service.getOriginalUrl(TEST_ID);
@@ -122,7 +198,66 @@ class UrlShortenerServiceTest {
         // Then
         assertThat(result).isEqualTo(TEST_URL);
         verify(urlCache).get(TEST_ID);
-        verify(urlRepository).findById(TEST_ID);
+        verify(urlRepository).findOriginalUrlById(TEST_ID);
+        verify(urlRepository, never()).findById(any());
         verify(urlCache).put(TEST_ID, TEST_URL);
     }
+
+    @Test
+    @DisplayName("Should serve from the local cache tier without a remote lookup")
+    void shouldGetOriginalUrlFromLocalTier() {
+        // Given
+        when(urlCache.getIfPresentLocally(TEST_ID)).thenReturn(TEST_URL);
+
+        // When
+        String result = service.getOriginalUrl(TEST_ID);
+
+        // Then
+        assertThat(result).isEqualTo(TEST_URL);
+        verify(urlCache, never()).get(any());
+        verify(urlRepository, never()).findOriginalUrlById(any());
+        verify(metrics).recordCacheHit();
+    }
+
+    @Test
+    @DisplayName("Should answer not found from the negative cache without querying DB")
+    void shouldAnswerNotFoundFromNegativeCache() {
+        // Given
+        when(urlCache.get(TEST_ID)).thenReturn(null);
+        when(negativeCache.isKnownMissing(TEST_ID)).thenReturn(true);
+
+        // When / Then
+        assertThatThrownBy(() -> service.getOriginalUrl(TEST_ID))
+                .isInstanceOf(UrlNotFoundException.class);
+        verify(urlRepository, never()).findOriginalUrlById(any());
+        verify(metrics).recordNegativeCacheHit();
+    }
+
+    @Test
+    @DisplayName("Should answer a locally known missing ID without touching Redis or DB")
+    void shouldAnswerNotFoundFromLocalNegativeTier() {
+        // Given
+        when(negativeCache.isKnownMissingLocally(TEST_ID)).thenReturn(true);
+
+        // When / Then
+        assertThatThrownBy(() -> service.getOriginalUrl(TEST_ID))
+                .isInstanceOf(UrlNotFoundException.class);
+        verify(urlCache, never()).get(any());
+        verify(negativeCache, never()).isKnownMissing(any());
+        verify(urlRepository, never()).findOriginalUrlById(any());
+        verify(metrics).recordNegativeCacheHit();
+    }
+
+    @Test
+    @DisplayName("Should remember IDs that are not found in DB")
+    void shouldMarkMissingIdInNegativeCache() {
+        // Given
+        when(urlCache.get(TEST_ID)).thenReturn(null);
+        when(urlRepository.findOriginalUrlById(TEST_ID)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> service.getOriginalUrl(TEST_ID))
+                .isInstanceOf(UrlNotFoundException.class);
+        verify(negativeCache).markMissing(TEST_ID);
+    }
 }
@@ -0,0 +1,239 @@
+package com.example.urlshortener.infra.adapter.input.rest;
+
+import com.example.urlshortener.config.WithMockSecurity;
+import com.example.urlshortener.core.model.BulkShortenResult;
+import com.example.urlshortener.core.model.ShortUrl;
+import com.example.urlshortener.core.model.User;
+import com.example.urlshortener.core.ports.incoming.BulkShortenUrlUseCase;
+import com.example.urlshortener.core.ports.outgoing.RateLimiterPort;
+import com.example.urlshortener.core.ports.outgoing.UserRepositoryPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = BulkUrlController.class, properties = "app.shortener.bulk.stream-max-size=3")
+@WithMockSecurity
+@DisplayName("BulkUrlController Tests")
+class BulkUrlControllerTest {
+
+    private static final String EMAIL = "owner@example.com";
+    private static final String USER_ID = "user-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private com.example.urlshortener.infra.security.JwtTokenProvider jwtTokenProvider;
+
+    @MockitoBean
+    private com.example.urlshortener.core.service.UserService userService;
+
+    @MockitoBean
+    private BulkShortenUrlUseCase bulkShortenUrlUseCase;
+
+    @MockitoBean
+    private RateLimiterPort rateLimiter;
+
+    @MockitoBean
+    private UserRepositoryPort userRepository;
+
+    @Test
+    @DisplayName("POST /api/v1/urls/batch should return one result per URL in request order")
+    void shouldShortenJsonArray() throws Exception {
+        // Given
+        givenAuthenticatedOwner();
+        when(bulkShortenUrlUseCase.shortenAll(List.of("https://a.example", "bad"), USER_ID))
+                .thenReturn(List.of(created("id1", "https://a.example"), BulkShortenResult.failed("bad", "Invalid")));
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/urls/batch")
+                .sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, ownerContext())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"originalUrl\":\"https://a.example\"},{\"originalUrl\":\"bad\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].id").value("id1"))
+                .andExpect(jsonPath("$[0].shortUrl").value("http://localhost/id1"))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].originalUrl").value("bad"))
+                .andExpect(jsonPath("$[1].error").value("Invalid"))
+                .andExpect(jsonPath("$[1].id").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/urls/batch should require authentication")
+    void shouldRequireAuthentication() throws Exception {
+        // Given
+        when(rateLimiter.isAllowed(anyString())).thenReturn(true);
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/urls/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"originalUrl\":\"https://a.example\"}]"))
+                .andExpect(status().isUnauthorized());
+        verifyNoInteractions(bulkShortenUrlUseCase);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/urls/batch should spend one rate limit permit per request")
+    void shouldReturn429WhenRateLimitExceeded() throws Exception {
+        // Given
+        when(rateLimiter.isAllowed(anyString())).thenReturn(false);
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/urls/batch")
+                .sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, ownerContext())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"originalUrl\":\"https://a.example\"}]"))
+                .andExpect(status().isTooManyRequests());
+        verifyNoInteractions(bulkShortenUrlUseCase);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/urls/batch should return 400 when the batch is too large")
+    void shouldReturn400WhenBatchTooLarge() throws Exception {
+        // Given
+        givenAuthenticatedOwner();
+        when(bulkShortenUrlUseCase.shortenAll(any(), eq(USER_ID)))
+                .thenThrow(new IllegalArgumentException("Too many URLs in one batch"));
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/urls/batch")
+                .sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, ownerContext())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"originalUrl\":\"https://a.example\"}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/urls/batch with NDJSON should stream results chunk by chunk")
+    void shouldStreamNdjsonInChunks() throws Exception {
+        // Given
+        givenAuthenticatedOwner();
+        when(bulkShortenUrlUseCase.maxBatchSize()).thenReturn(2);
+        when(bulkShortenUrlUseCase.shortenAll(Arrays.asList("https://a.example", null), USER_ID))
+                .thenReturn(List.of(created("id1", "https://a.example"), BulkShortenResult.failed(null, "null")));
+        when(bulkShortenUrlUseCase.shortenAll(List.of("https://c.example"), USER_ID))
+                .thenReturn(List.of(created("id3", "https://c.example")));
+        String body = "{\"originalUrl\":\"https://a.example\"}\n"
+                + "not json\n"
+                + "\n"
+                + "{\"originalUrl\":\"https://c.example\"}\n";
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/urls/batch")
+                .sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, ownerContext())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"index\":0,\"originalUrl\":\"https://a.example\",\"id\":\"id1\",\"shortUrl\":\"http://localhost/id1\"}\n"
+                                + "{\"index\":1,\"error\":\"" + BulkUrlController.MALFORMED_LINE_ERROR + "\"}\n"
+                                + "{\"index\":2,\"originalUrl\":\"https://c.example\",\"id\":\"id3\",\"shortUrl\":\"http://localhost/id3\"}\n"));
+        verify(bulkShortenUrlUseCase).shortenAll(List.of("https://c.example"), USER_ID);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/urls/batch with NDJSON should stop after the maximum number of URLs")
+    void shouldStopNdjsonStreamAtMaxSize() throws Exception {
+        // Given
+        givenAuthenticatedOwner();
+        when(bulkShortenUrlUseCase.maxBatchSize()).thenReturn(10);
+        when(bulkShortenUrlUseCase.shortenAll(List.of("https://a.example", "https://b.example", "https://c.example"),
+                USER_ID)).thenReturn(List.of(created("id1", "https://a.example"), created("id2", "https://b.example"),
+                        created("id3", "https://c.example")));
+        String body = "{\"originalUrl\":\"https://a.example\"}\n"
+                + "{\"originalUrl\":\"https://b.example\"}\n"
+                + "{\"originalUrl\":\"https://c.example\"}\n"
+                + "{\"originalUrl\":\"https://d.example\"}\n"
+                + "{\"originalUrl\":\"https://e.example\"}\n";
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/urls/batch")
+                .sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, ownerContext())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().string(
+                        "{\"index\":0,\"originalUrl\":\"https://a.example\",\"id\":\"id1\",\"shortUrl\":\"http://localhost/id1\"}\n"
+                                + "{\"index\":1,\"originalUrl\":\"https://b.example\",\"id\":\"id2\",\"shortUrl\":\"http://localhost/id2\"}\n"
+                                + "{\"index\":2,\"originalUrl\":\"https://c.example\",\"id\":\"id3\",\"shortUrl\":\"http://localhost/id3\"}\n"
+                                + "{\"index\":3,\"error\":\"" + BulkUrlController.STREAM_TOO_LARGE_ERROR + "\"}\n"));
+        verify(bulkShortenUrlUseCase).shortenAll(anyList(), eq(USER_ID));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/urls/batch with NDJSON should end with an error line when a chunk fails")
+    void shouldEndNdjsonStreamWithErrorLineOnFailure() throws Exception {
+        // Given
+        givenAuthenticatedOwner();
+        when(bulkShortenUrlUseCase.maxBatchSize()).thenReturn(2);
+        when(bulkShortenUrlUseCase.shortenAll(List.of("https://a.example", "https://b.example"), USER_ID))
+                .thenReturn(List.of(created("id1", "https://a.example"), created("id2", "https://b.example")));
+        when(bulkShortenUrlUseCase.shortenAll(List.of("https://c.example"), USER_ID))
+                .thenThrow(new IllegalStateException("Database unavailable"));
+        String body = "{\"originalUrl\":\"https://a.example\"}\n"
+                + "{\"originalUrl\":\"https://b.example\"}\n"
+                + "{\"originalUrl\":\"https://c.example\"}\n";
+
+        // When/Then
+        mockMvc.perform(post("/api/v1/urls/batch")
+                .sessionAttr(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, ownerContext())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().string(
+                        "{\"index\":0,\"originalUrl\":\"https://a.example\",\"id\":\"id1\",\"shortUrl\":\"http://localhost/id1\"}\n"
+                                + "{\"index\":1,\"originalUrl\":\"https://b.example\",\"id\":\"id2\",\"shortUrl\":\"http://localhost/id2\"}\n"
+                                + "{\"index\":2,\"error\":\"" + BulkUrlController.STREAM_FAILED_ERROR + "\"}\n"));
+    }
+
+    private void givenAuthenticatedOwner() {
+        when(rateLimiter.isAllowed(anyString())).thenReturn(true);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(owner()));
+    }
+
+    private static SecurityContext ownerContext() {
+        return new SecurityContextImpl(new UsernamePasswordAuthenticationToken(EMAIL, null,
+                AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private static User owner() {
+        return User.createFreeUser(USER_ID, EMAIL, "Owner", "hash");
+    }
+
+    private static BulkShortenResult created(String id, String originalUrl) {
+        return BulkShortenResult.created(new ShortUrl(id, originalUrl, LocalDateTime.now(), USER_ID, false));
+    }
+}
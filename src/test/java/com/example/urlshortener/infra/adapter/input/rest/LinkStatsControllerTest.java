@@ -0,0 +1,153 @@
+package com.example.urlshortener.infra.adapter.input.rest;
+
+import com.example.urlshortener.config.WithMockSecurity;
+import com.example.urlshortener.core.exception.LinkAccessDeniedException;
+import com.example.urlshortener.core.exception.UrlNotFoundException;
+import com.example.urlshortener.core.model.ClickBreakdown;
+import com.example.urlshortener.core.model.ClickBucket;
+import com.example.urlshortener.core.model.LinkStats;
+import com.example.urlshortener.core.model.StatsGranularity;
+import com.example.urlshortener.core.model.UniqueVisitors;
+import com.example.urlshortener.core.model.UserAgentInfo;
+import com.example.urlshortener.core.ports.incoming.GetLinkStatsUseCase;
+import com.example.urlshortener.core.ports.incoming.GetUniqueVisitorsUseCase;
+import com.example.urlshortener.core.ports.outgoing.UserRepositoryPort;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(LinkStatsController.class)
+@WithMockSecurity
+@DisplayName("LinkStatsController Tests")
+class LinkStatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private com.example.urlshortener.infra.security.JwtTokenProvider jwtTokenProvider;
+
+    @MockitoBean
+    private com.example.urlshortener.core.service.UserService userService;
+
+    @MockitoBean
+    private GetLinkStatsUseCase getLinkStatsUseCase;
+
+    @MockitoBean
+    private GetUniqueVisitorsUseCase getUniqueVisitorsUseCase;
+
+    @MockitoBean
+    private UserRepositoryPort userRepository;
+
+    private static final String TEST_ID = "abc123";
+
+    @Test
+    @DisplayName("GET /api/v1/urls/{id}/stats should return totals and series")
+    void shouldReturnStats() throws Exception {
+        // Given
+        Instant from = Instant.parse("2024-05-01T00:00:00Z");
+        Instant to = Instant.parse("2024-05-03T00:00:00Z");
+        ClickBreakdown counts = ClickBreakdown.of(
+                new UserAgentInfo(UserAgentInfo.Browser.CHROME, UserAgentInfo.Device.MOBILE, false), 4);
+        LinkStats stats = new LinkStats(TEST_ID, StatsGranularity.DAY, from, to, counts,
+                List.of(new ClickBucket(from, counts)));
+        when(getLinkStatsUseCase.getStats(eq(TEST_ID), eq(StatsGranularity.DAY), eq(from), eq(to), any()))
+                .thenReturn(stats);
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/urls/" + TEST_ID + "/stats")
+                .param("granularity", "DAY")
+                .param("from", "2024-05-01T00:00:00Z")
+                .param("to", "2024-05-03T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(TEST_ID))
+                .andExpect(jsonPath("$.granularity").value("day"))
+                .andExpect(jsonPath("$.totals.clicks").value(4))
+                .andExpect(jsonPath("$.totals.devices.mobile").value(4))
+                .andExpect(jsonPath("$.totals.browsers.chrome").value(4))
+                .andExpect(jsonPath("$.series[0].start").value("2024-05-01T00:00:00Z"))
+                .andExpect(jsonPath("$.series[0].clicks").value(4));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/urls/{id}/stats should default to hourly buckets")
+    void shouldDefaultToHourly() throws Exception {
+        // Given
+        Instant now = Instant.parse("2024-05-01T00:00:00Z");
+        when(getLinkStatsUseCase.getStats(eq(TEST_ID), eq(StatsGranularity.HOUR), isNull(), isNull(), any()))
+                .thenReturn(new LinkStats(TEST_ID, StatsGranularity.HOUR, now, now, ClickBreakdown.EMPTY, List.of()));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/urls/" + TEST_ID + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totals.clicks").value(0))
+                .andExpect(jsonPath("$.series").isEmpty());
+
+        verify(getLinkStatsUseCase).getStats(eq(TEST_ID), eq(StatsGranularity.HOUR), isNull(), isNull(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/urls/{id}/stats/visitors should return the unique visitors")
+    void shouldReturnUniqueVisitors() throws Exception {
+        // Given
+        Instant day = Instant.parse("2024-05-01T00:00:00Z");
+        when(getUniqueVisitorsUseCase.getUniqueVisitors(eq(TEST_ID), isNull(), isNull(), any()))
+                .thenReturn(new UniqueVisitors(TEST_ID, day, day.plusSeconds(86_400), 17,
+                        List.of(new UniqueVisitors.DailyCount(day, 17))));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/urls/" + TEST_ID + "/stats/visitors"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(TEST_ID))
+                .andExpect(jsonPath("$.uniqueVisitors").value(17))
+                .andExpect(jsonPath("$.daily[0].day").value("2024-05-01T00:00:00Z"))
+                .andExpect(jsonPath("$.daily[0].uniqueVisitors").value(17));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/urls/{id}/stats should return 403 for another user's link")
+    void shouldReturn403ForNonOwner() throws Exception {
+        // Given
+        when(getLinkStatsUseCase.getStats(eq(TEST_ID), any(), any(), any(), any()))
+                .thenThrow(new LinkAccessDeniedException(TEST_ID));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/urls/" + TEST_ID + "/stats"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.status").value(403));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/urls/{id}/stats should return 404 for an unknown link")
+    void shouldReturn404ForUnknownLink() throws Exception {
+        // Given
+        when(getLinkStatsUseCase.getStats(eq(TEST_ID), any(), any(), any(), any()))
+                .thenThrow(new UrlNotFoundException(TEST_ID));
+
+        // When/Then
+        mockMvc.perform(get("/api/v1/urls/" + TEST_ID + "/stats"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/urls/{id}/stats should return 400 for an unknown granularity")
+    void shouldReturn400ForInvalidGranularity() throws Exception {
+        mockMvc.perform(get("/api/v1/urls/" + TEST_ID + "/stats").param("granularity", "WEEK"))
+                .andExpect(status().isBadRequest());
+    }
+}
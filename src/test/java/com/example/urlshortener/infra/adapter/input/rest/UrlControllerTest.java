@@ -20,6 +20,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
@@ -127,7 +128,7 @@ class UrlControllerTest {
                 .andExpect(header().string("Location", TEST_URL));
 
         verify(getUrlUseCase).getOriginalUrl(TEST_ID);
-        verify(analyticsPort).track(any());
+        verify(analyticsPort).track(eq(TEST_ID), anyLong(), any(), any());
     }
 
     @Test
@@ -142,7 +143,7 @@ class UrlControllerTest {
                 .andExpect(status().isNotFound());
 
         verify(getUrlUseCase).getOriginalUrl(TEST_ID);
-        verify(analyticsPort, never()).track(any());
+        verify(analyticsPort, never()).track(anyString(), anyLong(), any(), any());
     }
 
     @Test
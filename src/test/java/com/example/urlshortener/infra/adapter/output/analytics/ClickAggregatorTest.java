@@ -0,0 +1,110 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.example.urlshortener.core.model.ClickCount;
+import com.example.urlshortener.core.model.UserAgentInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ClickAggregator Tests")
+class ClickAggregatorTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final UserAgentInfo UNKNOWN = UserAgentInfo.UNKNOWN;
+
+    @Test
+    @DisplayName("Should count clicks per short code and hour")
+    void shouldCountPerCodeAndHour() {
+        // Given
+        ClickAggregator aggregator = new ClickAggregator(16, Integer.MAX_VALUE);
+
+        // When
+        aggregator.add("abc", 10 * HOUR, UNKNOWN);
+        aggregator.add("abc", 10 * HOUR + HOUR - 1, UNKNOWN);
+        aggregator.add("abc", 11 * HOUR, UNKNOWN);
+        aggregator.add("xyz", 10 * HOUR + 5, UNKNOWN);
+
+        // Then
+        assertThat(aggregator.size()).isEqualTo(3);
+        assertThat(aggregator.snapshot()).containsExactlyInAnyOrder(
+                new ClickCount("abc", 10, UNKNOWN, 2),
+                new ClickCount("abc", 11, UNKNOWN, 1),
+                new ClickCount("xyz", 10, UNKNOWN, 1));
+    }
+
+    @Test
+    @DisplayName("Should count each client class separately")
+    void shouldCountPerClientClass() {
+        // Given
+        ClickAggregator aggregator = new ClickAggregator(16, Integer.MAX_VALUE);
+        UserAgentInfo mobileChrome = new UserAgentInfo(UserAgentInfo.Browser.CHROME, UserAgentInfo.Device.MOBILE, false);
+
+        // When
+        aggregator.add("abc", HOUR, mobileChrome);
+        aggregator.add("abc", HOUR, new UserAgentInfo(UserAgentInfo.Browser.CHROME, UserAgentInfo.Device.MOBILE, false));
+        aggregator.add("abc", HOUR, UNKNOWN);
+
+        // Then
+        assertThat(aggregator.snapshot()).containsExactlyInAnyOrder(
+                new ClickCount("abc", 1, mobileChrome, 2),
+                new ClickCount("abc", 1, UNKNOWN, 1));
+    }
+
+    @Test
+    @DisplayName("Should keep every counter when the table grows")
+    void shouldKeepCountersWhenGrowing() {
+        // Given
+        ClickAggregator aggregator = new ClickAggregator(16, Integer.MAX_VALUE);
+
+        // When
+        for (int code = 0; code < 1_000; code++) {
+            for (int click = 0; click <= code % 3; click++) {
+                aggregator.add("code" + code, 42 * HOUR, UNKNOWN);
+            }
+        }
+
+        // Then
+        List<ClickCount> snapshot = aggregator.snapshot();
+        assertThat(snapshot).hasSize(1_000);
+        assertThat(snapshot).allSatisfy(count -> assertThat(count.clicks())
+                .isEqualTo(Integer.parseInt(count.shortCode().substring(4)) % 3 + 1));
+    }
+
+    @Test
+    @DisplayName("Should refuse new counters once full but keep counting existing ones")
+    void shouldCapCounters() {
+        // Given
+        ClickAggregator aggregator = new ClickAggregator(16, 2);
+        aggregator.add("abc", HOUR, UNKNOWN);
+        aggregator.add("xyz", HOUR, UNKNOWN);
+
+        // When
+        boolean added = aggregator.add("new", HOUR, UNKNOWN);
+        boolean counted = aggregator.add("abc", HOUR, UNKNOWN);
+
+        // Then
+        assertThat(added).isFalse();
+        assertThat(counted).isTrue();
+        assertThat(aggregator.snapshot()).containsExactlyInAnyOrder(
+                new ClickCount("abc", 1, UNKNOWN, 2),
+                new ClickCount("xyz", 1, UNKNOWN, 1));
+    }
+
+    @Test
+    @DisplayName("Should start from zero after clear")
+    void shouldResetOnClear() {
+        // Given
+        ClickAggregator aggregator = new ClickAggregator(16, Integer.MAX_VALUE);
+        aggregator.add("abc", HOUR, UNKNOWN);
+
+        // When
+        aggregator.clear();
+        aggregator.add("abc", HOUR, UNKNOWN);
+
+        // Then
+        assertThat(aggregator.snapshot()).containsExactly(new ClickCount("abc", 1, UNKNOWN, 1));
+    }
+}
@@ -0,0 +1,355 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.example.urlshortener.core.exception.PartialRollupWriteException;
+import com.example.urlshortener.core.model.ClickCount;
+import com.example.urlshortener.core.model.ClickEvent;
+import com.example.urlshortener.core.model.DailyVisitors;
+import com.example.urlshortener.core.model.StatsGranularity;
+import com.example.urlshortener.core.model.UserAgentInfo;
+import com.example.urlshortener.core.ports.outgoing.ClickRepositoryPort;
+import com.example.urlshortener.core.ports.outgoing.ClickRollupRepositoryPort;
+import com.example.urlshortener.core.ports.outgoing.UniqueVisitorRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClickBatchWorker Tests")
+class ClickBatchWorkerTest {
+
+    @Mock
+    private ClickRepositoryPort clickRepository;
+
+    @Mock
+    private ClickRollupRepositoryPort rollupRepository;
+
+    @Mock
+    private UniqueVisitorRepositoryPort visitorRepository;
+
+    @TempDir
+    private Path spoolDirectory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AsyncAnalyticsAdapter analyticsAdapter;
+    private PendingClickCounts pendingCounts;
+    private HotLinkTracker hotLinks;
+    private ClickBatchWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        analyticsAdapter = new AsyncAnalyticsAdapter(meterRegistry, 128, 16);
+        pendingCounts = new PendingClickCounts();
+        hotLinks = new HotLinkTracker(10, Duration.ZERO);
+        worker = newWorker(true, false);
+    }
+
+    @Test
+    @DisplayName("Should write queued clicks in a single batch")
+    @SuppressWarnings("unchecked")
+    void shouldWriteQueuedClicksInOneBatch() throws InterruptedException {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            analyticsAdapter.track(click("code" + i));
+        }
+
+        // When
+        int written = worker.processBatch(Duration.ZERO);
+
+        // Then
+        assertThat(written).isEqualTo(5);
+        ArgumentCaptor<List<ClickEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(clickRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(ClickEvent::shortCode)
+                .containsExactly("code0", "code1", "code2", "code3", "code4");
+        assertThat(meterRegistry.counter("analytics.events.persisted.total").count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should size batches by queue depth within the configured bounds")
+    void shouldAdaptBatchSizeToQueueDepth() {
+        assertThat(worker.batchSizeFor(0)).isEqualTo(1);
+        assertThat(worker.batchSizeFor(7)).isEqualTo(7);
+        assertThat(worker.batchSizeFor(5_000)).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch instead of dropping it")
+    void shouldRetryFailedBatch() {
+        // Given
+        doThrow(new RuntimeException("mongo down")).doNothing().when(clickRepository).saveAll(anyList());
+        analyticsAdapter.track(click("abc123"));
+
+        // When
+        worker.start();
+
+        // Then
+        verify(clickRepository, timeout(2_000).times(2)).saveAll(anyList());
+        worker.stop();
+        assertThat(meterRegistry.counter("analytics.sink.failures.total").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("analytics.events.persisted.total").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count clicks dropped when the queue is full")
+    void shouldCountDroppedClicks() {
+        // Given
+        for (int i = 0; i < 128; i++) {
+            analyticsAdapter.track(click("code" + i));
+        }
+
+        // When
+        analyticsAdapter.track(click("overflow"));
+
+        // Then
+        assertThat(meterRegistry.counter("analytics.events.dropped.total").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("analytics.queue.depth").gauge().value()).isEqualTo(128);
+    }
+
+    @Test
+    @DisplayName("Should flush one counter per short code and hour")
+    @SuppressWarnings("unchecked")
+    void shouldFlushAggregatedCounters() throws InterruptedException {
+        // Given
+        long epochHour = 474_826;
+        long hourStart = epochHour * 3_600_000L;
+        analyticsAdapter.track(new ClickEvent("hot", hourStart + 60_000, "JUnit", "127.0.0.1"));
+        analyticsAdapter.track(new ClickEvent("hot", hourStart + 3_599_999, "JUnit", "127.0.0.1"));
+        analyticsAdapter.track(new ClickEvent("hot", hourStart + 3_600_000, "JUnit", "127.0.0.1"));
+        analyticsAdapter.track(new ClickEvent("cold", hourStart, "JUnit", "127.0.0.1"));
+        worker.processBatch(Duration.ZERO);
+        assertThat(pendingCounts.pendingCounts("hot")).containsExactlyInAnyOrder(
+                new ClickCount("hot", epochHour, UserAgentInfo.UNKNOWN, 2),
+                new ClickCount("hot", epochHour + 1, UserAgentInfo.UNKNOWN, 1));
+
+        // When
+        boolean flushed = worker.flushRollups();
+
+        // Then
+        assertThat(flushed).isTrue();
+        ArgumentCaptor<List<ClickCount>> captor = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository).incrementAll(eq(StatsGranularity.HOUR), captor.capture());
+        assertThat(captor.getValue()).containsExactlyInAnyOrder(
+                new ClickCount("hot", epochHour, UserAgentInfo.UNKNOWN, 2),
+                new ClickCount("hot", epochHour + 1, UserAgentInfo.UNKNOWN, 1),
+                new ClickCount("cold", epochHour, UserAgentInfo.UNKNOWN, 1));
+        verify(rollupRepository).incrementAll(StatsGranularity.DAY, captor.getValue());
+        assertThat(meterRegistry.get("analytics.rollup.pending").gauge().value()).isZero();
+        assertThat(pendingCounts.pendingCounts("hot")).isEmpty();
+        assertThat(pendingCounts.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep counters when a rollup flush fails")
+    @SuppressWarnings("unchecked")
+    void shouldKeepCountersWhenFlushFails() throws InterruptedException {
+        // Given
+        doThrow(new RuntimeException("mongo down")).doNothing()
+                .when(rollupRepository).incrementAll(eq(StatsGranularity.HOUR), anyList());
+        analyticsAdapter.track(click("abc123"));
+        worker.processBatch(Duration.ZERO);
+        assertThat(worker.flushRollups()).isFalse();
+        assertThat(pendingCounts.pendingCounts("abc123")).extracting(ClickCount::clicks).containsExactly(1L);
+
+        // When
+        analyticsAdapter.track(click("abc123"));
+        worker.processBatch(Duration.ZERO);
+        worker.flushRollups();
+
+        // Then
+        ArgumentCaptor<List<ClickCount>> captor = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository, times(2)).incrementAll(eq(StatsGranularity.HOUR), captor.capture());
+        assertThat(captor.getValue()).extracting(ClickCount::clicks).containsExactly(2L);
+        verify(rollupRepository).incrementAll(eq(StatsGranularity.DAY), anyList());
+        assertThat(meterRegistry.counter("analytics.rollup.failures.total").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should retry only the daily rollups when the hourly write went through")
+    @SuppressWarnings("unchecked")
+    void shouldRetryOnlyDailyRollups() throws InterruptedException {
+        // Given
+        doNothing().when(rollupRepository).incrementAll(eq(StatsGranularity.HOUR), anyList());
+        doThrow(new RuntimeException("mongo down")).doNothing()
+                .when(rollupRepository).incrementAll(eq(StatsGranularity.DAY), anyList());
+        analyticsAdapter.track(click("abc123"));
+        worker.processBatch(Duration.ZERO);
+        assertThat(worker.flushRollups()).isFalse();
+        assertThat(meterRegistry.get("analytics.rollup.pending").gauge().value()).isZero();
+        assertThat(pendingCounts.pendingCounts("abc123")).extracting(ClickCount::clicks).containsExactly(1L);
+
+        // When
+        analyticsAdapter.track(click("abc123"));
+        worker.processBatch(Duration.ZERO);
+        boolean flushed = worker.flushRollups();
+
+        // Then
+        assertThat(flushed).isTrue();
+        ArgumentCaptor<List<ClickCount>> hourly = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository, times(2)).incrementAll(eq(StatsGranularity.HOUR), hourly.capture());
+        assertThat(hourly.getAllValues()).allSatisfy(counts ->
+                assertThat(counts).extracting(ClickCount::clicks).containsExactly(1L));
+        ArgumentCaptor<List<ClickCount>> daily = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository, times(3)).incrementAll(eq(StatsGranularity.DAY), daily.capture());
+        assertThat(daily.getAllValues()).allSatisfy(counts ->
+                assertThat(counts).extracting(ClickCount::clicks).containsExactly(1L));
+        assertThat(pendingCounts.pendingCounts("abc123")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should retry only the counts a partial rollup write left out")
+    @SuppressWarnings("unchecked")
+    void shouldRetryOnlyUnwrittenCounts() throws InterruptedException {
+        // Given
+        long epochHour = 497_000L;
+        ClickCount written = new ClickCount("written", epochHour, UserAgentInfo.UNKNOWN, 1);
+        ClickCount failed = new ClickCount("failed", epochHour, UserAgentInfo.UNKNOWN, 1);
+        doThrow(new PartialRollupWriteException(List.of(failed), null)).doNothing()
+                .when(rollupRepository).incrementAll(eq(StatsGranularity.HOUR), anyList());
+        doThrow(new PartialRollupWriteException(List.of(failed), null)).doNothing()
+                .when(rollupRepository).incrementAll(eq(StatsGranularity.DAY), anyList());
+        analyticsAdapter.track(new ClickEvent("written", epochHour * 3_600_000L, "JUnit", "127.0.0.1"));
+        analyticsAdapter.track(new ClickEvent("failed", epochHour * 3_600_000L, "JUnit", "127.0.0.1"));
+        worker.processBatch(Duration.ZERO);
+        assertThat(worker.flushRollups()).isFalse();
+        assertThat(pendingCounts.pendingCounts("written")).isEmpty();
+        assertThat(pendingCounts.pendingCounts("failed")).containsExactly(failed);
+
+        // When
+        boolean flushed = worker.flushRollups();
+
+        // Then
+        assertThat(flushed).isTrue();
+        ArgumentCaptor<List<ClickCount>> hourly = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository, times(2)).incrementAll(eq(StatsGranularity.HOUR), hourly.capture());
+        assertThat(hourly.getAllValues().get(0)).containsExactlyInAnyOrder(written, failed);
+        assertThat(hourly.getAllValues().get(1)).containsExactly(failed);
+        ArgumentCaptor<List<ClickCount>> daily = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository, times(2)).incrementAll(eq(StatsGranularity.DAY), daily.capture());
+        assertThat(daily.getAllValues().get(1)).containsExactly(failed);
+        assertThat(pendingCounts.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should leave clicks for new counters out of the rollups once max-pending-keys are held")
+    void shouldCapPendingRollupCounters() throws InterruptedException {
+        // Given
+        ClickBatchWorker cappedWorker = newWorker(false, false, 2);
+        analyticsAdapter.track(click("first"));
+        analyticsAdapter.track(click("second"));
+        analyticsAdapter.track(click("third"));
+        analyticsAdapter.track(click("first"));
+
+        // When
+        cappedWorker.processBatch(Duration.ZERO);
+
+        // Then
+        assertThat(meterRegistry.counter("analytics.rollup.dropped.total").count()).isEqualTo(1);
+        assertThat(pendingCounts.pendingCounts("first")).extracting(ClickCount::clicks).containsExactly(2L);
+        assertThat(pendingCounts.pendingCounts("second")).extracting(ClickCount::clicks).containsExactly(1L);
+        assertThat(pendingCounts.pendingCounts("third")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should flush each visitor once per short code and day")
+    @SuppressWarnings("unchecked")
+    void shouldFlushDistinctVisitors() throws InterruptedException {
+        // Given
+        long dayStart = 19_844 * 86_400_000L;
+        analyticsAdapter.track(new ClickEvent("abc123", dayStart + 1, "JUnit", "10.0.0.1"));
+        analyticsAdapter.track(new ClickEvent("abc123", dayStart + 2, "JUnit", "10.0.0.1"));
+        analyticsAdapter.track(new ClickEvent("abc123", dayStart + 3, "JUnit", "10.0.0.2"));
+        analyticsAdapter.track(new ClickEvent("abc123", dayStart + 86_400_000L, "JUnit", "10.0.0.1"));
+        worker.processBatch(Duration.ZERO);
+
+        // When
+        boolean flushed = worker.flushVisitors();
+
+        // Then
+        assertThat(flushed).isTrue();
+        ArgumentCaptor<List<DailyVisitors>> captor = ArgumentCaptor.forClass(List.class);
+        verify(visitorRepository).addAll(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(DailyVisitors::epochDay, visitors -> visitors.visitorHashes().length)
+                .containsExactlyInAnyOrder(tuple(19_844L, 2), tuple(19_845L, 1));
+        assertThat(meterRegistry.get("analytics.visitors.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should only count clicks when raw events are disabled")
+    void shouldSkipRawEventsWhenDisabled() throws InterruptedException {
+        // Given
+        ClickBatchWorker rollupOnlyWorker = newWorker(false, false);
+        analyticsAdapter.track(click("abc123"));
+
+        // When
+        int processed = rollupOnlyWorker.processBatch(Duration.ZERO);
+        rollupOnlyWorker.flushRollups();
+
+        // Then
+        assertThat(processed).isEqualTo(1);
+        verifyNoInteractions(clickRepository);
+        verify(rollupRepository).incrementAll(eq(StatsGranularity.HOUR), anyList());
+    }
+
+    @Test
+    @DisplayName("Should spool batches while the sink is down and replay them in order")
+    @SuppressWarnings("unchecked")
+    void shouldSpoolAndReplayInOrder() throws InterruptedException {
+        // Given
+        ClickBatchWorker spoolingWorker = newWorker(true, true);
+        doThrow(new RuntimeException("mongo down")).when(clickRepository).saveAll(anyList());
+        analyticsAdapter.track(click("first"));
+        spoolingWorker.processBatch(Duration.ZERO);
+
+        // Sink back up: new clicks still queue behind the spooled ones
+        reset(clickRepository);
+        analyticsAdapter.track(click("second"));
+        spoolingWorker.processBatch(Duration.ZERO);
+        verifyNoInteractions(clickRepository);
+
+        // When
+        int replayed = spoolingWorker.replaySpool();
+
+        // Then
+        assertThat(replayed).isEqualTo(2);
+        ArgumentCaptor<List<ClickEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(clickRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).extracting(ClickEvent::shortCode).containsExactly("first", "second");
+        assertThat(meterRegistry.counter("analytics.spool.events.spooled.total").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("analytics.spool.events.replayed.total").count()).isEqualTo(2);
+    }
+
+    private ClickBatchWorker newWorker(boolean rawEventsEnabled, boolean spoolEnabled) {
+        return newWorker(rawEventsEnabled, spoolEnabled, 1_000);
+    }
+
+    private ClickBatchWorker newWorker(boolean rawEventsEnabled, boolean spoolEnabled, int maxPendingKeys) {
+        ClickSpool spool = new ClickSpool(spoolEnabled, spoolDirectory.toString(),
+                DataSize.ofKilobytes(64), DataSize.ofMegabytes(1));
+        return new ClickBatchWorker(analyticsAdapter, clickRepository, rollupRepository, visitorRepository, spool,
+                new UserAgentClassifier(meterRegistry, 100), pendingCounts, hotLinks, meterRegistry,
+                1, 10, Duration.ZERO, rawEventsEnabled, Duration.ofHours(1), 1_000, maxPendingKeys, true);
+    }
+
+    private static ClickEvent click(String shortCode) {
+        return new ClickEvent(shortCode, System.currentTimeMillis(), "JUnit", "127.0.0.1");
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.example.urlshortener.core.model.ClickEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ClickRingBuffer Tests")
+class ClickRingBufferTest {
+
+    @Test
+    @DisplayName("Should round capacity up to a power of two")
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        assertThat(newRingBuffer(100).capacity()).isEqualTo(128);
+        assertThat(newRingBuffer(64).capacity()).isEqualTo(64);
+    }
+
+    @Test
+    @DisplayName("Should drain clicks in publication order")
+    void shouldDrainInOrder() {
+        // Given
+        ClickRingBuffer ringBuffer = newRingBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            ringBuffer.offer("code" + i, 1_000L + i, "JUnit", "127.0.0.1");
+        }
+
+        // When
+        List<ClickEvent> drained = new ArrayList<>();
+        int count = ringBuffer.drainTo(drained, 3);
+
+        // Then
+        assertThat(count).isEqualTo(3);
+        assertThat(drained).extracting(ClickEvent::shortCode).containsExactly("code0", "code1", "code2");
+        assertThat(ringBuffer.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reject clicks when full and accept them again once drained")
+    void shouldRejectWhenFull() {
+        // Given
+        ClickRingBuffer ringBuffer = newRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ringBuffer.offer("code" + i, i, null, null)).isTrue();
+        }
+
+        // When / Then
+        assertThat(ringBuffer.offer("overflow", 4, null, null)).isFalse();
+        ringBuffer.drainTo(new ArrayList<>(), 1);
+        assertThat(ringBuffer.offer("wrapped", 5, null, null)).isTrue();
+
+        List<ClickEvent> drained = new ArrayList<>();
+        ringBuffer.drainTo(drained, 10);
+        assertThat(drained).extracting(ClickEvent::shortCode).containsExactly("code1", "code2", "code3", "wrapped");
+        assertThat(ringBuffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should not lose clicks published by concurrent producers")
+    void shouldNotLoseClicksFromConcurrentProducers() throws Exception {
+        // Given
+        int producers = 4;
+        int perProducer = 10_000;
+        ClickRingBuffer ringBuffer = newRingBuffer(1024);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            String prefix = "p" + p + "-";
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ringBuffer.offer(prefix + i, i, null, null)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            });
+        }
+
+        // When
+        start.countDown();
+        List<ClickEvent> drained = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (drained.size() < producers * perProducer && System.nanoTime() < deadline) {
+            if (ringBuffer.awaitEvents(TimeUnit.MILLISECONDS.toNanos(10))) {
+                ringBuffer.drainTo(drained, 256);
+            }
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(drained).hasSize(producers * perProducer);
+        Set<String> unique = new HashSet<>();
+        drained.forEach(event -> unique.add(event.shortCode()));
+        assertThat(unique).hasSize(producers * perProducer);
+    }
+
+    @Test
+    @DisplayName("Should restore user agents and IP addresses from their compact form")
+    void shouldRestoreCompactFields() {
+        // Given
+        ClickRingBuffer ringBuffer = newRingBuffer(8, 1);
+        ringBuffer.offer("a", 1L, "Mozilla/5.0", "192.168.0.254");
+        ringBuffer.offer("b", 2L, "curl/8.0", "2001:db8::1");
+        ringBuffer.offer("c", 3L, null, "not-an-ip");
+
+        // When
+        List<ClickEvent> drained = new ArrayList<>();
+        ringBuffer.drainTo(drained, 10);
+
+        // Then
+        assertThat(drained).containsExactly(
+                new ClickEvent("a", 1L, "Mozilla/5.0", "192.168.0.254"),
+                new ClickEvent("b", 2L, "curl/8.0", "2001:db8::1"),
+                new ClickEvent("c", 3L, null, "not-an-ip"));
+    }
+
+    @Test
+    @DisplayName("Should pack only valid dotted-quad IPv4 addresses")
+    void shouldPackIpv4() {
+        assertThat(ClickRingBuffer.formatIpv4(ClickRingBuffer.parseIpv4("10.0.255.1"))).isEqualTo("10.0.255.1");
+        assertThat(ClickRingBuffer.parseIpv4("255.255.255.255")).isEqualTo(0xFFFF_FFFFL);
+        assertThat(ClickRingBuffer.parseIpv4("256.0.0.1")).isNegative();
+        assertThat(ClickRingBuffer.parseIpv4("1.2.3")).isNegative();
+        assertThat(ClickRingBuffer.parseIpv4("1..2.3")).isNegative();
+        assertThat(ClickRingBuffer.parseIpv4("::1")).isNegative();
+    }
+
+    private static ClickRingBuffer newRingBuffer(int capacity) {
+        return newRingBuffer(capacity, 16);
+    }
+
+    private static ClickRingBuffer newRingBuffer(int capacity, int userAgentDictionarySize) {
+        return new ClickRingBuffer(capacity, new UserAgentDictionary(userAgentDictionarySize));
+    }
+}
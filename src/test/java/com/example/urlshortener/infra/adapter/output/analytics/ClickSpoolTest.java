@@ -0,0 +1,138 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.example.urlshortener.core.model.ClickEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ClickSpool Tests")
+class ClickSpoolTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should replay spooled events in order, including null fields")
+    void shouldReplayInOrder() {
+        // Given
+        ClickSpool spool = newSpool(DataSize.ofKilobytes(4), DataSize.ofKilobytes(64));
+        long timestamp = 1_714_559_415_123L;
+        spool.append(List.of(
+                new ClickEvent("abc", timestamp, "Mozilla/5.0 (\u00e7)", "10.0.0.1"),
+                new ClickEvent("def", timestamp, "JUnit", "2001:db8::1"),
+                new ClickEvent("xyz", timestamp, null, null)));
+
+        // When
+        List<ClickEvent> replayed = spool.peek(10);
+        spool.commit();
+
+        // Then
+        assertThat(replayed).containsExactly(
+                new ClickEvent("abc", timestamp, "Mozilla/5.0 (\u00e7)", "10.0.0.1"),
+                new ClickEvent("def", timestamp, "JUnit", "2001:db8::1"),
+                new ClickEvent("xyz", timestamp, null, null));
+        assertThat(spool.hasPending()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not consume peeked events until they are committed")
+    void shouldKeepEventsUntilCommit() {
+        // Given
+        ClickSpool spool = newSpool(DataSize.ofKilobytes(4), DataSize.ofKilobytes(64));
+        spool.append(clicks(0, 3));
+
+        // When
+        spool.peek(2);
+
+        // Then
+        assertThat(spool.peek(2)).extracting(ClickEvent::shortCode).containsExactly("code0", "code1");
+        spool.commit();
+        assertThat(spool.peek(2)).extracting(ClickEvent::shortCode).containsExactly("code2");
+    }
+
+    @Test
+    @DisplayName("Should roll over segments and delete them once replayed")
+    void shouldDeleteReplayedSegments() throws IOException {
+        // Given
+        ClickSpool spool = newSpool(DataSize.ofBytes(256), DataSize.ofKilobytes(64));
+        spool.append(clicks(0, 50));
+        long segmentsBefore = segmentFiles();
+
+        // When
+        List<ClickEvent> replayed = new ArrayList<>();
+        while (spool.hasPending()) {
+            replayed.addAll(spool.peek(10));
+            spool.commit();
+        }
+
+        // Then
+        assertThat(segmentsBefore).isGreaterThan(1);
+        assertThat(replayed).extracting(ClickEvent::shortCode)
+                .containsExactlyElementsOf(clicks(0, 50).stream().map(ClickEvent::shortCode).toList());
+        assertThat(segmentFiles()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stop accepting events once the disk budget is used")
+    void shouldRespectDiskBudget() {
+        // Given
+        ClickSpool spool = newSpool(DataSize.ofBytes(256), DataSize.ofBytes(512));
+
+        // When
+        int spooled = spool.append(clicks(0, 100));
+
+        // Then
+        assertThat(spooled).isPositive().isLessThan(100);
+        assertThat(spool.pendingBytes()).isLessThanOrEqualTo(512);
+    }
+
+    @Test
+    @DisplayName("Should resume replay after a restart")
+    void shouldRecoverAfterRestart() {
+        // Given
+        ClickSpool spool = newSpool(DataSize.ofBytes(256), DataSize.ofKilobytes(64));
+        spool.append(clicks(0, 20));
+        spool.peek(5);
+        spool.commit();
+
+        // When
+        ClickSpool restarted = newSpool(DataSize.ofBytes(256), DataSize.ofKilobytes(64));
+        List<ClickEvent> replayed = new ArrayList<>();
+        while (restarted.hasPending()) {
+            replayed.addAll(restarted.peek(10));
+            restarted.commit();
+        }
+
+        // Then
+        assertThat(replayed).extracting(ClickEvent::shortCode)
+                .containsExactlyElementsOf(clicks(5, 20).stream().map(ClickEvent::shortCode).toList());
+    }
+
+    private ClickSpool newSpool(DataSize segmentSize, DataSize maxSize) {
+        return new ClickSpool(true, directory.toString(), segmentSize, maxSize);
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static List<ClickEvent> clicks(int from, int to) {
+        List<ClickEvent> clicks = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            clicks.add(new ClickEvent("code" + i, 1_714_557_600_000L, "JUnit", "127.0.0.1"));
+        }
+        return clicks;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.example.urlshortener.core.model.HotLink;
+import com.example.urlshortener.core.model.HotLinkWindow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HotLinkTracker Tests")
+class HotLinkTrackerTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Should rank the most clicked links first")
+    void shouldRankMostClickedLinks() {
+        // Given
+        HotLinkTracker tracker = new HotLinkTracker(2, Duration.ZERO);
+
+        // When
+        record(tracker, "hot", 50, START);
+        record(tracker, "warm", 20, START);
+        record(tracker, "cold", 5, START);
+        tracker.publishIfDue(START + 1);
+
+        // Then
+        assertThat(tracker.topLinks(HotLinkWindow.LAST_MINUTE))
+                .containsExactly(new HotLink("hot", 50), new HotLink("warm", 20));
+        assertThat(tracker.topLinks(HotLinkWindow.LAST_HOUR))
+                .containsExactly(new HotLink("hot", 50), new HotLink("warm", 20));
+    }
+
+    @Test
+    @DisplayName("Should find the heavy hitters among many one-off links")
+    void shouldFindHeavyHittersInLongTail() {
+        // Given
+        HotLinkTracker tracker = new HotLinkTracker(3, Duration.ZERO);
+
+        // When
+        for (int i = 0; i < 20_000; i++) {
+            tracker.record("tail" + i, START);
+            if (i % 20 == 0) {
+                tracker.record("first", START);
+            }
+            if (i % 40 == 0) {
+                tracker.record("second", START);
+            }
+            if (i % 80 == 0) {
+                tracker.record("third", START);
+            }
+        }
+        tracker.publishIfDue(START + 1);
+
+        // Then
+        List<HotLink> top = tracker.topLinks(HotLinkWindow.LAST_MINUTE);
+        assertThat(top).extracting(HotLink::shortCode).containsExactly("first", "second", "third");
+        assertThat(top.get(0).clicks()).isGreaterThanOrEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("Should forget clicks once they slide out of the window")
+    void shouldExpireOldClicks() {
+        // Given
+        HotLinkTracker tracker = new HotLinkTracker(10, Duration.ZERO);
+        record(tracker, "old", 30, START);
+
+        // When
+        record(tracker, "new", 3, START + Duration.ofMinutes(2).toMillis());
+        tracker.publishIfDue(START + Duration.ofMinutes(2).toMillis());
+
+        // Then
+        assertThat(tracker.topLinks(HotLinkWindow.LAST_MINUTE)).containsExactly(new HotLink("new", 3));
+        assertThat(tracker.topLinks(HotLinkWindow.LAST_HOUR))
+                .containsExactly(new HotLink("old", 30), new HotLink("new", 3));
+    }
+
+    @Test
+    @DisplayName("Should publish rankings at most once per interval")
+    void shouldPublishOncePerInterval() {
+        // Given
+        HotLinkTracker tracker = new HotLinkTracker(10, Duration.ofSeconds(1));
+        record(tracker, "abc", 1, START);
+        tracker.publishIfDue(START);
+
+        // When
+        record(tracker, "xyz", 1, START + 10);
+        tracker.publishIfDue(START + 500);
+
+        // Then
+        assertThat(tracker.topLinks(HotLinkWindow.LAST_MINUTE)).containsExactly(new HotLink("abc", 1));
+
+        tracker.publishIfDue(START + 1_000);
+        assertThat(tracker.topLinks(HotLinkWindow.LAST_MINUTE)).hasSize(2);
+    }
+
+    private static void record(HotLinkTracker tracker, String shortCode, int clicks, long nowMillis) {
+        for (int i = 0; i < clicks; i++) {
+            tracker.record(shortCode, nowMillis);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.example.urlshortener.core.model.ClickCount;
+import com.example.urlshortener.core.model.UserAgentInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PendingClickCounts Tests")
+class PendingClickCountsTest {
+
+    private static final long HOUR = 3_600_000L;
+    private static final UserAgentInfo UNKNOWN = UserAgentInfo.UNKNOWN;
+    private static final UserAgentInfo BOT = new UserAgentInfo(UserAgentInfo.Browser.OTHER,
+            UserAgentInfo.Device.OTHER, true);
+
+    @Test
+    @DisplayName("Should count per hour and client class for each short code")
+    void shouldCountPerCode() {
+        // Given
+        PendingClickCounts pending = new PendingClickCounts();
+
+        // When
+        pending.add("abc", 10 * HOUR, UNKNOWN);
+        pending.add("abc", 10 * HOUR + 5, UNKNOWN);
+        pending.add("abc", 10 * HOUR, BOT);
+        for (int hour = 11; hour < 20; hour++) {
+            pending.add("abc", hour * HOUR, UNKNOWN);
+        }
+        pending.add("xyz", 10 * HOUR, UNKNOWN);
+
+        // Then
+        assertThat(pending.pendingCounts("abc")).hasSize(11).contains(
+                new ClickCount("abc", 10, UNKNOWN, 2),
+                new ClickCount("abc", 10, BOT, 1),
+                new ClickCount("abc", 19, UNKNOWN, 1));
+        assertThat(pending.pendingCounts("xyz")).containsExactly(new ClickCount("xyz", 10, UNKNOWN, 1));
+        assertThat(pending.pendingCounts("missing")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep only clicks counted after the flushed snapshot")
+    void shouldSubtractFlushedCounts() {
+        // Given
+        PendingClickCounts pending = new PendingClickCounts();
+        pending.add("abc", 10 * HOUR, UNKNOWN);
+        pending.add("abc", 10 * HOUR, UNKNOWN);
+        pending.add("xyz", 10 * HOUR, UNKNOWN);
+        List<ClickCount> flushed = List.of(
+                new ClickCount("abc", 10, UNKNOWN, 2),
+                new ClickCount("xyz", 10, UNKNOWN, 1));
+        pending.add("abc", 10 * HOUR, UNKNOWN);
+
+        // When
+        pending.subtract(flushed);
+
+        // Then
+        assertThat(pending.pendingCounts("abc")).containsExactly(new ClickCount("abc", 10, UNKNOWN, 1));
+        assertThat(pending.pendingCounts("xyz")).isEmpty();
+        assertThat(pending.size()).isEqualTo(1);
+    }
+}
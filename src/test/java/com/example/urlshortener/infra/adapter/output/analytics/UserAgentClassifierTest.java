@@ -0,0 +1,66 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.example.urlshortener.core.model.UserAgentInfo;
+import com.example.urlshortener.core.model.UserAgentInfo.Browser;
+import com.example.urlshortener.core.model.UserAgentInfo.Device;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserAgentClassifier Tests")
+class UserAgentClassifierTest {
+
+    private static final String CHROME_WINDOWS = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 "
+            + "(KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36";
+    private static final String EDGE_WINDOWS = CHROME_WINDOWS + " Edg/124.0.0.0";
+    private static final String SAFARI_IPHONE = "Mozilla/5.0 (iPhone; CPU iPhone OS 17_4 like Mac OS X) "
+            + "AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.4 Mobile/15E148 Safari/604.1";
+    private static final String FIREFOX_ANDROID_TABLET = "Mozilla/5.0 (Android 14; Tablet; rv:125.0) "
+            + "Gecko/125.0 Firefox/125.0";
+    private static final String GOOGLEBOT = "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)";
+
+    @Test
+    @DisplayName("Should classify browser, device and bots")
+    void shouldClassifyCommonUserAgents() {
+        assertThat(UserAgentClassifier.parse(CHROME_WINDOWS))
+                .isEqualTo(new UserAgentInfo(Browser.CHROME, Device.DESKTOP, false));
+        assertThat(UserAgentClassifier.parse(EDGE_WINDOWS))
+                .isEqualTo(new UserAgentInfo(Browser.EDGE, Device.DESKTOP, false));
+        assertThat(UserAgentClassifier.parse(SAFARI_IPHONE))
+                .isEqualTo(new UserAgentInfo(Browser.SAFARI, Device.MOBILE, false));
+        assertThat(UserAgentClassifier.parse(FIREFOX_ANDROID_TABLET))
+                .isEqualTo(new UserAgentInfo(Browser.FIREFOX, Device.TABLET, false));
+        assertThat(UserAgentClassifier.parse(GOOGLEBOT).bot()).isTrue();
+        assertThat(UserAgentClassifier.parse("curl/8.4.0").bot()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should parse each User-Agent once and serve repeats from the cache")
+    void shouldCacheParsedUserAgents() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UserAgentClassifier classifier = new UserAgentClassifier(meterRegistry, 100);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            classifier.classify(CHROME_WINDOWS);
+            classifier.classify(SAFARI_IPHONE);
+        }
+
+        // Then
+        assertThat(meterRegistry.get("analytics.user-agents.parse").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "analytics.user-agents").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(18);
+    }
+
+    @Test
+    @DisplayName("Should report a missing User-Agent as unknown")
+    void shouldTreatMissingUserAgentAsUnknown() {
+        UserAgentClassifier classifier = new UserAgentClassifier(new SimpleMeterRegistry(), 100);
+
+        assertThat(classifier.classify(null)).isEqualTo(UserAgentInfo.UNKNOWN);
+        assertThat(classifier.classify(" ")).isEqualTo(UserAgentInfo.UNKNOWN);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UserAgentDictionary Tests")
+class UserAgentDictionaryTest {
+
+    private static final String BROWSER = "Mozilla/5.0 (Windows NT 10.0; Win64; x64)";
+
+    @Test
+    @DisplayName("Should share one instance per User-Agent value")
+    void shouldShareInstances() {
+        // Given
+        UserAgentDictionary dictionary = new UserAgentDictionary(16);
+        String first = dictionary.canonical(new String(BROWSER));
+
+        // When
+        String second = dictionary.canonical(new String(BROWSER));
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(dictionary.canonical(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep a recurring User-Agent through a burst of one-off values")
+    void shouldKeepRecurringUserAgentThroughBurst() {
+        // Given
+        UserAgentDictionary dictionary = new UserAgentDictionary(16);
+        // Frequencies are only tracked once the dictionary has filled up
+        for (int i = 0; i < 16; i++) {
+            dictionary.canonical("agent-" + i);
+            dictionary.canonical(new String(BROWSER));
+        }
+        dictionary.cleanUp();
+        String shared = dictionary.canonical(new String(BROWSER));
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            dictionary.canonical("random-agent-" + i);
+            if (i % 10 == 0) {
+                // Real clients keep arriving during the burst
+                dictionary.canonical(new String(BROWSER));
+            }
+            if (i % 100 == 0) {
+                dictionary.cleanUp();
+            }
+        }
+        dictionary.cleanUp();
+
+        // Then
+        assertThat(dictionary.size()).isLessThanOrEqualTo(16);
+        assertThat(dictionary.canonical(new String(BROWSER))).isSameAs(shared);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.urlshortener.infra.adapter.output.analytics;
+
+import com.example.urlshortener.core.model.DailyVisitors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("VisitorAggregator Tests")
+class VisitorAggregatorTest {
+
+    private static final long DAY = 86_400_000L;
+    private static final String UA = "Mozilla/5.0";
+
+    @Test
+    @DisplayName("Should keep each visitor once per short code and day")
+    void shouldDeduplicateVisitors() {
+        // Given
+        VisitorAggregator aggregator = new VisitorAggregator(16);
+
+        // When
+        aggregator.add("abc", 10 * DAY, "10.0.0.1", UA);
+        aggregator.add("abc", 10 * DAY + 5, "10.0.0.1", UA);
+        aggregator.add("abc", 10 * DAY, "10.0.0.1", "curl/8.4.0");
+        aggregator.add("abc", 11 * DAY, "10.0.0.1", UA);
+        aggregator.add("xyz", 10 * DAY, "10.0.0.1", UA);
+
+        // Then
+        assertThat(aggregator.size()).isEqualTo(4);
+        List<DailyVisitors> snapshot = aggregator.snapshot();
+        assertThat(snapshot).extracting(DailyVisitors::shortCode, DailyVisitors::epochDay,
+                visitors -> visitors.visitorHashes().length)
+                .containsExactlyInAnyOrder(
+                        tuple("abc", 10L, 2),
+                        tuple("abc", 11L, 1),
+                        tuple("xyz", 10L, 1));
+    }
+
+    @Test
+    @DisplayName("Should ignore clicks without an IP address")
+    void shouldSkipClicksWithoutIp() {
+        VisitorAggregator aggregator = new VisitorAggregator(16);
+
+        aggregator.add("abc", DAY, null, UA);
+
+        assertThat(aggregator.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep every visitor when the table grows")
+    void shouldKeepVisitorsWhenGrowing() {
+        // Given
+        VisitorAggregator aggregator = new VisitorAggregator(16);
+
+        // When
+        for (int visitor = 0; visitor < 5_000; visitor++) {
+            aggregator.add("abc", DAY, "10.0." + (visitor >> 8) + "." + (visitor & 0xff), UA);
+            aggregator.add("abc", DAY, "10.0." + (visitor >> 8) + "." + (visitor & 0xff), UA);
+        }
+
+        // Then
+        assertThat(aggregator.snapshot()).singleElement()
+                .satisfies(visitors -> assertThat(visitors.visitorHashes()).hasSize(5_000).doesNotHaveDuplicates());
+    }
+
+    @Test
+    @DisplayName("Should start empty after clear")
+    void shouldResetOnClear() {
+        // Given
+        VisitorAggregator aggregator = new VisitorAggregator(16);
+        aggregator.add("abc", DAY, "10.0.0.1", UA);
+
+        // When
+        aggregator.clear();
+
+        // Then
+        assertThat(aggregator.size()).isZero();
+        assertThat(aggregator.snapshot()).isEmpty();
+    }
+}
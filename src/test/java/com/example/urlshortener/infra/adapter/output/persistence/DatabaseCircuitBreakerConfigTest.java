@@ -0,0 +1,74 @@
+package com.example.urlshortener.infra.adapter.output.persistence;
+
+import com.example.urlshortener.core.exception.AliasAlreadyExistsException;
+import com.example.urlshortener.infra.adapter.output.persistence.exception.RepositoryException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.common.CompositeCustomizer;
+import io.github.resilience4j.springboot3.circuitbreaker.autoconfigure.CircuitBreakerProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Builds the {@code databaseCb} breaker from the shipped application.yaml, the
+ * way the Resilience4j auto-configuration does.
+ */
+@DisplayName("databaseCb Circuit Breaker Config Tests")
+class DatabaseCircuitBreakerConfigTest {
+
+    private static final int CALLS = 10;
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+                .load("application", new ClassPathResource("application.yaml"));
+        CircuitBreakerProperties properties = new Binder(ConfigurationPropertySources.from(sources))
+                .bind("resilience4j.circuitbreaker", CircuitBreakerProperties.class)
+                .get();
+        circuitBreaker = CircuitBreaker.of("databaseCb", properties.createCircuitBreakerConfig("databaseCb",
+                properties.getInstances().get("databaseCb"), new CompositeCustomizer<>(List.of())));
+    }
+
+    @Test
+    @DisplayName("Should not open on taken aliases")
+    void shouldIgnoreTakenAliases() {
+        // When
+        callFailing(() -> new AliasAlreadyExistsException("promo"));
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getMetrics().getNumberOfFailedCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should open on database failures")
+    void shouldOpenOnDatabaseFailures() {
+        // When
+        callFailing(() -> new RepositoryException("Falha ao persistir URL encurtada"));
+
+        // Then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void callFailing(Supplier<RuntimeException> failure) {
+        for (int i = 0; i < CALLS; i++) {
+            assertThatThrownBy(() -> circuitBreaker.executeRunnable(() -> {
+                throw failure.get();
+            })).isInstanceOf(RuntimeException.class);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.urlshortener.infra.adapter.output.persistence;
+
+import com.example.urlshortener.infra.adapter.output.persistence.mapper.ShortUrlMapper;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LegacyUrlIndexMigration Tests")
+class LegacyUrlIndexMigrationTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private IndexOperations indexOperations;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private FindIterable<Document> findIterable;
+
+    @Mock
+    private MongoCursor<Document> cursor;
+
+    private final ShortUrlMapper mapper = new ShortUrlMapper();
+
+    @Test
+    @DisplayName("Should drop the legacy unique index on originalUrl when present")
+    void shouldDropLegacyIndex() {
+        // Given
+        when(mongoTemplate.indexOps("short_urls")).thenReturn(indexOperations);
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(index("_id_"), index("originalUrl")));
+
+        // When
+        newMigration(true).dropLegacyIndex("short_urls");
+
+        // Then
+        verify(indexOperations).dropIndex("originalUrl");
+    }
+
+    @Test
+    @DisplayName("Should leave collections without the legacy index untouched")
+    void shouldSkipWhenIndexIsGone() {
+        // Given
+        when(mongoTemplate.indexOps("short_urls")).thenReturn(indexOperations);
+        when(indexOperations.getIndexInfo()).thenReturn(List.of(index("_id_"), index("urlHash_userId")));
+
+        // When
+        newMigration(true).dropLegacyIndex("short_urls");
+
+        // Then
+        verify(indexOperations, never()).dropIndex(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not fail startup when the index cannot be dropped")
+    void shouldNotFailWhenDropFails() {
+        // Given
+        when(mongoTemplate.indexOps("short_urls")).thenReturn(indexOperations);
+        when(indexOperations.getIndexInfo()).thenThrow(new DataAccessResourceFailureException("down"));
+
+        // When / Then
+        assertThatCode(() -> newMigration(true).dropLegacyIndex("short_urls"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void shouldSkipWhenDisabled() {
+        // When
+        new LegacyUrlIndexMigration(mongoTemplate, mapper, false, false).run(null);
+
+        // Then
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should fill in urlHash on documents written without it")
+    @SuppressWarnings("unchecked")
+    void shouldBackfillUrlHash() {
+        // Given
+        givenDocumentsWithoutHash(
+                new Document("_id", "abc").append("originalUrl", "https://Example.com"),
+                new Document("_id", "xyz").append("originalUrl", "not a url"));
+
+        // When
+        long updated = newMigration(true).backfillUrlHash("short_urls");
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        ArgumentCaptor<List<WriteModel<Document>>> captor = ArgumentCaptor.forClass(List.class);
+        verify(collection).bulkWrite(captor.capture(), any(BulkWriteOptions.class));
+        UpdateOneModel<Document> update = (UpdateOneModel<Document>) captor.getValue().get(0);
+        assertThat(captor.getValue()).hasSize(1);
+        assertThat(update.getFilter()).isEqualTo(new Document("_id", "abc"));
+        assertThat(update.getUpdate()).isEqualTo(
+                new Document("$set", new Document("urlHash", mapper.urlHash("https://example.com/"))));
+        verify(cursor).close();
+    }
+
+    @Test
+    @DisplayName("Should write nothing when every document has a urlHash")
+    void shouldSkipBackfillWhenUpToDate() {
+        // Given
+        givenDocumentsWithoutHash();
+
+        // When
+        long updated = newMigration(true).backfillUrlHash("short_urls");
+
+        // Then
+        assertThat(updated).isZero();
+        verify(collection, never()).bulkWrite(anyList(), any(BulkWriteOptions.class));
+    }
+
+    @Test
+    @DisplayName("Should not fail startup when the backfill fails")
+    void shouldNotFailWhenBackfillFails() {
+        // Given
+        when(mongoTemplate.getCollection("short_urls")).thenThrow(new IllegalStateException("down"));
+
+        // When / Then
+        assertThatCode(() -> newMigration(true).backfillUrlHash("short_urls")).doesNotThrowAnyException();
+    }
+
+    private LegacyUrlIndexMigration newMigration(boolean enabled) {
+        return new LegacyUrlIndexMigration(mongoTemplate, mapper, enabled, true);
+    }
+
+    private void givenDocumentsWithoutHash(Document... documents) {
+        when(mongoTemplate.getCollection("short_urls")).thenReturn(collection);
+        when(collection.find(new Document("urlHash", new Document("$exists", false)))).thenReturn(findIterable);
+        when(findIterable.projection(any())).thenReturn(findIterable);
+        when(findIterable.batchSize(LegacyUrlIndexMigration.BACKFILL_BATCH_SIZE)).thenReturn(findIterable);
+        when(findIterable.iterator()).thenReturn(cursor);
+        Iterator<Document> iterator = List.of(documents).iterator();
+        when(cursor.hasNext()).thenAnswer(invocation -> iterator.hasNext());
+        if (documents.length > 0) {
+            when(cursor.next()).thenAnswer(invocation -> iterator.next());
+        }
+    }
+
+    private static IndexInfo index(String name) {
+        return new IndexInfo(List.of(), name, false, false, "");
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.urlshortener.infra.adapter.output.persistence;
+
+import com.example.urlshortener.core.exception.PartialRollupWriteException;
+import com.example.urlshortener.core.model.ClickCount;
+import com.example.urlshortener.core.model.StatsGranularity;
+import com.example.urlshortener.core.model.UserAgentInfo;
+import com.example.urlshortener.infra.adapter.output.persistence.exception.RepositoryException;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.WriteConcernError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MongoClickRollupRepository Tests")
+class MongoClickRollupRepositoryTest {
+
+    private static final long EPOCH_HOUR = 497_000L;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    private MongoClickRollupRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new MongoClickRollupRepository(mongoTemplate);
+        when(mongoTemplate.getCollection("click_rollups_hourly")).thenReturn(collection);
+    }
+
+    @Test
+    @DisplayName("Should report only the counts of the failed updates after a partial bulk write")
+    void shouldReportUnwrittenCountsOnPartialFailure() {
+        // Given
+        ClickCount first = new ClickCount("first", EPOCH_HOUR, UserAgentInfo.UNKNOWN, 3);
+        ClickCount second = new ClickCount("second", EPOCH_HOUR, UserAgentInfo.UNKNOWN, 1);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenThrow(
+                bulkWriteException(List.of(new BulkWriteError(91, "shutting down", new BsonDocument(), 1)), null));
+
+        // When / Then
+        assertThatThrownBy(() -> repository.incrementAll(StatsGranularity.HOUR, List.of(first, second)))
+                .isInstanceOfSatisfying(PartialRollupWriteException.class,
+                        e -> assertThat(e.unwritten()).containsExactly(second));
+    }
+
+    @Test
+    @DisplayName("Should treat a write concern error as a failure of the whole write")
+    void shouldFailWholeWriteOnWriteConcernError() {
+        // Given
+        ClickCount count = new ClickCount("first", EPOCH_HOUR, UserAgentInfo.UNKNOWN, 1);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenThrow(bulkWriteException(
+                List.of(new BulkWriteError(91, "shutting down", new BsonDocument(), 0)),
+                new WriteConcernError(64, "WriteConcernFailed", "waiting for replication timed out",
+                        new BsonDocument())));
+
+        // When / Then
+        assertThatThrownBy(() -> repository.incrementAll(StatsGranularity.HOUR, List.of(count)))
+                .isInstanceOf(RepositoryException.class);
+    }
+
+    private static MongoBulkWriteException bulkWriteException(List<BulkWriteError> errors,
+            WriteConcernError writeConcernError) {
+        return new MongoBulkWriteException(BulkWriteResult.unacknowledged(), errors, writeConcernError,
+                new ServerAddress(), Set.of());
+    }
+}
@@ -1,18 +1,32 @@
 package com.example.urlshortener.infra.adapter.output.persistence;
 
 import com.example.urlshortener.config.BaseIntegrationTest;
+import com.example.urlshortener.core.exception.AliasAlreadyExistsException;
 import com.example.urlshortener.core.model.ShortUrl;
 import com.example.urlshortener.core.ports.outgoing.RateLimiterPort;
+import com.example.urlshortener.infra.adapter.output.persistence.config.MongoCollections;
+import com.example.urlshortener.infra.adapter.output.persistence.mapper.ShortUrlMapper;
+import com.example.urlshortener.infra.adapter.output.shortcode.Base62FeistelCodec;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DisplayName("MongoDB Integration Tests")
 class MongoUrlRepositoryIntegrationTest extends BaseIntegrationTest {
@@ -20,6 +34,12 @@ class MongoUrlRepositoryIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private MongoUrlRepository repository;
 
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private ShortUrlMapper mapper;
+
     @MockitoBean
     private RateLimiterPort rateLimiter;
 
@@ -50,6 +70,36 @@ class MongoUrlRepositoryIntegrationTest extends BaseIntegrationTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should read only the original URL by ID")
+    void shouldFindOriginalUrlById() {
+        // Given
+        repository.save(new ShortUrl(TEST_ID, TEST_URL, LocalDateTime.now()));
+
+        // When / Then
+        assertThat(repository.findOriginalUrlById(TEST_ID)).contains(TEST_URL);
+        assertThat(repository.findOriginalUrlById("nonexistent999")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read only the original URL in numeric mode, falling back to legacy rows")
+    void shouldFindOriginalUrlByIdInNumericMode() {
+        // Given
+        Base62FeistelCodec codec = new Base62FeistelCodec("test-salt");
+        MongoUrlRepository numericRepository = new MongoUrlRepository(mongoTemplate, mapper, codec, directInserts(),
+                true, true);
+        String numericCode = codec.encode(7L);
+        String legacyCode = codec.encode(8L);
+        numericRepository.save(new ShortUrl(numericCode, "https://example.com/numeric", LocalDateTime.now()));
+        repository.save(new ShortUrl(legacyCode, "https://example.com/legacy", LocalDateTime.now()));
+
+        // When / Then
+        assertThat(numericRepository.findOriginalUrlById(numericCode)).contains("https://example.com/numeric");
+        assertThat(numericRepository.findOriginalUrlById(legacyCode)).contains("https://example.com/legacy");
+        assertThat(new MongoUrlRepository(mongoTemplate, mapper, codec, directInserts(), true, false)
+                .findOriginalUrlById(legacyCode)).isEmpty();
+    }
+
     @Test
     @DisplayName("Should persist multiple URLs")
     void shouldPersistMultipleUrls() {
@@ -74,4 +124,156 @@ class MongoUrlRepositoryIntegrationTest extends BaseIntegrationTest {
         assertThat(retrieved).isPresent();
         assertThat(retrieved.get().originalUrl()).isEqualTo(special);
     }
+
+    @Test
+    @DisplayName("Should reject a taken alias instead of overwriting it")
+    void shouldNotOverwriteExistingAlias() {
+        // Given
+        repository.save(new ShortUrl("taken-alias", "https://example.com/owner", LocalDateTime.now(), "user-1",
+                true));
+
+        // When / Then
+        assertThatThrownBy(() -> repository.save(new ShortUrl("taken-alias", "https://example.com/intruder",
+                LocalDateTime.now(), "user-2", true)))
+                .isInstanceOf(AliasAlreadyExistsException.class);
+        assertThat(repository.findById("taken-alias")).get()
+                .extracting(ShortUrl::originalUrl).isEqualTo("https://example.com/owner");
+    }
+
+    @Test
+    @DisplayName("Should let the same URL be shortened more than once")
+    void shouldAllowSameUrlTwice() {
+        // When
+        repository.save(new ShortUrl("same001", "https://example.com/same", LocalDateTime.now()));
+        repository.save(new ShortUrl("same002", "https://example.com/same", LocalDateTime.now(), "user-1"));
+
+        // Then
+        assertThat(repository.findById("same001")).isPresent();
+        assertThat(repository.findById("same002")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should find the owner's generated code for an equivalent URL, ignoring aliases")
+    void shouldFindByOwnerAndNormalizedUrl() {
+        // Given
+        repository.save(new ShortUrl("alias-own", "https://example.com/dedup", LocalDateTime.now(), "user-1", true));
+        repository.save(new ShortUrl("gen0001", "https://example.com/dedup", LocalDateTime.now(), "user-1"));
+        repository.save(new ShortUrl("gen0002", "https://example.com/dedup", LocalDateTime.now(), "user-2"));
+
+        // When / Then
+        assertThat(repository.findByOwnerAndUrl("user-1", "https://EXAMPLE.com:443/dedup")).get()
+                .extracting(ShortUrl::id).isEqualTo("gen0001");
+        assertThat(repository.findByOwnerAndUrl("user-2", "https://example.com/dedup")).get()
+                .extracting(ShortUrl::id).isEqualTo("gen0002");
+        assertThat(repository.findByOwnerAndUrl(null, "https://example.com/dedup")).isEmpty();
+        assertThat(repository.findByOwnerAndUrl("user-1", "https://example.com/Dedup")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should store generated IDs as int64 and aliases as strings in numeric mode")
+    void shouldStoreGeneratedIdsAsNumbers() {
+        // Given
+        Base62FeistelCodec codec = new Base62FeistelCodec("test-salt");
+        MongoUrlRepository numericRepository = new MongoUrlRepository(mongoTemplate, mapper, codec, directInserts(),
+                true, true);
+        String code = codec.encode(123_456L);
+
+        // When
+        numericRepository.save(new ShortUrl(code, "https://example.com/numeric", LocalDateTime.now()));
+        numericRepository.save(new ShortUrl("my-alias", "https://example.com/alias", LocalDateTime.now(),
+                "user-1", true));
+
+        // Then
+        Document stored = mongoTemplate.getCollection(MongoCollections.SHORT_URLS_NUMERIC).find().first();
+        assertThat(stored).isNotNull();
+        assertThat(stored.get("_id")).isEqualTo(123_456L);
+        assertThat(numericRepository.findById(code)).get()
+                .extracting(ShortUrl::originalUrl).isEqualTo("https://example.com/numeric");
+        assertThat(numericRepository.findById("my-alias")).isPresent();
+        assertThat(numericRepository.existsById(code)).isTrue();
+
+        List<String> ids = new ArrayList<>();
+        numericRepository.forEachId(ids::add);
+        assertThat(ids).containsExactlyInAnyOrder(code, "my-alias");
+    }
+
+    @Test
+    @DisplayName("Should find rows saved before numeric mode through the legacy lookup")
+    void shouldFallBackToLegacyStringIds() {
+        // Given
+        Base62FeistelCodec codec = new Base62FeistelCodec("test-salt");
+        String code = codec.encode(42L);
+        repository.save(new ShortUrl(code, "https://example.com/legacy", LocalDateTime.now()));
+
+        // When / Then
+        assertThat(new MongoUrlRepository(mongoTemplate, mapper, codec, directInserts(), true, true)
+                .findById(code)).isPresent();
+        assertThat(new MongoUrlRepository(mongoTemplate, mapper, codec, directInserts(), true, false)
+                .findById(code)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should group-commit concurrent anonymous inserts and reject duplicates per document")
+    void shouldGroupCommitAnonymousInserts() throws Exception {
+        // Given
+        Base62FeistelCodec codec = new Base62FeistelCodec("test-salt");
+        ShortUrlInsertBatcher batcher = new ShortUrlInsertBatcher(mongoTemplate, true, Duration.ofMillis(20), 500,
+                1_000);
+        MongoUrlRepository batchedRepository = new MongoUrlRepository(mongoTemplate, mapper, codec, batcher,
+                false, true);
+        batcher.start();
+        batchedRepository.save(new ShortUrl("dup0001", "https://example.com/first", LocalDateTime.now()));
+
+        // When
+        List<Future<?>> saves = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                String id = "batch" + i;
+                saves.add(executor.submit(() -> batchedRepository.save(
+                        new ShortUrl(id, "https://example.com/" + id, LocalDateTime.now()))));
+            }
+            saves.add(executor.submit(() -> batchedRepository.save(
+                    new ShortUrl("dup0001", "https://example.com/second", LocalDateTime.now()))));
+        } finally {
+            batcher.stop();
+        }
+
+        // Then
+        for (int i = 0; i < 50; i++) {
+            saves.get(i).get();
+            assertThat(batchedRepository.findById("batch" + i)).isPresent();
+        }
+        assertThatThrownBy(() -> saves.get(50).get())
+                .hasCauseInstanceOf(AliasAlreadyExistsException.class);
+        assertThat(batchedRepository.findById("dup0001")).get()
+                .extracting(ShortUrl::originalUrl).isEqualTo("https://example.com/first");
+    }
+
+    @Test
+    @DisplayName("Should bulk-insert a batch across collections and report rejected positions")
+    void shouldSaveAllAndReportRejected() {
+        // Given
+        Base62FeistelCodec codec = new Base62FeistelCodec("test-salt");
+        MongoUrlRepository numericRepository = new MongoUrlRepository(mongoTemplate, mapper, codec, directInserts(),
+                true, true);
+        String generated = codec.encode(7_000L);
+        numericRepository.save(new ShortUrl("taken01", "https://example.com/taken", LocalDateTime.now(), "user-1", true));
+
+        // When
+        Set<Integer> rejected = numericRepository.saveAll(List.of(
+                new ShortUrl(generated, "https://example.com/generated", LocalDateTime.now()),
+                new ShortUrl("taken01", "https://example.com/again", LocalDateTime.now(), "user-1", true),
+                new ShortUrl("bulk-01", "https://example.com/bulk", LocalDateTime.now(), "user-1", true)));
+
+        // Then
+        assertThat(rejected).containsExactly(1);
+        assertThat(numericRepository.findById(generated)).isPresent();
+        assertThat(numericRepository.findById("bulk-01")).isPresent();
+        assertThat(numericRepository.findById("taken01")).get()
+                .extracting(ShortUrl::originalUrl).isEqualTo("https://example.com/taken");
+    }
+
+    private ShortUrlInsertBatcher directInserts() {
+        return new ShortUrlInsertBatcher(mongoTemplate, false, Duration.ofMillis(2), 500, 1_000);
+    }
 }
@@ -0,0 +1,169 @@
+package com.example.urlshortener.infra.adapter.output.persistence;
+
+import com.example.urlshortener.infra.adapter.output.persistence.ShortUrlInsertBatcher.PendingInsert;
+import com.example.urlshortener.infra.adapter.output.persistence.entity.ShortUrlEntity;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.WriteConcernError;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShortUrlInsertBatcher Tests")
+class ShortUrlInsertBatcherTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    @Test
+    @DisplayName("Should insert on the calling thread when disabled")
+    void shouldInsertDirectlyWhenDisabled() {
+        // Given
+        ShortUrlInsertBatcher batcher = new ShortUrlInsertBatcher(mongoTemplate, false, Duration.ofMillis(2), 10, 10);
+        ShortUrlEntity entity = entity("abc1234");
+
+        // When
+        batcher.start();
+        batcher.insert(entity);
+
+        // Then
+        assertThat(batcher.isRunning()).isFalse();
+        verify(mongoTemplate).insert(entity);
+        verify(mongoTemplate, never()).bulkOps(any(BulkMode.class), any(Class.class));
+    }
+
+    @Test
+    @DisplayName("Should write a batch as one unordered bulk insert and complete every caller")
+    void shouldWriteBatchAsOneBulkInsert() {
+        // Given
+        ShortUrlInsertBatcher batcher = new ShortUrlInsertBatcher(mongoTemplate, true, Duration.ofMillis(2), 10, 10);
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, ShortUrlEntity.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        List<PendingInsert> batch = List.of(pending("abc1234"), pending("xyz5678"));
+
+        // When
+        batcher.write(batch);
+
+        // Then
+        verify(bulkOperations).insert(List.of(batch.get(0).entity(), batch.get(1).entity()));
+        verify(bulkOperations).execute();
+        assertThat(batch).allSatisfy(pending -> assertThat(pending.result()).isCompleted());
+    }
+
+    @Test
+    @DisplayName("Should fail only the callers whose documents were rejected")
+    void shouldFailOnlyRejectedDocuments() {
+        // Given
+        ShortUrlInsertBatcher batcher = new ShortUrlInsertBatcher(mongoTemplate, true, Duration.ofMillis(2), 10, 10);
+        BulkOperationException rejected = mock(BulkOperationException.class);
+        when(rejected.getErrors()).thenReturn(List.of(new BulkWriteError(11000, "E11000 duplicate key",
+                new BsonDocument(), 1)));
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, ShortUrlEntity.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(rejected);
+        List<PendingInsert> batch = List.of(pending("abc1234"), pending("dup1234"), pending("xyz5678"));
+
+        // When
+        batcher.write(batch);
+
+        // Then
+        assertThat(batch.get(0).result()).isCompleted();
+        assertThat(batch.get(1).result()).isCompletedExceptionally();
+        assertThat(batch.get(1).result().exceptionNow()).isInstanceOf(DuplicateKeyException.class);
+        assertThat(batch.get(2).result()).isCompleted();
+    }
+
+    @Test
+    @DisplayName("Should fail every caller when the bulk error names no document")
+    void shouldFailWholeBatchWithoutDocumentErrors() {
+        // Given
+        ShortUrlInsertBatcher batcher = new ShortUrlInsertBatcher(mongoTemplate, true, Duration.ofMillis(2), 10, 10);
+        BulkOperationException failed = bulkOperationException(List.of(), null);
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, ShortUrlEntity.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(failed);
+        List<PendingInsert> batch = List.of(pending("abc1234"), pending("xyz5678"));
+
+        // When
+        batcher.write(batch);
+
+        // Then
+        assertThat(batch).allSatisfy(pending -> assertThat(pending.result().exceptionNow()).isSameAs(failed));
+    }
+
+    @Test
+    @DisplayName("Should fail every caller on a write concern error")
+    void shouldFailWholeBatchOnWriteConcernError() {
+        // Given
+        ShortUrlInsertBatcher batcher = new ShortUrlInsertBatcher(mongoTemplate, true, Duration.ofMillis(2), 10, 10);
+        BulkOperationException failed = bulkOperationException(
+                List.of(new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1)),
+                new WriteConcernError(64, "WriteConcernFailed", "waiting for replication timed out",
+                        new BsonDocument()));
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, ShortUrlEntity.class)).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenThrow(failed);
+        List<PendingInsert> batch = List.of(pending("abc1234"), pending("dup1234"), pending("xyz5678"));
+
+        // When
+        batcher.write(batch);
+
+        // Then
+        assertThat(batch).allSatisfy(pending -> assertThat(pending.result().exceptionNow()).isSameAs(failed));
+    }
+
+    @Test
+    @DisplayName("Should insert on the calling thread once stopped instead of queueing")
+    void shouldInsertDirectlyOnceStopped() throws Exception {
+        // Given
+        ShortUrlInsertBatcher batcher = new ShortUrlInsertBatcher(mongoTemplate, true, Duration.ofMillis(2), 2, 10);
+        batcher.start();
+        batcher.stop();
+
+        // When
+        batcher.insert(entity("abc1234"));
+
+        // Then
+        List<PendingInsert> queued = new ArrayList<>();
+        assertThat(batcher.collect(queued, Duration.ZERO)).isZero();
+        verify(mongoTemplate).insert(any(ShortUrlEntity.class));
+    }
+
+    private static BulkOperationException bulkOperationException(List<BulkWriteError> errors,
+            WriteConcernError writeConcernError) {
+        return new BulkOperationException("Bulk write failed", new MongoBulkWriteException(
+                BulkWriteResult.unacknowledged(), errors, writeConcernError, new ServerAddress(), Set.of()));
+    }
+
+    private static PendingInsert pending(String id) {
+        return new PendingInsert(entity(id), new CompletableFuture<>());
+    }
+
+    private static ShortUrlEntity entity(String id) {
+        return new ShortUrlEntity(id, "https://example.com/" + id, LocalDateTime.now(), null, false);
+    }
+}
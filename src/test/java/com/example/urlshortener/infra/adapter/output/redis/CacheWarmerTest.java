@@ -0,0 +1,115 @@
+package com.example.urlshortener.infra.adapter.output.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CacheWarmer Tests")
+@SuppressWarnings("unchecked")
+class CacheWarmerTest {
+
+    private static final String SNAPSHOT_KEY = "url_shortener:hot_keys";
+
+    @Mock
+    private RedisUrlCache cache;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheWarmer warmer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        warmer = new CacheWarmer(cache, redisTemplate, meterRegistry, true, 3, Duration.ofDays(1));
+    }
+
+    @Test
+    @DisplayName("Should preload the snapshot ids, hottest first")
+    void shouldPreloadSnapshotIds() {
+        // Given
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRange(SNAPSHOT_KEY, 0, 2)).thenReturn(new LinkedHashSet<>(List.of("a", "b", "c")));
+        when(cache.preload(List.of("a", "b", "c"))).thenReturn(2);
+
+        // When
+        int loaded = warmer.warmUp();
+
+        // Then
+        assertThat(loaded).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.warmup.keys.loaded").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.warmup.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should start cold when Redis is unavailable")
+    void shouldStartColdWhenRedisFails() {
+        // Given
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.reverseRange(SNAPSHOT_KEY, 0, 2)).thenThrow(new QueryTimeoutException("timeout"));
+
+        // When
+        int loaded = warmer.warmUp();
+
+        // Then
+        assertThat(loaded).isZero();
+        verify(cache, never()).preload(anyList());
+    }
+
+    @Test
+    @DisplayName("Should snapshot the hottest ids ranked by heat and trim the set")
+    void shouldSnapshotHottestIds() {
+        // Given
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(cache.hottestLocalIds(3)).thenReturn(List.of("hot", "warm"));
+
+        // When
+        warmer.snapshot();
+
+        // Then
+        ArgumentCaptor<Set<TypedTuple<String>>> tuples = ArgumentCaptor.forClass(Set.class);
+        verify(zSetOperations).add(eq(SNAPSHOT_KEY), tuples.capture());
+        List<TypedTuple<String>> ranked = List.copyOf(tuples.getValue());
+        assertThat(ranked).extracting(TypedTuple::getValue).containsExactly("hot", "warm");
+        assertThat(ranked.get(0).getScore()).isGreaterThan(ranked.get(1).getScore());
+        verify(zSetOperations).removeRange(SNAPSHOT_KEY, 0, -4);
+        verify(redisTemplate).expire(SNAPSHOT_KEY, Duration.ofDays(1));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void shouldSkipWhenDisabled() {
+        // Given
+        CacheWarmer disabled = new CacheWarmer(cache, redisTemplate, new SimpleMeterRegistry(), false, 3,
+                Duration.ofDays(1));
+
+        // When
+        disabled.run(null);
+        disabled.snapshot();
+
+        // Then
+        verifyNoInteractions(cache, redisTemplate);
+    }
+}
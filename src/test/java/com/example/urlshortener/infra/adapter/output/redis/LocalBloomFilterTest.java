@@ -0,0 +1,78 @@
+package com.example.urlshortener.infra.adapter.output.redis;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LocalBloomFilter Tests")
+class LocalBloomFilterTest {
+
+    @Test
+    @DisplayName("Should never return false negatives")
+    void shouldNeverReturnFalseNegatives() {
+        // Given
+        LocalBloomFilter filter = new LocalBloomFilter(10_000, 0.01);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("code" + i);
+        }
+
+        // Then
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("code" + i)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep false positive rate close to configured probability")
+    void shouldKeepFalsePositiveRateBounded() {
+        // Given
+        LocalBloomFilter filter = new LocalBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("code" + i);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("unknown" + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("Should report whether put changed the filter")
+    void shouldReportWhetherPutChangedFilter() {
+        LocalBloomFilter filter = new LocalBloomFilter(1_000, 0.01);
+
+        assertThat(filter.put("abc123")).isTrue();
+        assertThat(filter.put("abc123")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should estimate element count")
+    void shouldEstimateElementCount() {
+        LocalBloomFilter filter = new LocalBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 5_000; i++) {
+            filter.put("code" + i);
+        }
+
+        assertThat(filter.approximateElementCount()).isBetween(4_500L, 5_500L);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid sizing parameters")
+    void shouldRejectInvalidParameters() {
+        assertThatThrownBy(() -> new LocalBloomFilter(0, 0.01))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LocalBloomFilter(1_000, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
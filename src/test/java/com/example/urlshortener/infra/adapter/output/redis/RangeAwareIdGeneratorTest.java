@@ -1,5 +1,7 @@
 package com.example.urlshortener.infra.adapter.output.redis;
 
+import com.example.urlshortener.core.ports.outgoing.ShortCodeCodec;
+import com.example.urlshortener.infra.adapter.output.shortcode.HashidsShortCodeCodec;
 import org.hashids.Hashids;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,6 +12,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
@@ -25,14 +36,15 @@ class RangeAwareIdGeneratorTest {
     @Mock
     private ValueOperations<String, String> valueOperations;
 
-    private Hashids hashids;
+    private ShortCodeCodec codec;
     private RangeAwareIdGenerator generator;
 
     @BeforeEach
     void setUp() {
-        hashids = new Hashids("test-salt", 7);
-        when(redis.opsForValue()).thenReturn(valueOperations);
-        generator = new RangeAwareIdGenerator(redis, hashids);
+        codec = new HashidsShortCodeCodec(new Hashids("test-salt", 7));
+        // Lenient: the block sizing test never talks to Redis
+        lenient().when(redis.opsForValue()).thenReturn(valueOperations);
+        generator = new RangeAwareIdGenerator(redis, codec);
     }
 
     @Test
@@ -87,4 +99,92 @@ class RangeAwareIdGeneratorTest {
         // Then
         assertThat(id1).isNotEqualTo(id2);
     }
+
+    @Test
+    @DisplayName("Should prefetch the next block before the current one is exhausted")
+    void shouldPrefetchNextBlock() {
+        // Given
+        AtomicLong sequence = new AtomicLong();
+        when(valueOperations.increment(eq("global_link_id_seq"), anyLong()))
+                .thenAnswer(invocation -> sequence.addAndGet(invocation.getArgument(1)));
+        RangeAwareIdGenerator prefetching = new RangeAwareIdGenerator(redis, codec, 10, 10, 0.7,
+                Duration.ofSeconds(10), 1, 10);
+
+        // When
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(prefetching.nextUniqueId());
+        }
+
+        // Then: the 7th ID of the first block triggers the background reservation
+        verify(valueOperations, timeout(1000).times(2)).increment(eq("global_link_id_seq"), eq(10L));
+        for (int i = 0; i < 13; i++) {
+            ids.add(prefetching.nextUniqueId());
+        }
+        assertThat(ids).hasSize(20);
+        assertThat(ids).allMatch(id -> id >= 1 && id <= sequence.get());
+    }
+
+    @Test
+    @DisplayName("Should issue unique IDs from striped sub-blocks under concurrency")
+    void shouldIssueUniqueIdsFromStripes() {
+        // Given
+        AtomicLong sequence = new AtomicLong();
+        when(valueOperations.increment(eq("global_link_id_seq"), anyLong()))
+                .thenAnswer(invocation -> sequence.addAndGet(invocation.getArgument(1)));
+        RangeAwareIdGenerator striped = new RangeAwareIdGenerator(redis, codec, 100, 100, 0.7,
+                Duration.ofSeconds(10), 4, 8);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        // When
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < 16; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        ids.add(striped.nextUniqueId());
+                    }
+                });
+            }
+        }
+
+        // Then
+        assertThat(ids).hasSize(16 * 250);
+        assertThat(ids).allMatch(id -> id >= 1 && id <= sequence.get());
+    }
+
+    @Test
+    @DisplayName("Should reserve a bulk range with one INCRBY without touching the shared block")
+    void shouldReserveBulkRangeInOneCall() {
+        // Given
+        when(valueOperations.increment("global_link_id_seq", 3L)).thenReturn(3L);
+        when(valueOperations.increment("global_link_id_seq", 1000L)).thenReturn(1003L);
+
+        // When
+        List<String> bulk = generator.generateIds(3);
+        String single = generator.generateId();
+
+        // Then
+        assertThat(bulk).containsExactly(codec.encode(1), codec.encode(2), codec.encode(3));
+        assertThat(single).isEqualTo(codec.encode(4));
+        verify(valueOperations, times(1)).increment("global_link_id_seq", 3L);
+    }
+
+    @Test
+    @DisplayName("Should adapt the block size to the observed write rate")
+    void shouldAdaptBlockSize() {
+        // Given
+        RangeAwareIdGenerator adaptive = new RangeAwareIdGenerator(redis, codec, 1000, 100_000, 0.7,
+                Duration.ofSeconds(10), 1, 64);
+        long oneSecond = Duration.ofSeconds(1).toNanos();
+
+        // When / Then
+        // 5000 ids/s for 10s would need 50k ids, growth is capped at 2x per block
+        assertThat(adaptive.nextBlockSize(4000, 5000, oneSecond)).isEqualTo(8000);
+        // 700 ids/s for 10s fits exactly in 7000
+        assertThat(adaptive.nextBlockSize(8000, 700, oneSecond)).isEqualTo(7000);
+        // Idle periods shrink the block, but never below the minimum
+        assertThat(adaptive.nextBlockSize(1500, 1, oneSecond)).isEqualTo(1000);
+        // Never above the maximum
+        assertThat(adaptive.nextBlockSize(100_000, 1_000_000, oneSecond)).isEqualTo(100_000);
+    }
 }
@@ -2,6 +2,7 @@ package com.example.urlshortener.infra.adapter.output.redis;
 
 import com.example.urlshortener.config.BaseIntegrationTest;
 import com.example.urlshortener.core.ports.outgoing.RateLimiterPort;
+import com.example.urlshortener.infra.adapter.output.shortcode.HashidsShortCodeCodec;
 import org.hashids.Hashids;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -30,7 +31,7 @@ class RedisIntegrationTest extends BaseIntegrationTest {
     @BeforeEach
     void setUp() {
         hashids = new Hashids("test-salt", 7);
-        idGenerator = new RangeAwareIdGenerator(redisTemplate, hashids);
+        idGenerator = new RangeAwareIdGenerator(redisTemplate, new HashidsShortCodeCodec(hashids));
 
         // Clean up Redis before each test
         redisTemplate.delete("global_link_id_seq");
@@ -0,0 +1,122 @@
+package com.example.urlshortener.infra.adapter.output.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RedisNegativeUrlCache Tests")
+class RedisNegativeUrlCacheTest {
+
+    private static final String MISSING_KEY = "url_shortener:missing:zzz9999";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private RedisNegativeUrlCache negativeCache;
+
+    @BeforeEach
+    void setUp() {
+        negativeCache = new RedisNegativeUrlCache(redisTemplate, true, 1_000, Duration.ofSeconds(10), true,
+                Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Should answer from the local tier after marking an ID missing")
+    void shouldRememberMissingIdLocally() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        // When
+        negativeCache.markMissing("zzz9999");
+
+        // Then
+        assertThat(negativeCache.isKnownMissing("zzz9999")).isTrue();
+        verify(valueOperations).set(MISSING_KEY, "1", Duration.ofMinutes(1));
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    @DisplayName("Should check only the local tier when asked for a local answer")
+    void shouldAnswerLocallyWithoutRedis() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        negativeCache.markMissing("zzz9999");
+
+        // When / Then
+        assertThat(negativeCache.isKnownMissingLocally("zzz9999")).isTrue();
+        assertThat(negativeCache.isKnownMissingLocally("unknown1")).isFalse();
+        verify(redisTemplate, never()).hasKey(anyString());
+    }
+
+    @Test
+    @DisplayName("Should share missing IDs through Redis")
+    void shouldReadMissingIdFromRedis() {
+        // Given
+        when(redisTemplate.hasKey(MISSING_KEY)).thenReturn(true);
+
+        // When / Then
+        assertThat(negativeCache.isKnownMissing("zzz9999")).isTrue();
+        // Second lookup is served locally
+        assertThat(negativeCache.isKnownMissing("zzz9999")).isTrue();
+        verify(redisTemplate, times(1)).hasKey(MISSING_KEY);
+    }
+
+    @Test
+    @DisplayName("Should forget an ID on invalidation")
+    void shouldInvalidateBothTiers() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        negativeCache.markMissing("zzz9999");
+
+        // When
+        negativeCache.invalidate("zzz9999");
+
+        // Then
+        verify(redisTemplate).delete(MISSING_KEY);
+        when(redisTemplate.hasKey(MISSING_KEY)).thenReturn(false);
+        assertThat(negativeCache.isKnownMissing("zzz9999")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fail open when Redis is unavailable")
+    void shouldFailOpenOnRedisError() {
+        // Given
+        when(redisTemplate.hasKey(MISSING_KEY)).thenThrow(new QueryTimeoutException("timeout"));
+
+        // When / Then
+        assertThat(negativeCache.isKnownMissing("zzz9999")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should clear many IDs with one multi-key delete")
+    void shouldInvalidateManyIdsAtOnce() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        negativeCache.markMissing("zzz9999");
+
+        // When
+        negativeCache.invalidateAll(List.of("zzz9999", "yyy8888"));
+
+        // Then
+        verify(redisTemplate).delete(List.of(MISSING_KEY, "url_shortener:missing:yyy8888"));
+        when(redisTemplate.hasKey(MISSING_KEY)).thenReturn(false);
+        assertThat(negativeCache.isKnownMissing("zzz9999")).isFalse();
+    }
+}
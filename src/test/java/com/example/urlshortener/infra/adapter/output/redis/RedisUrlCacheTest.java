@@ -1,7 +1,11 @@
 package com.example.urlshortener.infra.adapter.output.redis;
 
+import com.example.urlshortener.core.model.HotLink;
+import com.example.urlshortener.core.model.HotLinkWindow;
+import com.example.urlshortener.core.ports.outgoing.HotLinksPort;
 import com.example.urlshortener.core.ports.outgoing.MetricsPort;
 import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,11 +14,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.redisson.api.RBloomFilter;
 import org.redisson.api.RedissonClient;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -41,6 +49,15 @@ class RedisUrlCacheTest {
     @Mock
     private MetricsPort metrics;
 
+    @Mock
+    private BloomFilterMirror localBloomFilter;
+
+    @Mock
+    private UrlCacheWriteBatcher writeBatcher;
+
+    @Mock
+    private HotLinksPort hotLinks;
+
     private RedisUrlCache cache;
 
     private static final String TEST_ID = "abc123";
@@ -52,7 +69,9 @@ class RedisUrlCacheTest {
         when(bloomFilter.tryInit(anyLong(), anyDouble())).thenReturn(true);
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
 
-        cache = new RedisUrlCache(redisTemplate, redisson, metrics);
+        cache = new RedisUrlCache(redisTemplate, redisson, metrics, localBloomFilter,
+                writeBatcher, hotLinks, new SimpleMeterRegistry(), DataSize.ofMegabytes(64),
+                Duration.ofMinutes(30), Duration.ofMinutes(5), 100);
     }
 
     @Test
@@ -87,14 +106,16 @@ class RedisUrlCacheTest {
     }
 
     @Test
-    @DisplayName("Should put URL in Redis, Bloom Filter, and local cache")
+    @DisplayName("Should put URL in local tiers and queue the Redis writes")
     void shouldPutUrlInAllLayers() {
         // When
         cache.put(TEST_ID, TEST_URL);
 
         // Then
-        verify(bloomFilter).add(TEST_ID);
-        verify(valueOperations).set(eq("url:" + TEST_ID), eq(TEST_URL), any(Duration.class));
+        verify(localBloomFilter).put(TEST_ID);
+        verify(writeBatcher).enqueue(TEST_ID, TEST_URL);
+        verify(bloomFilter, never()).add(anyString());
+        verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
 
         // Verify local cache was populated (subsequent get should hit local cache)
         when(bloomFilter.contains(TEST_ID)).thenReturn(true);
@@ -103,13 +124,127 @@ class RedisUrlCacheTest {
     }
 
     @Test
-    @DisplayName("Should use TTL with jitter")
-    void shouldUseTtlWithJitter() {
+    @DisplayName("Should reject from local Bloom replica without calling Redis")
+    void shouldRejectFromLocalBloomReplica() {
+        // Given
+        when(localBloomFilter.isReady()).thenReturn(true);
+        when(localBloomFilter.mightContain(TEST_ID)).thenReturn(false);
+
         // When
+        String result = cache.get(TEST_ID);
+
+        // Then
+        assertThat(result).isNull();
+        verify(bloomFilter, never()).contains(anyString());
+        verify(valueOperations, never()).get(anyString());
+        verify(metrics).recordBloomFilterRejection();
+    }
+
+    @Test
+    @DisplayName("Should bound local cache by byte budget")
+    void shouldBoundLocalCacheByByteBudget() {
+        // Given
+        RedisUrlCache smallCache = new RedisUrlCache(redisTemplate, redisson, metrics, localBloomFilter,
+                writeBatcher, hotLinks, new SimpleMeterRegistry(), DataSize.ofKilobytes(4),
+                Duration.ofMinutes(30), Duration.ofMinutes(5), 100);
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            smallCache.put("id" + i, TEST_URL + "/" + i);
+        }
+
+        // Then
+        Cache<String, String> localCache = (Cache<String, String>) ReflectionTestUtils.getField(smallCache,
+                "localCache");
+        localCache.cleanUp();
+        long weightedSize = localCache.policy().eviction().orElseThrow().weightedSize().orElseThrow();
+        assertThat(weightedSize).isLessThanOrEqualTo(DataSize.ofKilobytes(4).toBytes());
+        assertThat(localCache.estimatedSize()).isLessThan(200);
+    }
+
+    @Test
+    @DisplayName("Should keep serving pinned hot links after L1 eviction")
+    void shouldServePinnedHotLinksAfterEviction() {
+        // Given
         cache.put(TEST_ID, TEST_URL);
+        when(hotLinks.topLinks(HotLinkWindow.LAST_MINUTE)).thenReturn(List.of(
+                new HotLink(TEST_ID, 500), new HotLink("notLocal", 400)));
+        cache.refreshPinned();
+
+        // When
+        Cache<String, String> localCache = (Cache<String, String>) ReflectionTestUtils.getField(cache, "localCache");
+        localCache.invalidateAll();
+        String result = cache.get(TEST_ID);
+
+        // Then
+        assertThat(result).isEqualTo(TEST_URL);
+        assertThat(cache.getIfPresentLocally("notLocal")).isNull();
+        verify(bloomFilter, never()).contains(anyString());
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Should preload ids found in Redis and track warm-up hits")
+    void shouldPreloadAndTrackWarmupHits() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RedisUrlCache warmCache = new RedisUrlCache(redisTemplate, redisson, metrics, localBloomFilter,
+                writeBatcher, hotLinks, meterRegistry, DataSize.ofMegabytes(64),
+                Duration.ofMinutes(30), Duration.ofMinutes(5), 100);
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(List.<Object>of(Arrays.asList(TEST_URL, null)));
+
+        // When
+        int loaded = warmCache.preload(List.of(TEST_ID, "gone"));
+        warmCache.get(TEST_ID);
+        warmCache.get(TEST_ID);
+
+        // Then
+        assertThat(loaded).isEqualTo(1);
+        assertThat(warmCache.getIfPresentLocally("gone")).isNull();
+        verify(valueOperations, never()).get(anyString());
+        assertThat(meterRegistry.get("cache.warmup.hits.total").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.warmup.hit.ratio").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should list pinned and most frequently used ids as the hottest")
+    void shouldListHottestLocalIds() {
+        // Given
+        cache.put("pinnedId", TEST_URL + "/p");
+        cache.put("other", TEST_URL + "/o");
+        when(hotLinks.topLinks(HotLinkWindow.LAST_MINUTE)).thenReturn(List.of(new HotLink("pinnedId", 10)));
+        cache.refreshPinned();
+
+        // When
+        List<String> hottest = cache.hottestLocalIds(10);
+
+        // Then
+        assertThat(hottest).containsExactlyInAnyOrder("pinnedId", "other");
+        assertThat(hottest.get(0)).isEqualTo("pinnedId");
+        assertThat(cache.hottestLocalIds(1)).containsExactly("pinnedId");
+    }
+
+    @Test
+    @DisplayName("Should cap pinned hot links at the configured size")
+    void shouldCapPinnedHotLinks() {
+        // Given
+        RedisUrlCache smallPin = new RedisUrlCache(redisTemplate, redisson, metrics, localBloomFilter,
+                writeBatcher, hotLinks, new SimpleMeterRegistry(), DataSize.ofMegabytes(64),
+                Duration.ofMinutes(30), Duration.ofMinutes(5), 1);
+        smallPin.put("first", TEST_URL + "/1");
+        smallPin.put("second", TEST_URL + "/2");
+        when(hotLinks.topLinks(HotLinkWindow.LAST_MINUTE)).thenReturn(List.of(
+                new HotLink("first", 50), new HotLink("second", 40)));
+
+        // When
+        smallPin.refreshPinned();
+        Cache<String, String> localCache = (Cache<String, String>) ReflectionTestUtils.getField(smallPin,
+                "localCache");
+        localCache.invalidateAll();
 
         // Then
-        verify(valueOperations).set(eq("url:" + TEST_ID), eq(TEST_URL), argThat(duration -> duration.toHours() == 24
-                && duration.toSeconds() >= 86400 && duration.toSeconds() <= 86460));
+        assertThat(smallPin.getIfPresentLocally("first")).isEqualTo(TEST_URL + "/1");
+        assertThat(smallPin.getIfPresentLocally("second")).isNull();
     }
 }
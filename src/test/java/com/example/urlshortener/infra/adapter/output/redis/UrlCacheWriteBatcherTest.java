@@ -0,0 +1,180 @@
+package com.example.urlshortener.infra.adapter.output.redis;
+
+import com.example.urlshortener.infra.adapter.output.redis.UrlCacheWriteBatcher.PendingWrite;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBloomFilter;
+import org.redisson.api.RedissonClient;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UrlCacheWriteBatcher Tests")
+@SuppressWarnings("unchecked")
+class UrlCacheWriteBatcherTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedissonClient redisson;
+
+    @Mock
+    private RBloomFilter<String> bloomFilter;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisStringCommands stringCommands;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(redisson.<String>getBloomFilter(RedisUrlCache.BLOOM_FILTER_KEY)).thenReturn(bloomFilter);
+    }
+
+    @Test
+    @DisplayName("Should coalesce queued populations into batches of at most max-size")
+    void shouldCoalesceQueuedWrites() throws InterruptedException {
+        // Given
+        UrlCacheWriteBatcher batcher = newBatcher(3, 10);
+        for (int i = 0; i < 5; i++) {
+            batcher.enqueue("id" + i, "https://example.com/" + i);
+        }
+
+        // When
+        List<PendingWrite> first = new ArrayList<>();
+        List<PendingWrite> second = new ArrayList<>();
+        batcher.collect(first, Duration.ZERO);
+        batcher.collect(second, Duration.ZERO);
+
+        // Then
+        assertThat(first).extracting(PendingWrite::id).containsExactly("id0", "id1", "id2");
+        assertThat(second).extracting(PendingWrite::id).containsExactly("id3", "id4");
+        verifyNoInteractions(redisTemplate, bloomFilter);
+    }
+
+    @Test
+    @DisplayName("Should write a batch with one Bloom add and one pipeline of SETs with jittered TTL")
+    void shouldWriteBatchInOnePipeline() {
+        // Given
+        UrlCacheWriteBatcher batcher = newBatcher(10, 10);
+        when(connection.stringCommands()).thenReturn(stringCommands);
+
+        // When
+        batcher.write(List.of(new PendingWrite("abc", "https://a.example"),
+                new PendingWrite("xyz", "https://x.example")));
+
+        // Then
+        verify(bloomFilter).add(List.of("abc", "xyz"));
+        ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate, times(1)).executePipelined(callback.capture());
+        callback.getValue().doInRedis(connection);
+        verify(stringCommands).set(eq(bytes("url:abc")), eq(bytes("https://a.example")),
+                argThat(this::isJitteredDayTtl), eq(SetOption.upsert()));
+        verify(stringCommands).set(eq(bytes("url:xyz")), eq(bytes("https://x.example")),
+                argThat(this::isJitteredDayTtl), eq(SetOption.upsert()));
+        assertThat(meterRegistry.get("cache.redis.write.batch.size").summary().totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should still write entries when the Bloom filter fails")
+    void shouldWriteEntriesWhenBloomFilterFails() {
+        // Given
+        UrlCacheWriteBatcher batcher = newBatcher(10, 10);
+        when(bloomFilter.add(anyCollection())).thenThrow(new org.redisson.client.RedisException("down"));
+
+        // When
+        batcher.write(List.of(new PendingWrite("abc", "https://a.example")));
+
+        // Then
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Should count failed pipelines without throwing")
+    void shouldCountFailedWrites() {
+        // Given
+        UrlCacheWriteBatcher batcher = newBatcher(10, 10);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new QueryTimeoutException("timeout"));
+
+        // When
+        batcher.write(List.of(new PendingWrite("abc", "https://a.example"),
+                new PendingWrite("xyz", "https://x.example")));
+
+        // Then
+        assertThat(meterRegistry.get("cache.redis.write.failures.total").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should write on the calling thread when the queue is full")
+    void shouldWriteSynchronouslyWhenQueueIsFull() {
+        // Given
+        UrlCacheWriteBatcher batcher = newBatcher(10, 1);
+        batcher.enqueue("queued", "https://q.example");
+
+        // When
+        batcher.enqueue("overflow", "https://o.example");
+
+        // Then
+        verify(bloomFilter).add(List.of("overflow"));
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+        assertThat(meterRegistry.get("cache.redis.write.pending").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should write a bulk population on the calling thread without queueing")
+    void shouldWriteAllWithoutQueueing() throws InterruptedException {
+        // Given
+        UrlCacheWriteBatcher batcher = newBatcher(1, 1);
+
+        // When
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("abc", "https://a.example");
+        entries.put("xyz", "https://x.example");
+        batcher.writeAll(entries);
+
+        // Then
+        verify(bloomFilter).add(List.of("abc", "xyz"));
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        assertThat(batcher.collect(new ArrayList<>(), Duration.ZERO)).isZero();
+    }
+
+    private UrlCacheWriteBatcher newBatcher(int maxBatchSize, int queueCapacity) {
+        return new UrlCacheWriteBatcher(redisTemplate, redisson, meterRegistry, Duration.ofMillis(2), maxBatchSize,
+                queueCapacity);
+    }
+
+    private boolean isJitteredDayTtl(Expiration expiration) {
+        long seconds = expiration.getExpirationTimeInSeconds();
+        return seconds >= 86400 && seconds <= 86460;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
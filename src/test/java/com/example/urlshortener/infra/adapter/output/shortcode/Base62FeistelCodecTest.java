@@ -0,0 +1,66 @@
+package com.example.urlshortener.infra.adapter.output.shortcode;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Base62FeistelCodec Tests")
+class Base62FeistelCodecTest {
+
+    private final Base62FeistelCodec codec = new Base62FeistelCodec("test-salt");
+
+    @Test
+    @DisplayName("Should encode sequential IDs as distinct 7-char codes that decode back")
+    void shouldRoundTripSequentialIds() {
+        Set<String> codes = new HashSet<>();
+        for (long id = 0; id < 100_000; id++) {
+            String code = codec.encode(id);
+
+            assertThat(code).hasSize(7).matches("[0-9A-Za-z]+");
+            assertThat(codec.decode(code)).isEqualTo(id);
+            codes.add(code);
+        }
+        assertThat(codes).hasSize(100_000);
+    }
+
+    @Test
+    @DisplayName("Should use 11 chars for IDs beyond 62^7 and still decode them")
+    void shouldRoundTripLargeIds() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long id = Base62FeistelCodec.SHORT_LIMIT + (random.nextLong() & Long.MAX_VALUE)
+                    % (Long.MAX_VALUE - Base62FeistelCodec.SHORT_LIMIT);
+            String code = codec.encode(id);
+
+            assertThat(code).hasSize(11);
+            assertThat(codec.decode(code)).isEqualTo(id);
+        }
+        assertThat(codec.encode(Base62FeistelCodec.SHORT_LIMIT - 1)).hasSize(7);
+        assertThat(codec.encode(Long.MAX_VALUE)).hasSize(11);
+    }
+
+    @Test
+    @DisplayName("Should not expose the sequence in consecutive codes")
+    void shouldObfuscateSequence() {
+        assertThat(codec.encode(1)).isNotEqualTo("0000001");
+        assertThat(codec.encode(1).substring(0, 5)).isNotEqualTo(codec.encode(2).substring(0, 5));
+        assertThat(new Base62FeistelCodec("other-salt").encode(1)).isNotEqualTo(codec.encode(1));
+    }
+
+    @Test
+    @DisplayName("Should reject codes it cannot have produced")
+    void shouldRejectForeignCodes() {
+        assertThat(codec.decode("my-alias")).isEqualTo(-1);
+        assertThat(codec.decode("abc12")).isEqualTo(-1);
+        assertThat(codec.decode("abc_def")).isEqualTo(-1);
+        assertThat(codec.decode("zzzzzzzzzzz")).isEqualTo(-1); // beyond 64 bits
+        assertThat(codec.decode(null)).isEqualTo(-1);
+        assertThatThrownBy(() -> codec.encode(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
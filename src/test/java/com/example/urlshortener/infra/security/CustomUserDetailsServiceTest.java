@@ -0,0 +1,98 @@
+package com.example.urlshortener.infra.security;
+
+import com.example.urlshortener.core.model.User;
+import com.example.urlshortener.infra.adapter.output.persistence.MongoUserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomUserDetailsService Tests")
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private MongoUserRepository userRepository;
+
+    @Test
+    @DisplayName("Should grant ROLE_ADMIN to configured admin emails")
+    void shouldGrantAdminRoleToConfiguredEmails() {
+        // Given
+        CustomUserDetailsService service = new CustomUserDetailsService(userRepository,
+                " ops@example.com , root@example.com");
+        when(userRepository.findByEmail("root@example.com"))
+                .thenReturn(Optional.of(User.createFreeUser("1", "root@example.com", "Root", "hash")));
+
+        // When
+        UserDetails details = service.loadUserByUsername("root@example.com");
+
+        // Then
+        assertThat(details.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly(CustomUserDetailsService.ROLE_ADMIN);
+    }
+
+    @Test
+    @DisplayName("Should grant no role to other users")
+    void shouldGrantNoRoleToRegularUsers() {
+        // Given
+        CustomUserDetailsService service = new CustomUserDetailsService(userRepository, "ops@example.com");
+        when(userRepository.findByEmail("user@example.com"))
+                .thenReturn(Optional.of(User.createFreeUser("2", "user@example.com", "User", "hash")));
+
+        // When
+        UserDetails details = service.loadUserByUsername("user@example.com");
+
+        // Then
+        assertThat(details.getUsername()).isEqualTo("user@example.com");
+        assertThat(details.getAuthorities()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should grant no role to a case variant of an admin email")
+    void shouldGrantNoRoleToAdminEmailCaseVariant() {
+        // Given
+        CustomUserDetailsService service = new CustomUserDetailsService(userRepository, "ops@example.com");
+        when(userRepository.findByEmail("OPS@example.com"))
+                .thenReturn(Optional.of(User.createFreeUser("3", "OPS@example.com", "Impostor", "hash")));
+
+        // When
+        UserDetails details = service.loadUserByUsername("OPS@example.com");
+
+        // Then
+        assertThat(details.getAuthorities()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should grant no role when no admin is configured")
+    void shouldGrantNoRoleWithoutAdmins() {
+        // Given
+        CustomUserDetailsService service = new CustomUserDetailsService(userRepository, "");
+        when(userRepository.findByEmail("user@example.com"))
+                .thenReturn(Optional.of(User.createFreeUser("2", "user@example.com", "User", "hash")));
+
+        // When / Then
+        assertThat(service.loadUserByUsername("user@example.com").getAuthorities()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should fail for unknown users")
+    void shouldFailForUnknownUsers() {
+        // Given
+        CustomUserDetailsService service = new CustomUserDetailsService(userRepository, "");
+        when(userRepository.findByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> service.loadUserByUsername("ghost@example.com"))
+                .isInstanceOf(UsernameNotFoundException.class);
+    }
+}